@@ -0,0 +1,87 @@
+package senai.com.ava_senai.config;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.http.server.observation.ServerRequestObservationConvention;
+import senai.com.ava_senai.handler.requesthandler.metrics.QueryCountFilter;
+import senai.com.ava_senai.handler.requesthandler.metrics.QueryCountInspector;
+import senai.com.ava_senai.services.storage.LocalContentCache;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Métricas expostas em /actuator/metrics. Os padrões de exposição e histogramas ficam em metrics.properties
+ * e podem ser sobrescritos no application.properties.
+ */
+@Configuration
+@PropertySource("classpath:metrics.properties")
+public class MetricsConfig {
+
+    // acrescenta o método do controller (handler=Controller#metodo) às métricas http.server.requests
+    @Bean
+    public ServerRequestObservationConvention handlerServerRequestObservationConvention() {
+
+        return new DefaultServerRequestObservationConvention() {
+            @Override
+            public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+                return super.getLowCardinalityKeyValues(context)
+                        .and(KeyValue.of("handler", QueryCountFilter.handlerName(context.getCarrier())));
+            }
+        };
+
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCountHibernateCustomizer(QueryCountInspector queryCountInspector) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, queryCountInspector);
+    }
+
+    @Bean
+    public MeterBinder contentCacheMetrics(LocalContentCache contentCache) {
+
+        return registry -> {
+
+            cacheRequests(registry, contentCache, "hit", cache -> cache.stats().hits());
+            cacheRequests(registry, contentCache, "miss", cache -> cache.stats().misses());
+            cacheRequests(registry, contentCache, "revalidation", cache -> cache.stats().revalidations());
+            cacheRequests(registry, contentCache, "bypass", cache -> cache.stats().bypasses());
+
+            FunctionCounter.builder("storage.cache.evictions", contentCache, cache -> cache.stats().evictions())
+                    .register(registry);
+
+            FunctionCounter.builder("storage.cache.served", contentCache, cache -> cache.stats().bytesServedFromCache())
+                    .baseUnit("bytes")
+                    .register(registry);
+
+            Gauge.builder("storage.cache.entries", contentCache, cache -> cache.stats().entries())
+                    .register(registry);
+
+            Gauge.builder("storage.cache.size", contentCache, cache -> cache.stats().sizeBytes())
+                    .baseUnit("bytes")
+                    .register(registry);
+
+        };
+
+    }
+
+    private static void cacheRequests(MeterRegistry registry, LocalContentCache contentCache, String result,
+                                      ToDoubleFunction<LocalContentCache> count) {
+
+        FunctionCounter.builder("storage.cache.requests", contentCache, count)
+                .tag("result", result)
+                .register(registry);
+
+    }
+
+}
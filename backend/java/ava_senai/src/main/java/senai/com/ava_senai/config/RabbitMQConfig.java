@@ -1,35 +1,83 @@
 package senai.com.ava_senai.config;
 
-import org.springframework.amqp.core.Binding;
-import org.springframework.amqp.core.BindingBuilder;
-import org.springframework.amqp.core.DirectExchange;
-import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.config.RetryInterceptorBuilder;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.retry.MessageBatchRecoverer;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.Date;
+
 @Configuration
 public class RabbitMQConfig {
 
     // Exchange names
     public static final String EXCHANGE_TASKS = "ava.tasks";
+    public static final String EXCHANGE_TASKS_DEAD_LETTER = "ava.tasks.dlx";
     public static final String EXCHANGE_NOTIFICATIONS = "ava.notifications";
 
     // Queue names
-    public static final String QUEUE_USER_TASKS = "user-tasks-queue";
+    public static final String QUEUE_USER_TASKS = "ava.tasks.user-tasks";
+    public static final String QUEUE_COURSE_USER_TASKS = "ava.tasks.course-user-tasks";
+    public static final String QUEUE_USER_TASKS_DLQ = QUEUE_USER_TASKS + ".dlq";
+    public static final String QUEUE_COURSE_USER_TASKS_DLQ = QUEUE_COURSE_USER_TASKS + ".dlq";
+
+    // Filas declaradas sem dead letter; o broker não aceita redeclarar uma fila com outros argumentos,
+    // então elas são esvaziadas e removidas na subida por TaskQueuesMigration
+    public static final String LEGACY_QUEUE_USER_TASKS = "user-tasks-queue";
+    public static final String LEGACY_QUEUE_COURSE_USER_TASKS = "course-user-tasks-queue";
 
     // Routing keys
     public static final String ROUTING_CREATE_USER_TASK = "task.create.user";
+    public static final String ROUTING_ASSIGN_COURSE_TASKS = "task.assign.course.users";
+
+    // Listener container factories
+    public static final String TASK_ASSIGNMENT_LISTENER_FACTORY = "taskAssignmentListenerFactory";
+
+    @Value("${rabbitmq.task-assignment.concurrency:2}")
+    private int concurrency;
+
+    @Value("${rabbitmq.task-assignment.max-concurrency:4}")
+    private int maxConcurrency;
+
+    @Value("${rabbitmq.task-assignment.prefetch:250}")
+    private int prefetch;
 
+    @Value("${rabbitmq.task-assignment.batch-size:100}")
+    private int batchSize;
+
+    @Value("${rabbitmq.task-assignment.batch-receive-timeout-ms:500}")
+    private long batchReceiveTimeout;
+
+    @Value("${rabbitmq.task-assignment.retry.max-attempts:3}")
+    private int retryMaxAttempts;
+
+    @Value("${rabbitmq.task-assignment.retry.initial-interval-ms:1000}")
+    private long retryInitialInterval;
+
+    @Value("${rabbitmq.task-assignment.retry.multiplier:2.0}")
+    private double retryMultiplier;
+
+    @Value("${rabbitmq.task-assignment.retry.max-interval-ms:10000}")
+    private long retryMaxInterval;
 
     @Bean
     public DirectExchange taskExchange() {
         return new DirectExchange(EXCHANGE_TASKS);
     }
 
+    @Bean
+    public DirectExchange taskDeadLetterExchange() {
+        return new DirectExchange(EXCHANGE_TASKS_DEAD_LETTER);
+    }
+
     @Bean
     public DirectExchange notificationExchange() {
         return new DirectExchange(EXCHANGE_NOTIFICATIONS);
@@ -37,7 +85,15 @@ public class RabbitMQConfig {
 
     @Bean
     public Queue userTasksQueue() {
-        return new Queue(QUEUE_USER_TASKS, true);
+        return QueueBuilder.durable(QUEUE_USER_TASKS)
+                .deadLetterExchange(EXCHANGE_TASKS_DEAD_LETTER)
+                .deadLetterRoutingKey(QUEUE_USER_TASKS_DLQ)
+                .build();
+    }
+
+    @Bean
+    public Queue userTasksDeadLetterQueue() {
+        return QueueBuilder.durable(QUEUE_USER_TASKS_DLQ).build();
     }
 
     @Bean
@@ -48,7 +104,81 @@ public class RabbitMQConfig {
                 .with(ROUTING_CREATE_USER_TASK);
     }
 
-     @Bean
+    @Bean
+    public Binding userTasksDeadLetterBinding(Queue userTasksDeadLetterQueue, DirectExchange taskDeadLetterExchange) {
+        return BindingBuilder
+                .bind(userTasksDeadLetterQueue)
+                .to(taskDeadLetterExchange)
+                .with(QUEUE_USER_TASKS_DLQ);
+    }
+
+    @Bean
+    public Queue courseUserTasksQueue() {
+        return QueueBuilder.durable(QUEUE_COURSE_USER_TASKS)
+                .deadLetterExchange(EXCHANGE_TASKS_DEAD_LETTER)
+                .deadLetterRoutingKey(QUEUE_COURSE_USER_TASKS_DLQ)
+                .build();
+    }
+
+    @Bean
+    public Queue courseUserTasksDeadLetterQueue() {
+        return QueueBuilder.durable(QUEUE_COURSE_USER_TASKS_DLQ).build();
+    }
+
+    @Bean
+    public Binding courseTasksAssignmentBinding(Queue courseUserTasksQueue, DirectExchange taskExchange) {
+        return BindingBuilder
+                .bind(courseUserTasksQueue)
+                .to(taskExchange)
+                .with(ROUTING_ASSIGN_COURSE_TASKS);
+    }
+
+    @Bean
+    public Binding courseUserTasksDeadLetterBinding(Queue courseUserTasksDeadLetterQueue, DirectExchange taskDeadLetterExchange) {
+        return BindingBuilder
+                .bind(courseUserTasksDeadLetterQueue)
+                .to(taskDeadLetterExchange)
+                .with(QUEUE_COURSE_USER_TASKS_DLQ);
+    }
+
+    /**
+     * Consome as filas de atribuição de tarefas em lotes (um ack por lote), com retry exponencial.
+     * Esgotadas as tentativas o lote inteiro é rejeitado sem requeue e vai para a DLQ da fila.
+     */
+    @Bean(TASK_ASSIGNMENT_LISTENER_FACTORY)
+    public SimpleRabbitListenerContainerFactory taskAssignmentListenerFactory(ConnectionFactory connectionFactory) {
+
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+
+        factory.setConnectionFactory(connectionFactory);
+        factory.setMessageConverter(jsonMessageConverter());
+        factory.setConcurrentConsumers(concurrency);
+        factory.setMaxConcurrentConsumers(maxConcurrency);
+        factory.setPrefetchCount(prefetch);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setReceiveTimeout(batchReceiveTimeout);
+        factory.setDefaultRequeueRejected(false);
+        factory.setAdviceChain(RetryInterceptorBuilder.stateless()
+                .maxAttempts(retryMaxAttempts)
+                .backOffOptions(retryInitialInterval, retryMultiplier, retryMaxInterval)
+                .recoverer(taskAssignmentBatchRecoverer())
+                .build());
+
+        return factory;
+
+    }
+
+    // o RejectAndDontRequeueRecoverer só trata mensagens avulsas; em lote o erro precisa chegar ao container
+    // como AmqpRejectAndDontRequeueException para que todas as mensagens sejam rejeitadas e desviadas para a DLX
+    private static MessageBatchRecoverer taskAssignmentBatchRecoverer() {
+        return (messages, cause) -> {
+            throw new AmqpRejectAndDontRequeueException("Lote de " + messages.size() + " mensagens enviado para a DLQ após esgotar as tentativas", cause);
+        };
+    }
+
+    @Bean
     public MessageConverter jsonMessageConverter() {
         return new Jackson2JsonMessageConverter();
     }
@@ -57,6 +187,11 @@ public class RabbitMQConfig {
     public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
         final RabbitTemplate rabbitTemplate = new RabbitTemplate(connectionFactory);
         rabbitTemplate.setMessageConverter(jsonMessageConverter());
+        // horário de publicação, usado pelos consumidores para medir o atraso da fila
+        rabbitTemplate.setBeforePublishPostProcessors(message -> {
+            message.getMessageProperties().setTimestamp(new Date());
+            return message;
+        });
         return rabbitTemplate;
     }
 }
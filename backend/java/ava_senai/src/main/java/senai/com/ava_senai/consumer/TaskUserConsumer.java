@@ -1,38 +1,240 @@
 package senai.com.ava_senai.consumer;
 
 import com.google.gson.Gson;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import senai.com.ava_senai.config.RabbitMQConfig;
+import senai.com.ava_senai.domain.task.CourseUsersTaskMessage;
 import senai.com.ava_senai.domain.task.TaskUserCourseMessage;
 import senai.com.ava_senai.services.task.ITaskService;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 @Service
-@RequiredArgsConstructor
 public class TaskUserConsumer {
 
+    private static final Logger LOGGER = Logger.getLogger(TaskUserConsumer.class.getName());
+
+    private final Gson gson = new Gson();
+
     private final ITaskService taskService;
 
-    @RabbitListener(queues = RabbitMQConfig.QUEUE_USER_TASKS)
-    public void consumeMessage(String message) {
+    private final MessageConverter messageConverter;
+
+    private final MeterRegistry meterRegistry;
+
+    // pool próprio e limitado: quando lota, a thread do listener executa o trabalho e segura o consumo da fila
+    private final ThreadPoolExecutor assignmentExecutor;
+
+    public TaskUserConsumer(ITaskService taskService,
+                            @Qualifier("jsonMessageConverter") MessageConverter messageConverter,
+                            MeterRegistry meterRegistry,
+                            @Value("${rabbitmq.task-assignment.workers:4}") int workers,
+                            @Value("${rabbitmq.task-assignment.queue-capacity:100}") int queueCapacity) {
+
+        this.taskService = taskService;
+        this.messageConverter = messageConverter;
+        this.meterRegistry = meterRegistry;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+
+        this.assignmentExecutor = new ThreadPoolExecutor(workers, workers, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "task-assignment-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+
+        // tamanho da fila e threads ativas do pool
+        new ExecutorServiceMetrics(assignmentExecutor, "task-assignment", Tags.empty()).bindTo(meterRegistry);
+
+    }
+
+    @RabbitListener(queues = RabbitMQConfig.QUEUE_USER_TASKS, containerFactory = RabbitMQConfig.TASK_ASSIGNMENT_LISTENER_FACTORY)
+    public void consumeMessages(List<Message> messages) {
+
+        // agrupa as tarefas do lote por curso, uma inserção por curso
+        Map<Long, Set<Long>> taskIdsByCourse = new LinkedHashMap<>();
+
+        recordReceived(RabbitMQConfig.QUEUE_USER_TASKS, messages);
+
+        for (Message message : messages) {
+
+            TaskUserCourseMessage taskUserCourseMessage = decode(message, TaskUserCourseMessage.class);
+
+            if (taskUserCourseMessage == null || taskUserCourseMessage.getCourseId() == null || taskUserCourseMessage.getTaskId() == null) {
+                continue;
+            }
+
+            taskIdsByCourse.computeIfAbsent(taskUserCourseMessage.getCourseId(), courseId -> new LinkedHashSet<>())
+                    .add(taskUserCourseMessage.getTaskId());
+
+        }
+
+        LOGGER.log(Level.INFO, "Processando lote de " + messages.size() + " mensagens de criação de tarefa para " + taskIdsByCourse.size() + " cursos");
+
+        processGroups(RabbitMQConfig.QUEUE_USER_TASKS, taskIdsByCourse, taskService::saveTaskUsersForCourse,
+                "Error processing user task messages");
+
+    }
+
+    @RabbitListener(queues = RabbitMQConfig.QUEUE_COURSE_USER_TASKS, containerFactory = RabbitMQConfig.TASK_ASSIGNMENT_LISTENER_FACTORY)
+    public void consumeCourseUsersMessages(List<Message> messages) {
+
+        // remove usuários repetidos no lote, o insert já ignora tarefas atribuídas anteriormente
+        Map<Long, Set<Long>> userIdsByCourse = new LinkedHashMap<>();
+
+        recordReceived(RabbitMQConfig.QUEUE_COURSE_USER_TASKS, messages);
+
+        for (Message message : messages) {
+
+            CourseUsersTaskMessage courseUsersTaskMessage = decode(message, CourseUsersTaskMessage.class);
+
+            if (courseUsersTaskMessage == null || courseUsersTaskMessage.getCourseId() == null || courseUsersTaskMessage.getUserIds() == null) {
+                continue;
+            }
+
+            Set<Long> userIds = userIdsByCourse.computeIfAbsent(courseUsersTaskMessage.getCourseId(), courseId -> new LinkedHashSet<>());
+
+            for (Long userId : courseUsersTaskMessage.getUserIds()) {
+                if (userId != null) {
+                    userIds.add(userId);
+                }
+            }
+
+        }
+
+        userIdsByCourse.values().removeIf(Set::isEmpty);
+
+        LOGGER.log(Level.INFO, "Processando lote de " + messages.size() + " mensagens de atribuição de tarefas para " + userIdsByCourse.size() + " cursos");
+
+        processGroups(RabbitMQConfig.QUEUE_COURSE_USER_TASKS, userIdsByCourse,
+                (courseId, userIds) -> taskService.saveCourseTasksForUsers(new CourseUsersTaskMessage(courseId, new ArrayList<>(userIds))),
+                "Error processing course user tasks messages");
+
+    }
+
+    /**
+     * Executa um grupo por curso no pool e só retorna quando todos terminam. Qualquer falha é relançada
+     * para que o lote inteiro seja tentado novamente e, esgotadas as tentativas, enviado para a DLQ.
+     * As inserções são idempotentes, então reprocessar os grupos que já tinham sido gravados é seguro.
+     */
+    private void processGroups(String queue, Map<Long, Set<Long>> idsByCourse, CourseAssignment assignment,
+                               String errorMessage) {
+
+        if (idsByCourse.isEmpty()) {
+            return;
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>(idsByCourse.size());
+
+        idsByCourse.forEach((courseId, ids) -> futures.add(CompletableFuture.runAsync(() -> {
+            try {
+                assignment.assign(courseId, ids);
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, assignmentExecutor)));
 
         try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            outcome = "error";
+            throw new RuntimeException(errorMessage, e.getCause() != null ? e.getCause() : e);
+        } finally {
+            sample.stop(Timer.builder("task.assignment.batch")
+                    .description("Tempo de processamento de um lote de atribuição de tarefas")
+                    .tag("queue", queue)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+
+    }
+
+    /**
+     * Conta as mensagens do lote e registra o atraso entre a publicação (timestamp definido pelo RabbitTemplate)
+     * e o consumo. Mensagens publicadas sem timestamp só entram na contagem.
+     */
+    private void recordReceived(String queue, List<Message> messages) {
 
-            TaskUserCourseMessage taskUserCourseMessage = new Gson().fromJson(message, TaskUserCourseMessage.class);
+        Counter.builder("task.assignment.messages")
+                .tag("queue", queue)
+                .register(meterRegistry)
+                .increment(messages.size());
 
-            Logger.getLogger(TaskUserConsumer.class.getName()).log(Level.INFO, "Processando mensagem de criação de tarefa " + taskUserCourseMessage.getTaskId() +  " para usuários do curso: " + taskUserCourseMessage.getCourseId());
+        Timer lag = Timer.builder("task.assignment.lag")
+                .description("Tempo entre a publicação e o consumo da mensagem")
+                .tag("queue", queue)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
 
-            taskService.saveTaskUsersForCourse(taskUserCourseMessage);
+        long now = System.currentTimeMillis();
 
-        } catch (Exception e) {
-            // Log error and possibly send to DLQ
-            throw new RuntimeException("Error processing user task message", e);
+        for (Message message : messages) {
+
+            Date timestamp = message.getMessageProperties().getTimestamp();
+
+            if (timestamp != null) {
+                lag.record(Duration.ofMillis(Math.max(0, now - timestamp.getTime())));
+            }
+
+        }
+
+    }
+
+    private <T> T decode(Message message, Class<T> type) {
+
+        Object payload = messageConverter.fromMessage(message);
+
+        return payload instanceof String json ? gson.fromJson(json, type) : gson.fromJson(gson.toJson(payload), type);
+
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+
+        assignmentExecutor.shutdown();
+
+        if (!assignmentExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+            assignmentExecutor.shutdownNow();
         }
 
     }
 
+    @FunctionalInterface
+    private interface CourseAssignment {
+        void assign(Long courseId, Set<Long> ids) throws Exception;
+    }
+
 }
@@ -5,12 +5,15 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.annotation.Secured;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import senai.com.ava_senai.domain.course.clazz.ClassRegisterDTO;
 import senai.com.ava_senai.domain.course.clazz.ClassResponseDTO;
+import senai.com.ava_senai.domain.course.clazz.classassessment.ClassAssessmentFilterDTO;
 import senai.com.ava_senai.exception.AlreadyExistsException;
 import senai.com.ava_senai.exception.NotFoundException;
 import senai.com.ava_senai.exception.NullListException;
 import senai.com.ava_senai.response.ApiResponse;
+import senai.com.ava_senai.response.JsonStreamResponder;
 import senai.com.ava_senai.services.clazz.ClassService;
 
 import java.util.List;
@@ -21,6 +24,7 @@ import java.util.List;
 public class ClassController {
 
     private final ClassService classService;
+    private final JsonStreamResponder jsonStreamResponder;
 
     @Secured({ "TEACHER", "ADMIN" })
     @PostMapping("/add")
@@ -54,6 +58,11 @@ public class ClassController {
 
     }
 
+    @GetMapping("/all/stream")
+    public ResponseEntity<StreamingResponseBody> getAllClassesStream() {
+        return jsonStreamResponder.stream("Sucesso", classService::streamTurmas);
+    }
+
     @PutMapping("/{classId}/edit")
     public ResponseEntity<ApiResponse> editClass(@PathVariable Long classId,
             @RequestBody @Valid ClassRegisterDTO turma) {
@@ -107,6 +116,26 @@ public class ClassController {
 
     }
 
+    @GetMapping("/{classId}/class-assessment/page")
+    public ResponseEntity<ApiResponse> getClassAssessmentPage(@PathVariable Long classId,
+                                                              @RequestParam(required = false) Long afterUserId,
+                                                              @RequestParam(required = false) Integer size,
+                                                              @RequestParam(required = false) Long knowledgeTrailId,
+                                                              @RequestParam(defaultValue = "false") boolean awaitingFeedback,
+                                                              @RequestParam(defaultValue = "false") boolean late) {
+
+        try {
+
+            ClassAssessmentFilterDTO filter = new ClassAssessmentFilterDTO(afterUserId, size, knowledgeTrailId, awaitingFeedback, late);
+
+            return ResponseEntity.ok().body(new ApiResponse("Sucesso", classService.getClassAssessmentPage(classId, filter)));
+
+        } catch (NotFoundException e) {
+            return ResponseEntity.status(404).body(new ApiResponse(e.getMessage(), null));
+        }
+
+    }
+
     @GetMapping("/{classId}/students-of-and-out-class")
     public ResponseEntity<ApiResponse> getAllStudents(@PathVariable Long classId) {
 
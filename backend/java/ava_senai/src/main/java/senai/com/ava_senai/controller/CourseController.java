@@ -5,12 +5,14 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.annotation.Secured;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import senai.com.ava_senai.domain.course.CourseContentSummaryDTO;
 import senai.com.ava_senai.domain.course.CourseRegisterDTO;
 import senai.com.ava_senai.domain.course.CourseResponseDTO;
 import senai.com.ava_senai.exception.UserNotFoundException;
 import senai.com.ava_senai.exception.Validation;
 import senai.com.ava_senai.response.ApiResponse;
+import senai.com.ava_senai.response.JsonStreamResponder;
 import senai.com.ava_senai.services.course.ICourseService;
 
 import java.util.List;
@@ -21,6 +23,7 @@ import java.util.List;
 public class CourseController {
 
     private final ICourseService courseService;
+    private final JsonStreamResponder jsonStreamResponder;
 
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse> getCourseById(@PathVariable @Valid Long id) {
@@ -77,6 +80,11 @@ public class CourseController {
         return ResponseEntity.ok().body(new ApiResponse("Cursos", courseService.getAllCourses()));
     }
 
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> listAllStream() {
+        return jsonStreamResponder.stream("Cursos", courseService::streamAllCourses);
+    }
+
     @GetMapping("/{id}/content-summary")
     public ResponseEntity<ApiResponse> getCourseContentSummary(@PathVariable @Valid Long id) {
 
@@ -5,12 +5,14 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.annotation.Secured;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import senai.com.ava_senai.domain.task.knowledgetrail.KnowledgeTrailRegisterDTO;
 import senai.com.ava_senai.domain.task.knowledgetrail.KnowledgeTrailResponseDTO;
 import senai.com.ava_senai.exception.NotFoundException;
 import senai.com.ava_senai.exception.NullListException;
 import senai.com.ava_senai.exception.Validation;
 import senai.com.ava_senai.response.ApiResponse;
+import senai.com.ava_senai.response.JsonStreamResponder;
 import senai.com.ava_senai.services.knowledgetrail.IKnowledgeTrailService;
 
 @RestController
@@ -19,6 +21,7 @@ import senai.com.ava_senai.services.knowledgetrail.IKnowledgeTrailService;
 public class KnowledgeTrailController {
 
     private final IKnowledgeTrailService knowledgeTrailService;
+    private final JsonStreamResponder jsonStreamResponder;
 
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse> getKnowledgeTrailById(@PathVariable @Valid Long id) {
@@ -83,6 +86,11 @@ public class KnowledgeTrailController {
 
     }
 
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> listAllStream() {
+        return jsonStreamResponder.stream("Trilhas de conhecimento", knowledgeTrailService::streamAllKnowledgeTrails);
+    }
+
     @GetMapping("ranked/by-class/{classId}")
     public ResponseEntity<ApiResponse> listAllRankedByClass(@PathVariable("classId") @Valid Long classId) {
 
@@ -5,12 +5,14 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.annotation.Secured;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import senai.com.ava_senai.domain.course.section.SectionRegisterDTO;
 import senai.com.ava_senai.domain.course.section.SectionResponseDTO;
 import senai.com.ava_senai.exception.NotFoundException;
 import senai.com.ava_senai.exception.NullListException;
 import senai.com.ava_senai.exception.Validation;
 import senai.com.ava_senai.response.ApiResponse;
+import senai.com.ava_senai.response.JsonStreamResponder;
 import senai.com.ava_senai.services.section.ISectionService;
 
 @RestController
@@ -19,6 +21,7 @@ import senai.com.ava_senai.services.section.ISectionService;
 public class SectionController {
 
     private final ISectionService sectionService;
+    private final JsonStreamResponder jsonStreamResponder;
 
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse> getSectionById(@PathVariable @Valid Long id) {
@@ -81,5 +84,10 @@ public class SectionController {
 
     }
 
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> listAllStream() {
+        return jsonStreamResponder.stream("Sessões", sectionService::streamAllSections);
+    }
+
 
 }
@@ -11,7 +11,8 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import senai.com.ava_senai.domain.task.taskcontent.TaskContentRegisterDTO;
 import senai.com.ava_senai.domain.task.taskcontent.TaskContentResponseDTO;
-import senai.com.ava_senai.dto.FileData;
+import senai.com.ava_senai.dto.ContentDownload;
+import senai.com.ava_senai.exception.NotFoundException;
 import senai.com.ava_senai.response.ApiResponse;
 import senai.com.ava_senai.services.task.TaskContentService;
 
@@ -38,22 +39,29 @@ public class TaskContentController {
     }
 
     @GetMapping("/find")
-    public ResponseEntity findContentByPath(@RequestParam String filePath) throws Throwable {
+    public ResponseEntity findContentByPath(@RequestParam String filePath,
+                                            @RequestHeader(value = HttpHeaders.RANGE, required = false) String range) {
 
         try {
 
-            FileData fileData = taskContentService.findContentByPath(filePath);
+            ContentDownload contentDownload = taskContentService.findContentByPath(filePath, range);
 
-            return ResponseEntity.ok()
-                    .header(HttpHeaders.CONTENT_TYPE, fileData.getMimeType())
-                    .body(fileData.getBytes());
+            return contentDownload.toResponseEntity();
 
+        } catch (NotFoundException e) {
+            return ResponseEntity.status(404).body(new ApiResponse("Error", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(500).body(new ApiResponse("Error", e.getMessage()));
         }
 
     }
 
+    @Secured({ "ADMIN" })
+    @GetMapping("/cache/stats")
+    public ResponseEntity getContentCacheStats() {
+        return ResponseEntity.ok().body(new ApiResponse("Ok", taskContentService.getContentCacheStats()));
+    }
+
     @Secured({ "ADMIN", "TEACHER" })
     @DeleteMapping("/{id}")
     public ResponseEntity delete(@PathVariable("id") Long id) {
@@ -40,9 +40,7 @@ public class TaskController {
     @Secured({"ADMIN", "TEACHER"})
     public ResponseEntity<ApiResponse> updateTaskOrder(@RequestBody @Valid List<TaskUpdateOrderDTO> taskUpdateOrderDTOS) {
 
-        taskService.updateTaskOrder(taskUpdateOrderDTOS);
-
-        return ResponseEntity.ok().body(new ApiResponse("Ordem das tarefas atualizada com sucesso!", null));
+        return ResponseEntity.ok().body(new ApiResponse("Ordem das tarefas atualizada com sucesso!", taskService.updateTaskOrder(taskUpdateOrderDTOS)));
 
     }
 
@@ -3,22 +3,41 @@ package senai.com.ava_senai.controller;
 import com.google.gson.Gson;
 import jakarta.annotation.Nullable;
 import jakarta.validation.Valid;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.EnumUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.annotation.Secured;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import senai.com.ava_senai.domain.course.CourseContentSummaryDTO;
 import senai.com.ava_senai.domain.user.*;
 import senai.com.ava_senai.domain.user.role.Role;
 import senai.com.ava_senai.domain.user.role.Roles;
+import senai.com.ava_senai.domain.user.userimport.UserImportFormat;
+import senai.com.ava_senai.domain.user.userimport.UserImportJobDTO;
+import senai.com.ava_senai.exception.NotFoundException;
 import senai.com.ava_senai.exception.NullListException;
 import senai.com.ava_senai.exception.UserAlreadyExistsException;
 import senai.com.ava_senai.exception.UserNotFoundException;
+import senai.com.ava_senai.handler.requesthandler.security.user.AuthyUserDetails;
 import senai.com.ava_senai.repository.RolesRepository;
 import senai.com.ava_senai.response.ApiResponse;
+import senai.com.ava_senai.response.JsonStreamResponder;
+import senai.com.ava_senai.services.user.IUserImportService;
 import senai.com.ava_senai.services.user.IUserService;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.concurrent.RejectedExecutionException;
+
 @RestController
 @RequestMapping("${api.prefix}/user")
 @RequiredArgsConstructor
@@ -26,6 +45,8 @@ public class UserController {
 
     private final IUserService iUserService;
     private final RolesRepository rolesRepository;
+    private final JsonStreamResponder jsonStreamResponder;
+    private final IUserImportService userImportService;
 
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse> getUserById(@PathVariable @Valid Long id) {
@@ -99,6 +120,11 @@ public class UserController {
         }
     }
 
+    @GetMapping("/list-all/stream")
+    public ResponseEntity<StreamingResponseBody> listAllStream(@ModelAttribute UserFinderDTO finder) {
+        return jsonStreamResponder.stream("Usuários", () -> iUserService.streamAllUsers(finder));
+    }
+
     @PatchMapping("/status/{userId}")
     public ResponseEntity<ApiResponse> status(@PathVariable("userId") Long userId, @RequestBody UserStatusDTO userStatusDTO) {
 
@@ -125,4 +151,79 @@ public class UserController {
         }
     }
 
+    @Secured({"ADMIN", "TEACHER"})
+    @PostMapping(value = "import/{role}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponse> importUsers(@PathVariable("role") Roles role,
+                                                   @RequestParam("file") MultipartFile file,
+                                                   @AuthenticationPrincipal AuthyUserDetails principal) throws IOException {
+
+        try (InputStream content = file.getInputStream()) {
+            return startImport(role, principal, UserImportFormat.from(file.getContentType(), file.getOriginalFilename()), content);
+        }
+
+    }
+
+    @Secured({"ADMIN", "TEACHER"})
+    @PostMapping(value = "import/{role}", consumes = {"text/csv", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<ApiResponse> importUsersStream(@PathVariable("role") Roles role,
+                                                         @AuthenticationPrincipal AuthyUserDetails principal,
+                                                         HttpServletRequest request) throws IOException {
+        return startImport(role, principal, UserImportFormat.from(request.getContentType(), null), request.getInputStream());
+    }
+
+    @Secured({"ADMIN", "TEACHER"})
+    @GetMapping("import/{jobId}")
+    public ResponseEntity<ApiResponse> getImport(@PathVariable("jobId") Long jobId) {
+
+        try {
+            return ResponseEntity.ok().body(new ApiResponse("Sucesso!", userImportService.getImport(jobId)));
+        } catch (NotFoundException e) {
+            return ResponseEntity.status(404).body(new ApiResponse(e.getMessage(), null));
+        }
+
+    }
+
+    @Secured({"ADMIN", "TEACHER"})
+    @GetMapping("import/{jobId}/report")
+    public ResponseEntity<String> getImportReport(@PathVariable("jobId") Long jobId) {
+
+        try {
+            return ResponseEntity.ok()
+                    .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"importacao-" + jobId + ".csv\"")
+                    .body(userImportService.getImportReport(jobId));
+        } catch (NotFoundException e) {
+            return ResponseEntity.status(404).body(e.getMessage());
+        }
+
+    }
+
+    // os usuários são criados na instituição de quem importa, com perfil igual ou abaixo do seu
+    private ResponseEntity<ApiResponse> startImport(Roles role, AuthyUserDetails principal,
+                                                    UserImportFormat format, InputStream content) throws IOException {
+
+        if (role.getValue() < roleOf(principal).getValue()) {
+            return ResponseEntity.status(403).body(new ApiResponse("Sem permissão para importar usuários com o perfil " + role.getDescription(), null));
+        }
+
+        try {
+
+            UserImportJobDTO job = userImportService.startImport(role, principal.getIdInstitution(), format, content);
+
+            return ResponseEntity.status(202).body(new ApiResponse("Importação iniciada", job));
+
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(429).body(new ApiResponse("Há importações demais aguardando, tente novamente mais tarde", null));
+        }
+
+    }
+
+    private static Roles roleOf(AuthyUserDetails principal) {
+        return principal.getAuthorities().stream()
+                .map(authority -> EnumUtils.getEnum(Roles.class, authority.getAuthority()))
+                .filter(Objects::nonNull)
+                .min(Comparator.comparingLong(Roles::getValue))
+                .orElse(Roles.STUDENT);
+    }
+
 }
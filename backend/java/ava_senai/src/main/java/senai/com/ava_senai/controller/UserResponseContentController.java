@@ -10,7 +10,8 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import senai.com.ava_senai.domain.task.userresponsecontent.UserResponseContentRegisterDTO;
 import senai.com.ava_senai.domain.task.userresponsecontent.UserResponseContentResponseDTO;
-import senai.com.ava_senai.dto.FileData;
+import senai.com.ava_senai.dto.ContentDownload;
+import senai.com.ava_senai.exception.NotFoundException;
 import senai.com.ava_senai.response.ApiResponse;
 import senai.com.ava_senai.services.task.IUserResponseContentService;
 
@@ -36,16 +37,17 @@ public class UserResponseContentController {
     }
 
     @GetMapping("/find")
-    public ResponseEntity findContentByPath(@RequestParam String filePath) throws Throwable {
+    public ResponseEntity findContentByPath(@RequestParam String filePath,
+                                            @RequestHeader(value = HttpHeaders.RANGE, required = false) String range) {
 
         try {
 
-            FileData fileData = userResponseContentService.findContentByPath(filePath);
+            ContentDownload contentDownload = userResponseContentService.findContentByPath(filePath, range);
 
-            return ResponseEntity.ok()
-                    .header(HttpHeaders.CONTENT_TYPE, fileData.getMimeType())
-                    .body(fileData.getBytes());
+            return contentDownload.toResponseEntity();
 
+        } catch (NotFoundException e) {
+            return ResponseEntity.status(404).body(new ApiResponse("Error", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(500).body(new ApiResponse("Error", e.getMessage()));
         }
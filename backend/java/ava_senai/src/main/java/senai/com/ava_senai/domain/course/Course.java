@@ -26,6 +26,10 @@ public class Course extends DefaultEntity {
     @Column(length = 80, nullable = false)
     private String name;
 
+    // incrementada por CourseContentCache a cada mudança na árvore de conteúdo, nunca gravada pela entidade
+    @Column(name = "structure_version", insertable = false, updatable = false)
+    private Long structureVersion;
+
     @OneToMany(mappedBy = "course")
     private Set<Section> sections;
 
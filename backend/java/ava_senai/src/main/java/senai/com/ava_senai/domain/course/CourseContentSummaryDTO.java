@@ -5,9 +5,11 @@ import senai.com.ava_senai.domain.task.Task;
 import senai.com.ava_senai.domain.task.knowledgetrail.KnowledgeTrail;
 import senai.com.ava_senai.domain.task.taskcontent.TaskContent;
 
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
+import java.util.Objects;
 
 public record CourseContentSummaryDTO(String name, Integer quantitySemester, Long id, List<SectionSummaryDTO> sections) {
 
@@ -22,6 +24,16 @@ public record CourseContentSummaryDTO(String name, Integer quantitySemester, Lon
                                 .toList() : List.of());
             }
 
+            KnowledgeTrailSummaryDTO onlyTasks(long[] taskIds) {
+
+                List<TaskSummaryDTO> assignedTasks = tasks.stream()
+                        .filter(task -> Arrays.binarySearch(taskIds, task.id()) >= 0)
+                        .toList();
+
+                return assignedTasks.isEmpty() ? null : new KnowledgeTrailSummaryDTO(id, name, ranked, assignedTasks);
+
+            }
+
             record TaskSummaryDTO(Long id, String name, String description, Integer taskOrder, Date dueDate, List<TaskContentSummaryDTO> contents) {
 
                 public TaskSummaryDTO(Task task) {
@@ -54,6 +66,21 @@ public record CourseContentSummaryDTO(String name, Integer quantitySemester, Lon
                     : null);
         }
 
+        SectionSummaryDTO onlyTasks(long[] taskIds) {
+
+            if (knowledgeTrails == null) {
+                return null;
+            }
+
+            List<KnowledgeTrailSummaryDTO> assignedTrails = knowledgeTrails.stream()
+                    .map(knowledgeTrail -> knowledgeTrail.onlyTasks(taskIds))
+                    .filter(Objects::nonNull)
+                    .toList();
+
+            return assignedTrails.isEmpty() ? null : new SectionSummaryDTO(id, name, semester, courseId, assignedTrails);
+
+        }
+
     }
 
     public CourseContentSummaryDTO(Course course) {
@@ -66,4 +93,16 @@ public record CourseContentSummaryDTO(String name, Integer quantitySemester, Lon
                         : List.of());
     }
 
+    /**
+     * Cópia do resumo só com as tarefas em taskIds, que deve estar ordenado, e com as trilhas e seções que ainda
+     * tiverem alguma tarefa. Usado para montar a visão de um aluno a partir da árvore do curso em cache.
+     */
+    public CourseContentSummaryDTO onlyTasks(long[] taskIds) {
+        return new CourseContentSummaryDTO(name, quantitySemester, id,
+                sections.stream()
+                        .map(section -> section.onlyTasks(taskIds))
+                        .filter(Objects::nonNull)
+                        .toList());
+    }
+
 }
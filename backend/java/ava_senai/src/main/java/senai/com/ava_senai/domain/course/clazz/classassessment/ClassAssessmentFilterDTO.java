@@ -0,0 +1,24 @@
+package senai.com.ava_senai.domain.course.clazz.classassessment;
+
+/**
+ * Página da avaliação da turma: alunos com id maior que {@code afterUserId}, no máximo {@code size},
+ * opcionalmente restritos às tarefas de uma trilha, aguardando feedback ou atrasadas.
+ */
+public record ClassAssessmentFilterDTO(Long afterUserId,
+                                       Integer size,
+                                       Long knowledgeTrailId,
+                                       boolean awaitingFeedback,
+                                       boolean late) {
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+
+    public int pageSize() {
+        return size == null || size <= 0 ? DEFAULT_SIZE : Math.min(size, MAX_SIZE);
+    }
+
+    public boolean isFiltered() {
+        return knowledgeTrailId != null || awaitingFeedback || late;
+    }
+
+}
@@ -0,0 +1,7 @@
+package senai.com.ava_senai.domain.course.clazz.classassessment;
+
+/**
+ * @param nextCursor valor de {@code afterUserId} para a próxima página, nulo na última
+ */
+public record ClassAssessmentPageDTO(ClassAssessmentResponseDTO classAssessment, Long nextCursor, boolean hasNext) {
+}
@@ -0,0 +1,31 @@
+package senai.com.ava_senai.domain.course.clazz.classassessment;
+
+import senai.com.ava_senai.domain.user.UserStatus;
+
+import java.util.Date;
+
+/**
+ * Uma linha por tarefa atribuída a um aluno da turma (ou uma linha sem tarefa para o aluno que não tem nenhuma),
+ * com a resposta e o feedback achatados. Os anexos da resposta vêm em {@link UserResponseContentRowDTO}.
+ */
+public record ClassAssessmentRowDTO(Long userId,
+                                    String email,
+                                    String name,
+                                    UserStatus userStatus,
+                                    Long roleId,
+                                    String roleName,
+                                    String institutionName,
+                                    String cpf,
+                                    Long taskUserId,
+                                    Long taskId,
+                                    String taskName,
+                                    String taskDescription,
+                                    Date taskDueDate,
+                                    Long knowledgeTrailId,
+                                    Long userResponseId,
+                                    String userResponseComment,
+                                    Long feedbackId,
+                                    String feedbackComment,
+                                    Double feedbackGrade,
+                                    Long teacherId) {
+}
@@ -0,0 +1,6 @@
+package senai.com.ava_senai.domain.course.clazz.classassessment;
+
+import senai.com.ava_senai.domain.task.taskcontent.TaskContentType;
+
+public record UserResponseContentRowDTO(Long userResponseId, TaskContentType contentType, String name, String contentUrl) {
+}
@@ -0,0 +1,25 @@
+package senai.com.ava_senai.domain.dashboard;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.util.Date;
+
+@Data
+@Entity
+@Table(name = "dashboard_counter")
+public class DashBoardCounter {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "counter_name", length = 40)
+    private DashBoardCounterType counterName;
+
+    @Column(name = "counter_value", nullable = false)
+    private Long counterValue;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "updated_at")
+    private Date updatedAt;
+
+}
@@ -0,0 +1,9 @@
+package senai.com.ava_senai.domain.dashboard;
+
+public enum DashBoardCounterType {
+    TOTAL_ACTIVE_USERS,
+    TOTAL_COURSES,
+    TOTAL_RANKED_TASKS,
+    TOTAL_TASKS,
+    TOTAL_TEACHERS
+}
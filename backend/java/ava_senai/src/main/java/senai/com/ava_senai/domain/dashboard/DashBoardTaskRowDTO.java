@@ -0,0 +1,15 @@
+package senai.com.ava_senai.domain.dashboard;
+
+import senai.com.ava_senai.domain.task.TaskResponseDTO;
+
+public record DashBoardTaskRowDTO(Long taskId, String taskName, String taskDescription, DashBoardTaskStatus status) {
+
+    public DashBoardTaskRowDTO(Long taskId, String taskName, String taskDescription, String status) {
+        this(taskId, taskName, taskDescription, DashBoardTaskStatus.valueOf(status));
+    }
+
+    public TaskResponseDTO toTaskResponse() {
+        return new TaskResponseDTO(taskId, taskName, taskDescription);
+    }
+
+}
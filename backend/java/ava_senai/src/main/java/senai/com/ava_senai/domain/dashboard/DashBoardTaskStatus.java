@@ -0,0 +1,7 @@
+package senai.com.ava_senai.domain.dashboard;
+
+public enum DashBoardTaskStatus {
+    PENDENTE,
+    AGUARDANDO_FEEDBACK,
+    AVALIADA
+}
@@ -0,0 +1,94 @@
+package senai.com.ava_senai.domain.ranking;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.util.Date;
+
+@Data
+@Entity
+@Table(name = "ranking_score",
+        uniqueConstraints = @UniqueConstraint(name = "uk_ranking_score_class_trail_user", columnNames = {"class_id", "knowledge_trail_id", "user_id"}),
+        indexes = @Index(name = "idx_ranking_score_class_trail_points", columnList = "class_id, knowledge_trail_id, points_earned DESC"))
+public class RankingScore {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "class_id", nullable = false)
+    private Long classId;
+
+    @Column(name = "knowledge_trail_id", nullable = false)
+    private Long knowledgeTrailId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "user_name")
+    private String userName;
+
+    @Column(name = "conclusion_percent")
+    private Double conclusionPercent;
+
+    @Column(name = "tasks_sent")
+    private Integer tasksSent;
+
+    @Column(name = "tasks_reviewed")
+    private Integer tasksReviewed;
+
+    @Column(name = "total_tasks")
+    private Integer totalTasks;
+
+    @Column(name = "medium_grade")
+    private Double mediumGrade;
+
+    @Column(name = "last_response_date")
+    private Date lastResponseDate;
+
+    @Column(name = "points_earned", nullable = false)
+    private Double pointsEarned;
+
+    @Column(name = "updated_at")
+    private Date updatedAt;
+
+    public RankingScore() {}
+
+    public RankingScore(Long classId, Long knowledgeTrailId, Long userId) {
+        this.classId = classId;
+        this.knowledgeTrailId = knowledgeTrailId;
+        this.userId = userId;
+    }
+
+    public void apply(StudentRankingDTO studentRanking) {
+        this.userName = studentRanking.getName();
+        this.conclusionPercent = studentRanking.getConclusionPercent();
+        this.tasksSent = studentRanking.getTasksSent();
+        this.tasksReviewed = studentRanking.getTasksReviewed();
+        this.totalTasks = studentRanking.getTotalTasks();
+        this.mediumGrade = studentRanking.getMediumGrade();
+        this.lastResponseDate = studentRanking.getLastResponseDate();
+        this.pointsEarned = studentRanking.getPointsEarned();
+    }
+
+    public StudentRankingDTO toStudentRanking(Integer place) {
+        return StudentRankingDTO.builder()
+                .name(userName)
+                .conclusionPercent(conclusionPercent)
+                .tasksSent(tasksSent)
+                .tasksReviewed(tasksReviewed)
+                .totalTasks(totalTasks)
+                .mediumGrade(mediumGrade)
+                .lastResponseDate(lastResponseDate)
+                .pointsEarned(pointsEarned)
+                .place(place)
+                .build();
+    }
+
+    @PrePersist
+    @PreUpdate
+    private void preUpdate() {
+        this.updatedAt = new Date();
+    }
+
+}
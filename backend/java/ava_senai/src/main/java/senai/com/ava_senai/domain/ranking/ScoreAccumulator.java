@@ -0,0 +1,106 @@
+package senai.com.ava_senai.domain.ranking;
+
+/**
+ * Acumulador mutável das métricas de um aluno. É reaproveitado entre alunos (reset) para não gerar lixo
+ * durante o cálculo de uma turma inteira.
+ */
+public class ScoreAccumulator {
+
+    private int totalTasks;
+    private int tasksSent;
+    private int tasksReviewed;
+    private int tasksTimed;
+    private double gradeSum;
+    private double timeConsumedPercentSum;
+    private long lastResponseAt;
+    private double pointsEarned;
+
+    public ScoreAccumulator() {
+        reset();
+    }
+
+    public void reset() {
+        totalTasks = 0;
+        tasksSent = 0;
+        tasksReviewed = 0;
+        tasksTimed = 0;
+        gradeSum = 0d;
+        timeConsumedPercentSum = 0d;
+        lastResponseAt = TaskRankingColumns.NO_DATE;
+        pointsEarned = 0d;
+    }
+
+    public void addTask() {
+        totalTasks++;
+    }
+
+    public void addResponse(long responseAt) {
+        tasksSent++;
+        if (responseAt > lastResponseAt) {
+            lastResponseAt = responseAt;
+        }
+    }
+
+    public void addReview(double grade) {
+        tasksReviewed++;
+        gradeSum += grade;
+    }
+
+    public void addTimeConsumed(double percentTimeConsumed) {
+        tasksTimed++;
+        timeConsumedPercentSum += percentTimeConsumed;
+    }
+
+    public int getTotalTasks() {
+        return totalTasks;
+    }
+
+    public int getTasksSent() {
+        return tasksSent;
+    }
+
+    public int getTasksReviewed() {
+        return tasksReviewed;
+    }
+
+    public double getGradeSum() {
+        return gradeSum;
+    }
+
+    public long getLastResponseAt() {
+        return lastResponseAt;
+    }
+
+    public double getPointsEarned() {
+        return pointsEarned;
+    }
+
+    public void setPointsEarned(double pointsEarned) {
+        this.pointsEarned = pointsEarned;
+    }
+
+    public boolean hasReviews() {
+        return tasksReviewed > 0;
+    }
+
+    public boolean hasTimedTasks() {
+        return tasksTimed > 0;
+    }
+
+    public boolean hasResponses() {
+        return lastResponseAt != TaskRankingColumns.NO_DATE;
+    }
+
+    public double getMediumGrade() {
+        return hasReviews() ? gradeSum / tasksReviewed : 0d;
+    }
+
+    public double getMediumTimeConsumedPercent() {
+        return tasksTimed > 0 ? timeConsumedPercentSum / tasksTimed : 0d;
+    }
+
+    public double getConclusionPercent() {
+        return ((double) tasksSent / totalTasks) * 100;
+    }
+
+}
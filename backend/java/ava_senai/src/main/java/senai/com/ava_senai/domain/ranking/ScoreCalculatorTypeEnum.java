@@ -2,5 +2,6 @@ package senai.com.ava_senai.domain.ranking;
 
 public enum ScoreCalculatorTypeEnum {
     TIME,
-    GRADE;
+    GRADE,
+    SINGLE_PASS;
 }
@@ -1,21 +1,28 @@
 package senai.com.ava_senai.domain.ranking;
 
 import lombok.Data;
-import senai.com.ava_senai.domain.task.Task;
-import senai.com.ava_senai.domain.task.feedback.Feedback;
-import senai.com.ava_senai.domain.task.userresponse.UserResponse;
+
+import java.util.Date;
 
 @Data
 public class TaskRankingCalculatorDTO {
 
-    private Task task;
-    private UserResponse userResponse;
-    private Feedback feedback;
+    private Date taskCreatedAt;
+    private Date dueDate;
+    private Date responseDate;
+    private Double grade;
+    private boolean reviewed;
+
+    public TaskRankingCalculatorDTO(Date taskCreatedAt, Date dueDate, Date responseDate, Double grade, boolean reviewed) {
+        this.taskCreatedAt = taskCreatedAt;
+        this.dueDate = dueDate;
+        this.responseDate = responseDate;
+        this.grade = grade;
+        this.reviewed = reviewed;
+    }
 
-    public TaskRankingCalculatorDTO(Task task, UserResponse userResponse, Feedback feedback) {
-        this.task = task;
-        this.userResponse = userResponse;
-        this.feedback = feedback;
+    public boolean isSent() {
+        return responseDate != null;
     }
 
 }
@@ -0,0 +1,98 @@
+package senai.com.ava_senai.domain.ranking;
+
+import java.util.Arrays;
+import java.util.Date;
+
+/**
+ * Tarefas de um aluno em colunas primitivas (epoch millis e notas), para o cálculo do ranking
+ * percorrer tudo em uma única passada sem boxing.
+ */
+public class TaskRankingColumns {
+
+    public static final long NO_DATE = Long.MIN_VALUE;
+
+    private static final int DEFAULT_CAPACITY = 8;
+
+    private long[] taskCreatedAt;
+    private long[] dueDate;
+    private long[] responseAt;
+    private double[] grades;
+    private boolean[] reviewed;
+    private int size;
+
+    public TaskRankingColumns() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public TaskRankingColumns(int capacity) {
+        int initialCapacity = Math.max(capacity, 1);
+        this.taskCreatedAt = new long[initialCapacity];
+        this.dueDate = new long[initialCapacity];
+        this.responseAt = new long[initialCapacity];
+        this.grades = new double[initialCapacity];
+        this.reviewed = new boolean[initialCapacity];
+    }
+
+    public void add(TaskRankingRowDTO row) {
+        add(row.taskCreatedAt(), row.dueDate(), row.responseCreatedAt(), row.grade(), row.feedbackId() != null);
+    }
+
+    public void add(TaskRankingCalculatorDTO task) {
+        add(task.getTaskCreatedAt(), task.getDueDate(), task.getResponseDate(), task.getGrade(), task.isReviewed());
+    }
+
+    public void add(Date taskCreatedAt, Date dueDate, Date responseAt, Double grade, boolean reviewed) {
+
+        if (size == this.taskCreatedAt.length) {
+            grow();
+        }
+
+        this.taskCreatedAt[size] = toMillis(taskCreatedAt);
+        this.dueDate[size] = toMillis(dueDate);
+        this.responseAt[size] = toMillis(responseAt);
+        // feedback sem nota (trilha que passou a ser ranqueada depois da avaliação) conta como zero
+        this.grades[size] = grade != null ? grade : 0d;
+        this.reviewed[size] = reviewed;
+
+        size++;
+
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long taskCreatedAt(int index) {
+        return taskCreatedAt[index];
+    }
+
+    public long dueDate(int index) {
+        return dueDate[index];
+    }
+
+    public long responseAt(int index) {
+        return responseAt[index];
+    }
+
+    public double grade(int index) {
+        return grades[index];
+    }
+
+    public boolean reviewed(int index) {
+        return reviewed[index];
+    }
+
+    private void grow() {
+        int newCapacity = taskCreatedAt.length << 1;
+        taskCreatedAt = Arrays.copyOf(taskCreatedAt, newCapacity);
+        dueDate = Arrays.copyOf(dueDate, newCapacity);
+        responseAt = Arrays.copyOf(responseAt, newCapacity);
+        grades = Arrays.copyOf(grades, newCapacity);
+        reviewed = Arrays.copyOf(reviewed, newCapacity);
+    }
+
+    private static long toMillis(Date date) {
+        return date != null ? date.getTime() : NO_DATE;
+    }
+
+}
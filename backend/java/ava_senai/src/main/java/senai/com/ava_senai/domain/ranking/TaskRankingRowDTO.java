@@ -0,0 +1,7 @@
+package senai.com.ava_senai.domain.ranking;
+
+import java.util.Date;
+
+public record TaskRankingRowDTO(Long knowledgeTrailId, Long userId, String userName, Long taskId, Date taskCreatedAt,
+                                Date dueDate, Date responseCreatedAt, Long feedbackId, Double grade) {
+}
@@ -18,6 +18,11 @@ public enum TimeConsumedScore {
     }
 
     public static Double valueOf(double mediumPercentTimeConsumed) {
+        return pointsFor(mediumPercentTimeConsumed);
+    }
+
+    // Versão primitiva, usada no cálculo em passada única para não gerar boxing por aluno
+    public static double pointsFor(double mediumPercentTimeConsumed) {
         // Ordem importa: do maior para o menor
         for (TimeConsumedScore score : values()) {
             if (mediumPercentTimeConsumed > score.threshold) {
@@ -1,19 +1,22 @@
 package senai.com.ava_senai.domain.ranking;
 
 import lombok.Data;
-import senai.com.ava_senai.domain.user.User;
-
-import java.util.List;
 
 @Data
 public class UserRankingCalculatorDTO {
 
-    User user;
-    List<TaskRankingCalculatorDTO> tasksCalculator;
+    Long userId;
+    String userName;
+    TaskRankingColumns tasks;
+
+    public UserRankingCalculatorDTO(Long userId, String userName) {
+        this(new TaskRankingColumns(), userId, userName);
+    }
 
-    public UserRankingCalculatorDTO(List<TaskRankingCalculatorDTO> tasksCalculator, User user) {
-        this.tasksCalculator = tasksCalculator;
-        this.user = user;
+    public UserRankingCalculatorDTO(TaskRankingColumns tasks, Long userId, String userName) {
+        this.tasks = tasks;
+        this.userId = userId;
+        this.userName = userName;
     }
 
 }
@@ -0,0 +1,15 @@
+package senai.com.ava_senai.domain.task;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CourseUsersTaskMessage {
+    private Long courseId;
+    private List<Long> userIds;
+}
@@ -10,7 +10,7 @@ import senai.com.ava_senai.domain.user.User;
 
 @Data
 @Entity
-@Table(name = "task_user")
+@Table(name = "task_user", uniqueConstraints = @UniqueConstraint(name = "uk_task_user_task_user", columnNames = {"task_id", "user_id"}))
 public class TaskUser extends DefaultEntity {
 
     @ManyToOne
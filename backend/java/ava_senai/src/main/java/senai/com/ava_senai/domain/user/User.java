@@ -18,7 +18,7 @@ import java.util.List;
 @Entity
 @Getter
 @Setter
-@Table(name = "users")
+@Table(name = "users", uniqueConstraints = @UniqueConstraint(name = "uk_users_email", columnNames = "email"))
 @NoArgsConstructor
 @AllArgsConstructor
 public class User extends DefaultEntity {
@@ -58,6 +58,10 @@ public class User extends DefaultEntity {
     @Column(name = "name_image")
     private String nameImage;
 
+    // incrementada ao alterar status, papel, email ou senha; tokens com versão anterior deixam de valer
+    @Column(name = "token_version")
+    private Integer tokenVersion;
+
     @ManyToOne
     @JoinColumn(name = "id_institution", referencedColumnName = "id",updatable = false, insertable = false, foreignKey = @ForeignKey(name = "fk_user_institution") )
     private Institution institution;
@@ -0,0 +1,4 @@
+package senai.com.ava_senai.domain.user.userclass;
+
+public record UserClassIdsDTO(Long userId, Long classId) {
+}
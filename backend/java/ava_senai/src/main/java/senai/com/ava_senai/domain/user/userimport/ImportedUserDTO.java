@@ -0,0 +1,4 @@
+package senai.com.ava_senai.domain.user.userimport;
+
+public record ImportedUserDTO(Long id, String email) {
+}
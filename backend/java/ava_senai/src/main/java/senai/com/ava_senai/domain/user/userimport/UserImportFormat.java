@@ -0,0 +1,29 @@
+package senai.com.ava_senai.domain.user.userimport;
+
+import org.springframework.http.MediaType;
+
+public enum UserImportFormat {
+    CSV,
+    JSON;
+
+    public static UserImportFormat from(String contentType, String fileName) {
+
+        if (fileName != null) {
+
+            String lowerName = fileName.toLowerCase();
+
+            if (lowerName.endsWith(".json")) {
+                return JSON;
+            }
+
+            if (lowerName.endsWith(".csv")) {
+                return CSV;
+            }
+
+        }
+
+        return contentType != null && MediaType.APPLICATION_JSON.includes(MediaType.parseMediaType(contentType)) ? JSON : CSV;
+
+    }
+
+}
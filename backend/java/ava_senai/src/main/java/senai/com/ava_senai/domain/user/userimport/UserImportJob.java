@@ -0,0 +1,47 @@
+package senai.com.ava_senai.domain.user.userimport;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import senai.com.ava_senai.domain.DefaultEntity;
+
+import java.util.Date;
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "user_import_job")
+public class UserImportJob extends DefaultEntity {
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status")
+    private UserImportStatus status;
+
+    @Column(name = "role_id")
+    private Long roleId;
+
+    @Column(name = "total_rows")
+    private int totalRows;
+
+    @Column(name = "created_rows")
+    private int createdRows;
+
+    @Column(name = "failed_rows")
+    private int failedRows;
+
+    // erros por linha em CSV (linha,email,erro), disponível para download ao final
+    @Column(name = "report", columnDefinition = "text")
+    private String report;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "finished_at")
+    private Date finishedAt;
+
+    // renovado pela réplica que executa ou enfileirou a importação; sem renovação o job é dado como perdido
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "heartbeat_at")
+    private Date heartbeatAt;
+
+}
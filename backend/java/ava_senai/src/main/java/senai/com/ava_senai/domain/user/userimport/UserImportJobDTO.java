@@ -0,0 +1,13 @@
+package senai.com.ava_senai.domain.user.userimport;
+
+import java.util.Date;
+
+public record UserImportJobDTO(Long id, UserImportStatus status, int totalRows, int createdRows, int failedRows,
+                               Date createdAt, Date finishedAt) {
+
+    public UserImportJobDTO(UserImportJob job) {
+        this(job.getId(), job.getStatus(), job.getTotalRows(), job.getCreatedRows(), job.getFailedRows(),
+                job.getCreatedAt(), job.getFinishedAt());
+    }
+
+}
@@ -0,0 +1,23 @@
+package senai.com.ava_senai.domain.user.userimport;
+
+import java.util.List;
+
+/**
+ * Um usuário do arquivo de importação. line é a linha no CSV (ou a posição no array JSON) usada no relatório.
+ */
+public record UserImportRowDTO(int line, String name, String email, String password, String cpf, List<Long> classesId) {
+
+    public UserImportRowDTO {
+        classesId = classesId != null ? classesId : List.of();
+    }
+
+    public UserImportRowDTO withLine(int line) {
+        return new UserImportRowDTO(line, name, email, password, cpf, classesId);
+    }
+
+    // a senha em texto puro não precisa ficar em memória depois que o lote da linha foi processado
+    public UserImportRowDTO withoutPassword() {
+        return new UserImportRowDTO(line, name, email, null, cpf, classesId);
+    }
+
+}
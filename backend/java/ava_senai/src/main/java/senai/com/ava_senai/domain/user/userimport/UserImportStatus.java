@@ -0,0 +1,7 @@
+package senai.com.ava_senai.domain.user.userimport;
+
+public enum UserImportStatus {
+    EM_ANDAMENTO,
+    CONCLUIDA,
+    FALHOU;
+}
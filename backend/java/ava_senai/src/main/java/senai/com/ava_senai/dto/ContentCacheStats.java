@@ -0,0 +1,12 @@
+package senai.com.ava_senai.dto;
+
+public record ContentCacheStats(long hits,
+                                long misses,
+                                long revalidations,
+                                long evictions,
+                                long bypasses,
+                                long bytesServedFromCache,
+                                int entries,
+                                long sizeBytes,
+                                long maxSizeBytes) {
+}
@@ -0,0 +1,80 @@
+package senai.com.ava_senai.dto;
+
+import lombok.Getter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Download de um conteúdo do storage: metadados do objeto, intervalo solicitado e o corpo que
+ * copia os bytes direto do MinIO para a resposta, sem carregar o arquivo inteiro em memória.
+ */
+@Getter
+public class ContentDownload {
+
+    private final FileMetadata metadata;
+    private final long rangeStart;
+    private final long rangeEnd;
+    private final boolean partial;
+    private final boolean satisfiable;
+    private final StreamingResponseBody body;
+
+    private ContentDownload(FileMetadata metadata, long rangeStart, long rangeEnd, boolean partial,
+                            boolean satisfiable, StreamingResponseBody body) {
+        this.metadata = metadata;
+        this.rangeStart = rangeStart;
+        this.rangeEnd = rangeEnd;
+        this.partial = partial;
+        this.satisfiable = satisfiable;
+        this.body = body;
+    }
+
+    public static ContentDownload full(FileMetadata metadata, StreamingResponseBody body) {
+        return new ContentDownload(metadata, 0, metadata.getSize() - 1, false, true, body);
+    }
+
+    public static ContentDownload partial(FileMetadata metadata, long rangeStart, long rangeEnd, StreamingResponseBody body) {
+        return new ContentDownload(metadata, rangeStart, rangeEnd, true, true, body);
+    }
+
+    public static ContentDownload unsatisfiable(FileMetadata metadata) {
+        return new ContentDownload(metadata, 0, -1, false, false, null);
+    }
+
+    public long getContentLength() {
+        return satisfiable ? rangeEnd - rangeStart + 1 : 0;
+    }
+
+    public ResponseEntity<StreamingResponseBody> toResponseEntity() {
+
+        if (!satisfiable) {
+            return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                    .header(HttpHeaders.CONTENT_RANGE, "bytes */" + metadata.getSize())
+                    .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(partial ? HttpStatus.PARTIAL_CONTENT : HttpStatus.OK)
+                .contentType(MediaType.parseMediaType(metadata.getMimeType()))
+                .contentLength(getContentLength())
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        if (partial) {
+            response.header(HttpHeaders.CONTENT_RANGE, "bytes " + rangeStart + "-" + rangeEnd + "/" + metadata.getSize());
+        }
+
+        if (metadata.getEtag() != null) {
+            response.eTag(metadata.getEtag());
+        }
+
+        if (metadata.getLastModified() != null) {
+            response.lastModified(metadata.getLastModified());
+        }
+
+        return response.body(body);
+
+    }
+
+}
@@ -4,10 +4,14 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.ZonedDateTime;
+
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-public class FileData {
-    private byte[] bytes;
+public class FileMetadata {
     private String mimeType;
+    private long size;
+    private String etag;
+    private ZonedDateTime lastModified;
 }
@@ -0,0 +1,7 @@
+package senai.com.ava_senai.exception;
+
+public class PasswordHashingBusyException extends RuntimeException {
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,95 @@
+package senai.com.ava_senai.handler.requesthandler.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Registra em http.server.requests.queries quantos comandos SQL cada requisição executou, por endpoint.
+ * Corpos de resposta em streaming rodam em outra thread e não entram na contagem.
+ */
+@Component
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryCountFilter.class);
+
+    private final QueryCountInspector queryCountInspector;
+
+    private final MeterRegistry meterRegistry;
+
+    // acima disso a requisição é logada, normalmente é um N+1
+    @Value("${metrics.query-count.warn-threshold:50}")
+    private long warnThreshold;
+
+    public QueryCountFilter(QueryCountInspector queryCountInspector, MeterRegistry meterRegistry) {
+        this.queryCountInspector = queryCountInspector;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        queryCountInspector.start();
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+
+            long queries = queryCountInspector.stop();
+
+            String uri = uriPattern(request);
+            String handler = handlerName(request);
+
+            DistributionSummary.builder("http.server.requests.queries")
+                    .description("Comandos SQL executados por requisição")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .tag("handler", handler)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(queries);
+
+            if (queries > warnThreshold) {
+                logger.warn("{} {} ({}) executed {} SQL statements", request.getMethod(), uri, handler, queries);
+            }
+
+        }
+
+    }
+
+    public static String uriPattern(HttpServletRequest request) {
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+
+    }
+
+    public static String handlerName(HttpServletRequest request) {
+
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+
+        if (handler instanceof HandlerMethod handlerMethod) {
+            return handlerMethod.getBeanType().getSimpleName() + "#" + handlerMethod.getMethod().getName();
+        }
+
+        return "none";
+
+    }
+
+}
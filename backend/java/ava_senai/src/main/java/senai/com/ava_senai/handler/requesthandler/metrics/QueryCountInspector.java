@@ -0,0 +1,42 @@
+package senai.com.ava_senai.handler.requesthandler.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+/**
+ * Conta os comandos SQL preparados pelo Hibernate na thread atual, entre {@link #start()} e {@link #stop()}.
+ * Fora desse intervalo (consumidores, tarefas agendadas) nada é contado.
+ */
+@Component
+public class QueryCountInspector implements StatementInspector {
+
+    private final ThreadLocal<long[]> counter = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+
+        long[] count = counter.get();
+
+        if (count != null) {
+            count[0]++;
+        }
+
+        return sql;
+
+    }
+
+    public void start() {
+        counter.set(new long[1]);
+    }
+
+    public long stop() {
+
+        long[] count = counter.get();
+
+        counter.remove();
+
+        return count == null ? 0 : count[0];
+
+    }
+
+}
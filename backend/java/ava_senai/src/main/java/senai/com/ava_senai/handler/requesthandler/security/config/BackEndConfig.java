@@ -2,6 +2,7 @@ package senai.com.ava_senai.handler.requesthandler.security.config;
 
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -14,7 +15,6 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
@@ -22,6 +22,7 @@ import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import senai.com.ava_senai.handler.requesthandler.security.jwt.AuthTokenFilter;
 import senai.com.ava_senai.handler.requesthandler.security.jwt.JwtAuthEntryPoint;
+import senai.com.ava_senai.handler.requesthandler.security.password.BoundedPasswordEncoder;
 import senai.com.ava_senai.handler.requesthandler.security.user.AuthyUserDetailsService;
 
 import java.util.List;
@@ -35,6 +36,20 @@ public class BackEndConfig {
     private final AuthyUserDetailsService userDetailsService;
     private final JwtAuthEntryPoint authEntryPoint;
 
+    // custo do BCrypt; ao aumentar, as senhas antigas são refeitas no próximo login
+    @Value("${auth.password.bcrypt-strength:10}")
+    private int bcryptStrength;
+
+    // 0 usa o número de processadores
+    @Value("${auth.password.max-concurrent:0}")
+    private int maxConcurrentHashes;
+
+    @Value("${auth.password.max-waiting:64}")
+    private int maxWaitingHashes;
+
+    @Value("${auth.password.acquire-timeout-ms:2000}")
+    private long hashAcquireTimeoutMs;
+
     private static final List<String> SECURED_URLS =
             List.of( "/api/v1/turma/**",
                     "/api/v1/atividades/**",
@@ -57,8 +72,13 @@ public class BackEndConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder() {
+
+        int maxConcurrent = maxConcurrentHashes > 0 ? maxConcurrentHashes : Runtime.getRuntime().availableProcessors();
+
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(bcryptStrength), maxConcurrent, maxWaitingHashes,
+                hashAcquireTimeoutMs);
+
     }
 
     @Bean
@@ -79,6 +99,7 @@ public class BackEndConfig {
 
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setUserDetailsPasswordService(userDetailsService);
 
         return authProvider;
 
@@ -93,6 +114,8 @@ public class BackEndConfig {
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasAuthority("ADMIN")
                         .requestMatchers(HttpMethod.POST, SECURED_URLS.toArray(String[]::new)).authenticated()
                         .requestMatchers(HttpMethod.DELETE, SECURED_URLS.toArray(String[]::new)).authenticated()
                         .requestMatchers(HttpMethod.PUT, SECURED_URLS.toArray(String[]::new)).authenticated()
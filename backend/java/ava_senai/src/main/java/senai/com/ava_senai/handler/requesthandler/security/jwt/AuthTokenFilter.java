@@ -1,16 +1,20 @@
 package senai.com.ava_senai.handler.requesthandler.security.jwt;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextRepository;
 import org.springframework.util.AntPathMatcher;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -21,12 +25,29 @@ import java.io.IOException;
 
 public class AuthTokenFilter  extends OncePerRequestFilter {
 
+    private static final String[] PUBLIC_PATHS = {
+            "/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html"
+    };
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
     @Autowired
     private JwtUtils jwtUtils;
 
     @Autowired
     private AuthyUserDetailsService userDetailsService;
 
+    @Autowired
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    // quando ligado, o principal vem das claims do token e o banco só é lido para a versão do token
+    @Value("${auth.claims-trusted.enabled:false}")
+    private boolean claimsTrusted;
+
+    private final SecurityContextRepository securityContextRepository = new RequestAttributeSecurityContextRepository();
+
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request,
                                     @NonNull HttpServletResponse response,
@@ -35,14 +56,8 @@ public class AuthTokenFilter  extends OncePerRequestFilter {
 
             String uri = request.getRequestURI();
 
-            String[] PUBLIC_PATHS = {
-                    "/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html"
-            };
-
-            AntPathMatcher PM = new AntPathMatcher();
-
             for (String p : PUBLIC_PATHS) {
-                if (PM.match(p, uri)){
+                if (PATH_MATCHER.match(p, uri)){
                     filterChain.doFilter(request, response);
                     return;
                 }
@@ -50,16 +65,28 @@ public class AuthTokenFilter  extends OncePerRequestFilter {
 
             String jwt = parseJwt(request);
 
-            if (StringUtils.hasText(jwt) && jwtUtils.validateToken(jwt)) {
+            if (StringUtils.hasText(jwt)) {
+
+                Claims claims = jwtUtils.parseClaims(jwt);
 
-                String username = jwtUtils.getUsernameFromToken(jwt);
+                Long userId = claims.get("id", Long.class);
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                if (!tokenVersionRegistry.isCurrent(userId, claims.get("ver", Integer.class))) {
+                    throw new JwtException("Token revogado");
+                }
+
+                UserDetails userDetails = claimsTrusted
+                        ? jwtUtils.buildUserDetails(claims)
+                        : userDetailsService.loadUserByToken(userId, claims.getSubject());
 
                 UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
 
                 SecurityContextHolder.getContext().setAuthentication(auth);
 
+                // guardado também na requisição: respostas em streaming terminam num dispatch ASYNC em que este
+                // filtro não roda, e o SecurityContextHolderFilter restaura o usuário a partir daqui
+                securityContextRepository.saveContext(SecurityContextHolder.getContext(), request, response);
+
             }
 
         } catch (JwtException e) {
@@ -97,7 +124,7 @@ public class AuthTokenFilter  extends OncePerRequestFilter {
         response.setStatus(status);
         response.setContentType("application/json");
         ApiResponse apiResponse = new ApiResponse(userMessage, technicalMessage);
-        response.getWriter().write(new ObjectMapper().writeValueAsString(apiResponse));
+        response.getWriter().write(OBJECT_MAPPER.writeValueAsString(apiResponse));
     }
 
 
@@ -4,16 +4,25 @@ import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
+import senai.com.ava_senai.domain.course.institution.Institution;
 import senai.com.ava_senai.domain.user.UserJWTDTO;
+import senai.com.ava_senai.domain.user.UserStatus;
+import senai.com.ava_senai.domain.user.role.Role;
 import senai.com.ava_senai.handler.requesthandler.security.user.AuthyUserDetails;
 import senai.com.ava_senai.services.user.UserService;
 
 import java.security.Key;
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Component
@@ -49,43 +58,38 @@ public class JwtUtils {
                         userPrincipal.getRole(),
                         userPrincipal.getInstitution().getInstitutionName(),
                         userPrincipal.getCpf()))
+                .claim("ver", userPrincipal.getTokenVersion())
                 .setIssuedAt(new Date())
                 .setExpiration(new Date((new Date()).getTime() + expirationTime))
                 .signWith(key(), SignatureAlgorithm.HS256).compact();
 
     }
 
-    private Key key() {
-        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
-    }
+    // chave e parser são imutáveis e thread-safe, montados uma vez em vez de a cada requisição
+    private Key signingKey;
 
-    public String getUsernameFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key())
-                .build()
-                .parseClaimsJws(token)
-                .getBody().getSubject();
+    private JwtParser jwtParser;
+
+    @PostConstruct
+    void init() {
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
     }
 
-    public Long getIDInstitutionFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .get("idInstitution", Long.class);
+    private Key key() {
+        return signingKey;
     }
 
-    public boolean validateToken(String token) {
+    /**
+     * Valida o token e retorna suas claims numa única leitura.
+     */
+    public Claims parseClaims(String token) {
 
         try {
 
-            Jwts.parserBuilder()
-                    .setSigningKey(key())
-                    .build()
-                    .parseClaimsJws(token);
-
-            return true;
+            return jwtParser.parseClaimsJws(token).getBody();
 
         } catch (ExpiredJwtException | UnsupportedJwtException | MalformedJwtException | SignatureException
                 | IllegalArgumentException e) {
@@ -94,4 +98,50 @@ public class JwtUtils {
 
     }
 
+    /**
+     * Monta o principal a partir das claims de um token já validado, sem consultar o banco. A senha fica nula.
+     */
+    public AuthyUserDetails buildUserDetails(Claims claims) {
+
+        Map<?, ?> user = Optional.ofNullable(claims.get("user", Map.class)).orElse(Map.of());
+        Map<?, ?> roleClaim = Optional.ofNullable((Map<?, ?>) user.get("role")).orElse(Map.of());
+
+        Role role = new Role(Objects.toString(roleClaim.get("name"), claims.get("role", String.class)));
+        role.setId(roleClaim.get("id") instanceof Number id ? id.longValue() : null);
+
+        Institution institution = new Institution();
+        institution.setId(claims.get("idEntity", Long.class));
+        institution.setInstitutionName((String) user.get("institutionName"));
+
+        return new AuthyUserDetails(
+                claims.get("id", Long.class),
+                claims.getSubject(),
+                null,
+                (String) user.get("nome"),
+                institution.getId(),
+                user.get("status") != null ? UserStatus.valueOf(user.get("status").toString()) : null,
+                List.of(new SimpleGrantedAuthority(claims.get("role", String.class))),
+                role,
+                institution,
+                (String) user.get("cpf"),
+                Optional.ofNullable(claims.get("ver", Integer.class)).orElse(0));
+
+    }
+
+    public String getUsernameFromToken(String token) {
+        return parseClaims(token).getSubject();
+    }
+
+    public Long getIDInstitutionFromToken(String token) {
+        return parseClaims(token).get("idInstitution", Long.class);
+    }
+
+    public boolean validateToken(String token) {
+
+        parseClaims(token);
+
+        return true;
+
+    }
+
 }
@@ -0,0 +1,64 @@
+package senai.com.ava_senai.handler.requesthandler.security.jwt;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import senai.com.ava_senai.domain.user.User;
+import senai.com.ava_senai.repository.UserRepository;
+import senai.com.ava_senai.util.AfterCommit;
+
+import java.time.Duration;
+
+/**
+ * Versão atual dos tokens de cada usuário (coluna users.token_version), mantida em memória por um curto período.
+ * Um token só é aceito no modo claims-trusted se carregar a mesma versão.
+ */
+@Component
+public class TokenVersionRegistry {
+
+    private final UserRepository userRepository;
+
+    private final LoadingCache<Long, Integer> versions;
+
+    public TokenVersionRegistry(UserRepository userRepository,
+                                @Value("${auth.token-version.max-size:10000}") long maxSize,
+                                @Value("${auth.token-version.ttl-seconds:30}") long ttlSeconds) {
+
+        this.userRepository = userRepository;
+        // o ttl limita quanto tempo outra instância leva para enxergar uma revogação
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build(this::loadVersion);
+
+    }
+
+    public int currentVersion(Long userId) {
+        return versions.get(userId);
+    }
+
+    public boolean isCurrent(Long userId, Integer tokenVersion) {
+        return userId != null && currentVersion(userId) == (tokenVersion == null ? 0 : tokenVersion);
+    }
+
+    /**
+     * Incrementa a versão na entidade, invalidando os tokens já emitidos assim que a transação for confirmada.
+     * A entidade ainda precisa ser salva por quem chamou.
+     */
+    public void revoke(User user) {
+
+        user.setTokenVersion((user.getTokenVersion() == null ? 0 : user.getTokenVersion()) + 1);
+
+        versions.invalidate(user.getId());
+
+        AfterCommit.run(() -> versions.invalidate(user.getId()));
+
+    }
+
+    private Integer loadVersion(Long userId) {
+        // usuário inexistente recebe uma versão que nenhum token carrega
+        return userRepository.findTokenVersionById(userId).orElse(-1);
+    }
+
+}
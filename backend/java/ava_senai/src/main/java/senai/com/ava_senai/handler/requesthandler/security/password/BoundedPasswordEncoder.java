@@ -0,0 +1,94 @@
+package senai.com.ava_senai.handler.requesthandler.security.password;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+import senai.com.ava_senai.exception.PasswordHashingBusyException;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Limita quantos hashes BCrypt rodam ao mesmo tempo. O hash roda na própria thread da requisição depois de
+ * conseguir uma permissão; quem passa de maxWaiting ou não consegue a permissão em acquireTimeoutMs recebe
+ * {@link PasswordHashingBusyException} em vez de segurar mais uma thread do Tomcat.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+
+    // hashes em execução
+    private final Semaphore running;
+
+    // requisições executando ou aguardando uma permissão
+    private final Semaphore admitted;
+
+    private final long acquireTimeoutMs;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int maxConcurrent, int maxWaiting, long acquireTimeoutMs) {
+
+        this.delegate = delegate;
+        this.running = new Semaphore(Math.max(maxConcurrent, 1));
+        this.admitted = new Semaphore(Math.max(maxConcurrent, 1) + Math.max(maxWaiting, 0));
+        this.acquireTimeoutMs = acquireTimeoutMs;
+
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return bounded(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return bounded(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Para trabalhos em segundo plano (importação): disputa as mesmas permissões, mas espera o tempo que for
+     * preciso em vez de falhar.
+     */
+    public String encodeInBackground(CharSequence rawPassword) {
+
+        running.acquireUninterruptibly();
+
+        try {
+            return delegate.encode(rawPassword);
+        } finally {
+            running.release();
+        }
+
+    }
+
+    private <T> T bounded(Supplier<T> hash) {
+
+        if (!admitted.tryAcquire()) {
+            throw new PasswordHashingBusyException("Muitas requisições de autenticação, tente novamente em instantes");
+        }
+
+        try {
+
+            if (!running.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new PasswordHashingBusyException("Muitas requisições de autenticação, tente novamente em instantes");
+            }
+
+            try {
+                return hash.get();
+            } finally {
+                running.release();
+            }
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingBusyException("Requisição interrompida aguardando o hash da senha");
+        } finally {
+            admitted.release();
+        }
+
+    }
+
+}
@@ -31,6 +31,7 @@ public class AuthyUserDetails implements UserDetails {
     private Role role;
     private Institution institution;
     private String cpf;
+    private Integer tokenVersion;
 
     public static AuthyUserDetails buildUserDetails(User user) {
 
@@ -46,7 +47,8 @@ public class AuthyUserDetails implements UserDetails {
                 authorities,
                 user.getRole(),
                 user.getInstitution(),
-                user.getCpf());
+                user.getCpf(),
+                user.getTokenVersion() == null ? 0 : user.getTokenVersion());
 
     }
 
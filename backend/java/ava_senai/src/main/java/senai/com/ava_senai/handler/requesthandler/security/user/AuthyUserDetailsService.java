@@ -1,22 +1,42 @@
 package senai.com.ava_senai.handler.requesthandler.security.user;
 
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import senai.com.ava_senai.domain.user.User;
 import senai.com.ava_senai.repository.UserRepository;
+import senai.com.ava_senai.util.AfterCommit;
 
+import java.time.Duration;
+import java.util.Objects;
 import java.util.Optional;
 
 
 @Service
-@RequiredArgsConstructor
-public class AuthyUserDetailsService implements UserDetailsService {
+public class AuthyUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
+    // usuários autenticados por token, por id; evita uma consulta em users a cada requisição
+    private final Cache<Long, AuthyUserDetails> tokenUsers;
+
+    public AuthyUserDetailsService(UserRepository userRepository,
+                                   @Value("${auth.user-cache.max-size:10000}") long maxSize,
+                                   @Value("${auth.user-cache.ttl-seconds:300}") long ttlSeconds) {
+
+        this.userRepository = userRepository;
+        this.tokenUsers = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+
+    }
+
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
 
@@ -27,4 +47,56 @@ public class AuthyUserDetailsService implements UserDetailsService {
 
     }
 
+    /**
+     * Chamado no login quando o hash guardado usa um custo menor que auth.password.bcrypt-strength, já com o
+     * novo hash da senha informada.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+
+        AuthyUserDetails userDetails = (AuthyUserDetails) user;
+
+        if (userRepository.updatePasswordHash(newPassword, userDetails.getId(), userDetails.getPassword()) > 0) {
+            userDetails.setSenha(newPassword);
+            evict(userDetails.getId());
+        }
+
+        return userDetails;
+
+    }
+
+    /**
+     * Resolve o usuário de um token já validado. O resultado fica em cache (sem a senha) até expirar ou até
+     * {@link #evict(Long)}; o email deve continuar igual ao subject do token.
+     */
+    public AuthyUserDetails loadUserByToken(Long userId, String email) throws UsernameNotFoundException {
+
+        AuthyUserDetails userDetails = userId == null ? null : tokenUsers.get(userId, id -> userRepository.findById(id)
+                .map(user -> {
+                    AuthyUserDetails details = AuthyUserDetails.buildUserDetails(user);
+                    details.setSenha(null);
+                    return details;
+                })
+                .orElse(null));
+
+        if (userDetails == null || !Objects.equals(userDetails.getEmail(), email)) {
+            throw new UsernameNotFoundException("User not found!");
+        }
+
+        return userDetails;
+
+    }
+
+    /**
+     * Remove o usuário do cache agora e, dentro de uma transação, de novo após o commit, para que uma
+     * requisição concorrente não guarde os dados anteriores à alteração.
+     */
+    public void evict(Long userId) {
+
+        tokenUsers.invalidate(userId);
+
+        AfterCommit.run(() -> tokenUsers.invalidate(userId));
+
+    }
+
 }
@@ -1,12 +1,14 @@
 package senai.com.ava_senai.handler.responsehandler;
 
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import senai.com.ava_senai.exception.NotFoundException;
 import senai.com.ava_senai.exception.NullListException;
+import senai.com.ava_senai.exception.PasswordHashingBusyException;
 import senai.com.ava_senai.exception.Validation;
 
 @ControllerAdvice
@@ -27,4 +29,11 @@ public class ResponseHandler {
         return new ResponseEntity<>(ex.getMessage(), HttpStatus.valueOf(404));
     }
 
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<Object> handlePasswordHashingBusyException(PasswordHashingBusyException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ex.getMessage());
+    }
+
 }
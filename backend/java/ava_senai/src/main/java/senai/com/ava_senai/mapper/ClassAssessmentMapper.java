@@ -1,25 +1,34 @@
 package senai.com.ava_senai.mapper;
 
 import org.springframework.stereotype.Component;
-import org.springframework.util.CollectionUtils;
 import senai.com.ava_senai.domain.course.clazz.Class;
 import senai.com.ava_senai.domain.course.clazz.classassessment.*;
-import senai.com.ava_senai.domain.task.Task;
-import senai.com.ava_senai.domain.task.feedback.Feedback;
 import senai.com.ava_senai.domain.task.feedback.FeedbackResponseDTO;
-import senai.com.ava_senai.domain.task.taskuser.TaskUser;
-import senai.com.ava_senai.domain.task.userresponse.UserResponse;
+import senai.com.ava_senai.domain.task.userresponse.UserResponseResponseDTO;
 import senai.com.ava_senai.domain.task.userresponsecontent.UserResponseContentDTO;
-import senai.com.ava_senai.domain.user.User;
+import senai.com.ava_senai.domain.user.UserResponseDTO;
+import senai.com.ava_senai.domain.user.role.Role;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Monta a avaliação da turma a partir das linhas achatadas de {@code UserRepository.findClassAssessmentRows}
+ * (ordenadas por aluno) e dos anexos de {@code UserResponseContentRepository.findClassAssessmentContentRows}.
+ *
+ * Volume: uma linha por tarefa atribuída a cada aluno (60 alunos x 300 tarefas = 18.000 linhas) mais uma
+ * linha por anexo. Cada lista é percorrida uma única vez; o pico de memória é o das duas listas de linhas
+ * mais o DTO de saída, sem o grafo de entidades nem o produto cartesiano dos fetch-joins.
+ */
 @Component
 public class ClassAssessmentMapper implements IClassAssessmentMapper {
 
     @Override
-    public ClassAssessmentResponseDTO mapClassAssessment(Class clazz, List<User> users) {
+    public ClassAssessmentResponseDTO mapClassAssessment(Class clazz, List<ClassAssessmentRowDTO> rows,
+                                                         List<UserResponseContentRowDTO> contentRows, Map<Long, UserResponseDTO> teachers) {
 
         ClassAssessmentResponseDTO classAssessmentResponseDTO = new ClassAssessmentResponseDTO();
 
@@ -31,35 +40,38 @@ public class ClassAssessmentMapper implements IClassAssessmentMapper {
         classAssessmentResponseDTO.setSemester(clazz.getSemester());
         classAssessmentResponseDTO.setCode(clazz.getCode());
         classAssessmentResponseDTO.setCourse(mapCourse(clazz));
-        classAssessmentResponseDTO.setUsers(mapUserAssessment(users));
+        classAssessmentResponseDTO.setUsers(mapUserAssessment(rows, contentRows, teachers));
 
         return classAssessmentResponseDTO;
 
     }
 
     @Override
-    public List<UserAssessmentDTO> mapUserAssessment(List<User> users) {
+    public List<UserAssessmentDTO> mapUserAssessment(List<ClassAssessmentRowDTO> rows, List<UserResponseContentRowDTO> contentRows,
+                                                     Map<Long, UserResponseDTO> teachers) {
 
         List<UserAssessmentDTO> usersAssessmentDTO = new ArrayList<>();
 
-        if (!CollectionUtils.isEmpty(users)) {
+        if (rows == null || rows.isEmpty()) {
+            return usersAssessmentDTO;
+        }
 
-            users.forEach(user -> {
+        Map<Long, List<UserResponseContentDTO>> contentsByResponse = groupContents(contentRows);
+        Map<Long, Role> roles = new HashMap<>();
 
-                UserAssessmentDTO userAssessmentDTO = new UserAssessmentDTO();
+        UserAssessmentDTO current = null;
 
-                userAssessmentDTO.setId(user.getId());
-                userAssessmentDTO.setEmail(user.getEmail());
-                userAssessmentDTO.setNome(user.getName());
-                userAssessmentDTO.setStatus(user.getUserStatus());
-                userAssessmentDTO.setRole(user.getRole());
-                userAssessmentDTO.setInstitutionName(user.getInstitution().getInstitutionName());
-                userAssessmentDTO.setCpf(user.getCpf());
-                userAssessmentDTO.setTasksAssessment(mapUserTaskAssessment(user));
+        for (ClassAssessmentRowDTO row : rows) {
 
-                usersAssessmentDTO.add(userAssessmentDTO);
+            // linhas ordenadas por aluno: uma troca de id inicia o próximo aluno
+            if (current == null || !Objects.equals(current.getId(), row.userId())) {
+                current = mapUser(row, roles);
+                usersAssessmentDTO.add(current);
+            }
 
-            });
+            if (row.taskUserId() != null) {
+                current.getTasksAssessment().add(mapTaskUser(row, contentsByResponse, teachers));
+            }
 
         }
 
@@ -68,119 +80,107 @@ public class ClassAssessmentMapper implements IClassAssessmentMapper {
     }
 
     @Override
-    public List<TaskUserAssessmentDTO> mapUserTaskAssessment(User user) {
-
-        List<TaskUserAssessmentDTO> tasksAssessmentDTO = new ArrayList<>();
-
-        if (!CollectionUtils.isEmpty(user.getTaskUsers())) {
+    public ClassAssessmentResponseDTO.CourseSimpleResponseDTO mapCourse(Class clazz) {
 
-            user.getTaskUsers().forEach(taskUser -> {
+        ClassAssessmentResponseDTO.CourseSimpleResponseDTO courseSimpleResponseDTO = null;
 
-                TaskUserAssessmentDTO taskUserAssessmentDTO = new TaskUserAssessmentDTO();
+        if (clazz.getCourse() != null) {
 
-                taskUserAssessmentDTO.setTaskId(taskUser.getTaskId());
-                taskUserAssessmentDTO.setIdUser(taskUser.getUserId());
-                taskUserAssessmentDTO.setId(taskUser.getId());
-                taskUserAssessmentDTO.setTask(mapTaskAssessment(taskUser.getTask()));
-                taskUserAssessmentDTO.setUserResponse(mapUserResponse(taskUser));
-                taskUserAssessmentDTO.setFeedback(mapFeedback(taskUser));
-                tasksAssessmentDTO.add(taskUserAssessmentDTO);
+            courseSimpleResponseDTO = new ClassAssessmentResponseDTO.CourseSimpleResponseDTO();
 
-            });
+            courseSimpleResponseDTO.setName(clazz.getCourse().getName());
+            courseSimpleResponseDTO.setId(clazz.getCourse().getId());
 
         }
 
-        return tasksAssessmentDTO;
+        return courseSimpleResponseDTO;
 
     }
 
-    @Override
-    public TaskAssessmentDTO mapTaskAssessment(Task task) {
+    private UserAssessmentDTO mapUser(ClassAssessmentRowDTO row, Map<Long, Role> roles) {
 
-        TaskAssessmentDTO taskAssessmentDTO = null;
+        UserAssessmentDTO userAssessmentDTO = new UserAssessmentDTO();
 
-        if (task != null) {
-            taskAssessmentDTO = new TaskAssessmentDTO();
-            taskAssessmentDTO.setId(task.getId());
-            taskAssessmentDTO.setName(task.getName());
-            taskAssessmentDTO.setDescription(task.getDescription());
-            taskAssessmentDTO.setDueDate(task.getDueDate());
-            taskAssessmentDTO.setKnowledgeTrailId(task.getKnowledgeTrailId());
-        }
+        userAssessmentDTO.setId(row.userId());
+        userAssessmentDTO.setEmail(row.email());
+        userAssessmentDTO.setNome(row.name());
+        userAssessmentDTO.setStatus(row.userStatus());
+        userAssessmentDTO.setRole(roles.computeIfAbsent(row.roleId(), roleId -> {
+            Role role = new Role(row.roleName());
+            role.setId(roleId);
+            return role;
+        }));
+        userAssessmentDTO.setInstitutionName(row.institutionName());
+        userAssessmentDTO.setCpf(row.cpf());
+        userAssessmentDTO.setTasksAssessment(new ArrayList<>());
 
-        return taskAssessmentDTO;
+        return userAssessmentDTO;
 
     }
 
-    @Override
-    public FeedbackResponseDTO mapFeedback(TaskUser taskUser) {
+    private TaskUserAssessmentDTO mapTaskUser(ClassAssessmentRowDTO row, Map<Long, List<UserResponseContentDTO>> contentsByResponse,
+                                              Map<Long, UserResponseDTO> teachers) {
 
-        FeedbackResponseDTO feedbackResponseDTO = null;
+        TaskUserAssessmentDTO taskUserAssessmentDTO = new TaskUserAssessmentDTO();
 
-        if (taskUser.getUserResponse() != null && taskUser.getUserResponse().getFeedback() != null) {
+        taskUserAssessmentDTO.setTaskId(row.taskId());
+        taskUserAssessmentDTO.setIdUser(row.userId());
+        taskUserAssessmentDTO.setId(row.taskUserId());
+        taskUserAssessmentDTO.setTask(mapTask(row));
 
-            Feedback feedback = taskUser.getUserResponse().getFeedback();
+        if (row.userResponseId() != null) {
 
-            feedbackResponseDTO = new FeedbackResponseDTO(feedback);
+            UserResponseAssessmentDTO userResponseAssessmentDTO = new UserResponseAssessmentDTO();
+            userResponseAssessmentDTO.setId(row.userResponseId());
+            userResponseAssessmentDTO.setComment(row.userResponseComment());
+            userResponseAssessmentDTO.setContents(contentsByResponse.getOrDefault(row.userResponseId(), new ArrayList<>()));
 
-        }
-
-        return feedbackResponseDTO;
+            taskUserAssessmentDTO.setUserResponse(userResponseAssessmentDTO);
 
-    }
-
-    @Override
-    public UserResponseAssessmentDTO mapUserResponse(TaskUser taskUser) {
-
-        UserResponseAssessmentDTO userResponseAssessmentDTO = null;
-
-        if (taskUser.getUserResponse() != null) {
-
-            UserResponse userResponse = taskUser.getUserResponse();
-
-            userResponseAssessmentDTO = new UserResponseAssessmentDTO();
-            userResponseAssessmentDTO.setId(userResponse.getId());
-            userResponseAssessmentDTO.setComment(userResponse.getComment());
-            userResponseAssessmentDTO.setContents(mapUserResponseContents(userResponse));
+            if (row.feedbackId() != null) {
+                taskUserAssessmentDTO.setFeedback(new FeedbackResponseDTO(
+                        row.feedbackId(),
+                        teachers.get(row.teacherId()),
+                        new UserResponseResponseDTO(row.userResponseId(), row.userResponseComment()),
+                        row.feedbackComment(),
+                        row.feedbackGrade()));
+            }
 
         }
 
-        return userResponseAssessmentDTO;
+        return taskUserAssessmentDTO;
 
     }
 
-    @Override
-    public List<UserResponseContentDTO> mapUserResponseContents(UserResponse userResponse) {
-
-        List<UserResponseContentDTO> userResponseContents = new ArrayList<>();
+    private TaskAssessmentDTO mapTask(ClassAssessmentRowDTO row) {
 
-        if (!CollectionUtils.isEmpty(userResponse.getUserResponseContents())) {
-
-            userResponse.getUserResponseContents().forEach(userResponseContent -> {
-                userResponseContents.add(new UserResponseContentDTO(userResponseContent.getContentType(), userResponseContent.getName(), userResponseContent.getContentUrl()));
-            });
+        TaskAssessmentDTO taskAssessmentDTO = null;
 
+        if (row.taskId() != null) {
+            taskAssessmentDTO = new TaskAssessmentDTO();
+            taskAssessmentDTO.setId(row.taskId());
+            taskAssessmentDTO.setName(row.taskName());
+            taskAssessmentDTO.setDescription(row.taskDescription());
+            taskAssessmentDTO.setDueDate(row.taskDueDate());
+            taskAssessmentDTO.setKnowledgeTrailId(row.knowledgeTrailId());
         }
 
-        return userResponseContents;
+        return taskAssessmentDTO;
 
     }
 
-    @Override
-    public ClassAssessmentResponseDTO.CourseSimpleResponseDTO mapCourse(Class clazz) {
-
-        ClassAssessmentResponseDTO.CourseSimpleResponseDTO courseSimpleResponseDTO = null;
-
-        if (clazz.getCourse() != null) {
+    private Map<Long, List<UserResponseContentDTO>> groupContents(List<UserResponseContentRowDTO> contentRows) {
 
-            courseSimpleResponseDTO = new ClassAssessmentResponseDTO.CourseSimpleResponseDTO();
-
-            courseSimpleResponseDTO.setName(clazz.getCourse().getName());
-            courseSimpleResponseDTO.setId(clazz.getCourse().getId());
+        Map<Long, List<UserResponseContentDTO>> contentsByResponse = new HashMap<>();
 
+        if (contentRows != null) {
+            for (UserResponseContentRowDTO contentRow : contentRows) {
+                contentsByResponse.computeIfAbsent(contentRow.userResponseId(), id -> new ArrayList<>())
+                        .add(new UserResponseContentDTO(contentRow.contentType(), contentRow.name(), contentRow.contentUrl()));
+            }
         }
 
-        return courseSimpleResponseDTO;
+        return contentsByResponse;
 
     }
 
@@ -2,22 +2,15 @@ package senai.com.ava_senai.mapper;
 
 import senai.com.ava_senai.domain.course.clazz.Class;
 import senai.com.ava_senai.domain.course.clazz.classassessment.*;
-import senai.com.ava_senai.domain.task.Task;
-import senai.com.ava_senai.domain.task.feedback.FeedbackResponseDTO;
-import senai.com.ava_senai.domain.task.taskuser.TaskUser;
-import senai.com.ava_senai.domain.task.userresponse.UserResponse;
-import senai.com.ava_senai.domain.task.userresponsecontent.UserResponseContentDTO;
-import senai.com.ava_senai.domain.user.User;
+import senai.com.ava_senai.domain.user.UserResponseDTO;
 
 import java.util.List;
+import java.util.Map;
 
 public interface IClassAssessmentMapper {
-    ClassAssessmentResponseDTO mapClassAssessment(Class clazz, List<User> users);
-    List<UserAssessmentDTO> mapUserAssessment(List<User> users);
-    List<TaskUserAssessmentDTO> mapUserTaskAssessment(User user);
-    TaskAssessmentDTO mapTaskAssessment(Task task);
-    FeedbackResponseDTO mapFeedback(TaskUser taskUser);
-    UserResponseAssessmentDTO mapUserResponse(TaskUser taskUser);
-    List<UserResponseContentDTO> mapUserResponseContents(UserResponse userResponse);
+    ClassAssessmentResponseDTO mapClassAssessment(Class clazz, List<ClassAssessmentRowDTO> rows,
+                                                  List<UserResponseContentRowDTO> contentRows, Map<Long, UserResponseDTO> teachers);
+    List<UserAssessmentDTO> mapUserAssessment(List<ClassAssessmentRowDTO> rows, List<UserResponseContentRowDTO> contentRows,
+                                              Map<Long, UserResponseDTO> teachers);
     ClassAssessmentResponseDTO.CourseSimpleResponseDTO mapCourse(Class clazz);
 }
@@ -1,9 +1,16 @@
 package senai.com.ava_senai.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import senai.com.ava_senai.domain.course.clazz.Class;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
 public interface ClassRepository extends JpaRepository<Class, Long> {
     boolean existsByName(String turmaNome);
 
@@ -14,4 +21,44 @@ public interface ClassRepository extends JpaRepository<Class, Long> {
            " WHERE c.id = :classId ")
     Class findClassAssessment(Long classId);
 
+    @Query(" SELECT cls.id FROM KnowledgeTrail kt " +
+           " JOIN kt.section s " +
+           " JOIN s.course co " +
+           " JOIN co.classes cls " +
+           " WHERE kt.id = :knowledgeTrailId " +
+           " AND EXISTS (SELECT 1 FROM SectionClass sc WHERE sc.classId = cls.id AND sc.sectionId = s.id) ")
+    List<Long> findClassIdsByKnowledgeTrailId(Long knowledgeTrailId);
+
+    @Query(" SELECT cls.id FROM KnowledgeTrail kt " +
+           " JOIN kt.section s " +
+           " JOIN s.course co " +
+           " JOIN co.classes cls " +
+           " WHERE kt.id = :knowledgeTrailId " +
+           " AND EXISTS (SELECT 1 FROM SectionClass sc WHERE sc.classId = cls.id AND sc.sectionId = s.id) " +
+           " AND EXISTS (SELECT 1 FROM UserClass uc WHERE uc.classId = cls.id AND uc.userId = :userId) ")
+    List<Long> findClassIdsByUserIdAndKnowledgeTrailId(Long userId, Long knowledgeTrailId);
+
+    @Query(" SELECT cls.id FROM KnowledgeTrail kt " +
+           " JOIN kt.section s " +
+           " JOIN s.course co " +
+           " JOIN co.classes cls " +
+           " WHERE kt.id = :knowledgeTrailId " +
+           " AND co.id = :courseId " +
+           " AND EXISTS (SELECT 1 FROM SectionClass sc WHERE sc.classId = cls.id AND sc.sectionId = s.id) ")
+    List<Long> findClassIdsByCourseIdAndKnowledgeTrailId(Long courseId, Long knowledgeTrailId);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(" SELECT c FROM Class c ORDER BY c.id ")
+    Stream<Class> streamAll();
+
+    @Query(" SELECT DISTINCT c FROM Class c " +
+           " LEFT JOIN FETCH c.course " +
+           " LEFT JOIN FETCH c.sectionClasses sc " +
+           " LEFT JOIN FETCH sc.section " +
+           " WHERE c.id IN :classIds ")
+    List<Class> findWithSectionsByIdIn(Collection<Long> classIds);
+
 }
@@ -1,12 +1,19 @@
 package senai.com.ava_senai.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
 import senai.com.ava_senai.domain.course.Course;
 import senai.com.ava_senai.domain.course.CourseResponseDTO;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface CourseRepository extends JpaRepository<Course, Long> {
     boolean existsByName(String name);
@@ -19,35 +26,41 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
             "WHERE c.id = :id")
     Optional<Course> findCourseWithContentById(Long id);
 
-    @Query(
-            nativeQuery = true,
-            value = " SELECT t.id FROM task t " +
-                    " JOIN knowledge_trail kt ON kt.id = t.knowledge_trail_id " +
-                    " JOIN section s ON s.id = kt.section_id " +
-                    " JOIN course c ON c.id = s.course_id " +
-                    " WHERE c.id = :courseId "
-    )
-    List<Long> findAllTaskIdsByCourseId(Long courseId);
-
-    @Query("SELECT c FROM Course c " +
-            "LEFT JOIN FETCH c.sections s " +
-            "LEFT JOIN FETCH s.knowledgeTrails kt " +
-            "LEFT JOIN FETCH kt.tasks t " +
-            "LEFT JOIN FETCH t.contents tc " +
-            "JOIN User u ON u.id = :userId " +
-            "JOIN u.userClasses uc " +
-            "JOIN Class cl ON cl.id = uc.classId " +
-            "JOIN SectionClass sc ON sc.classId = cl.id AND sc.sectionId = s.id " +
-            "WHERE c.id = :courseId" +
-            " AND EXISTS ( " +
-            "     SELECT 1 FROM TaskUser tu " +
-            "     WHERE tu.userId = :userId " +
-            "     AND tu.taskId = t.id " +
-            " ) ")
-    Optional<Course> findCourseWithContentOfUserById(Long userId, Long courseId);
-
     @Query("SELECT new senai.com.ava_senai.domain.course.CourseResponseDTO(c) FROM Course c " +
             " JOIN c.classes cls" +
             " WHERE cls.id IN :classesIds")
     List<CourseResponseDTO> findAllByClassesIds(List<Long> classesIds);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(" SELECT c FROM Course c ORDER BY c.id ")
+    Stream<Course> streamAll();
+
+    @Query("SELECT COALESCE(c.structureVersion, 0) FROM Course c WHERE c.id = :courseId")
+    Optional<Long> findStructureVersionById(Long courseId);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Course c SET c.structureVersion = COALESCE(c.structureVersion, 0) + 1 WHERE c.id = :courseId")
+    int incrementStructureVersion(Long courseId);
+
+    @Transactional
+    @Modifying
+    @Query(" UPDATE Course c SET c.structureVersion = COALESCE(c.structureVersion, 0) + 1 " +
+           " WHERE c.id IN (SELECT s.courseId FROM Section s WHERE s.id = :sectionId) ")
+    int incrementStructureVersionBySectionId(Long sectionId);
+
+    @Transactional
+    @Modifying
+    @Query(" UPDATE Course c SET c.structureVersion = COALESCE(c.structureVersion, 0) + 1 " +
+           " WHERE c.id IN (SELECT s.courseId FROM KnowledgeTrail kt JOIN kt.section s WHERE kt.id = :knowledgeTrailId) ")
+    int incrementStructureVersionByKnowledgeTrailId(Long knowledgeTrailId);
+
+    @Transactional
+    @Modifying
+    @Query(" UPDATE Course c SET c.structureVersion = COALESCE(c.structureVersion, 0) + 1 " +
+           " WHERE c.id IN (SELECT s.courseId FROM Task t JOIN t.knowledgeTrail kt JOIN kt.section s WHERE t.id IN :taskIds) ")
+    int incrementStructureVersionByTaskIds(Collection<Long> taskIds);
 }
@@ -0,0 +1,34 @@
+package senai.com.ava_senai.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import senai.com.ava_senai.domain.dashboard.DashBoardCounter;
+import senai.com.ava_senai.domain.dashboard.DashBoardCounterType;
+
+public interface DashBoardCounterRepository extends JpaRepository<DashBoardCounter, DashBoardCounterType> {
+
+    // Chamado após o commit de quem alterou os dados, por isso sempre em uma transação própria
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query(nativeQuery = true,
+           value = " UPDATE dashboard_counter SET counter_value = counter_value + :delta, updated_at = now() " +
+                   " WHERE counter_name = :counterName ")
+    int increment(String counterName, long delta);
+
+    // Recalcula todos os contadores a partir das tabelas, criando os que ainda não existem
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query(nativeQuery = true,
+           value = " INSERT INTO dashboard_counter (counter_name, counter_value, updated_at) VALUES " +
+                   " ('TOTAL_ACTIVE_USERS', (SELECT COUNT(*) FROM users usr JOIN roles r ON r.id = usr.role_id WHERE usr.user_status = 0 AND r.role_name = 'STUDENT'), now()), " +
+                   " ('TOTAL_COURSES', (SELECT COUNT(*) FROM course), now()), " +
+                   " ('TOTAL_RANKED_TASKS', (SELECT COUNT(*) FROM task t JOIN knowledge_trail k ON k.ranked = true AND k.id = t.knowledge_trail_id), now()), " +
+                   " ('TOTAL_TASKS', (SELECT COUNT(*) FROM task), now()), " +
+                   " ('TOTAL_TEACHERS', (SELECT COUNT(*) FROM users usr JOIN roles r ON r.id = usr.role_id WHERE usr.user_status = 0 AND r.role_name = 'TEACHER'), now()) " +
+                   " ON CONFLICT (counter_name) DO UPDATE SET counter_value = EXCLUDED.counter_value, updated_at = EXCLUDED.updated_at ")
+    int reconcile();
+
+}
@@ -1,11 +1,15 @@
 package senai.com.ava_senai.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import senai.com.ava_senai.domain.task.knowledgetrail.KnowledgeTrail;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface KnowledgeTrailRepository extends JpaRepository<KnowledgeTrail, Long> {
     boolean existsByNameAndSectionId(String name, Long sectionId);
@@ -38,4 +42,18 @@ public interface KnowledgeTrailRepository extends JpaRepository<KnowledgeTrail,
             " AND EXISTS (SELECT 1 FROM SectionClass sc WHERE sc.classId = cls.id AND sc.sectionId = s.id) ")
     Optional<List<KnowledgeTrail>> findRankedKnowledgeTrailsByClassId(Long classId);
 
+    @Query(" SELECT kt.id FROM KnowledgeTrail kt " +
+           " JOIN kt.section s " +
+           " WHERE s.courseId = :courseId " +
+           " AND kt.ranked = true ")
+    List<Long> findRankedKnowledgeTrailIdsByCourseId(Long courseId);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(" SELECT kt FROM KnowledgeTrail kt ORDER BY kt.id ")
+    Stream<KnowledgeTrail> streamAll();
+
+    boolean existsByIdAndRankedTrue(Long id);
 }
@@ -0,0 +1,84 @@
+package senai.com.ava_senai.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+import senai.com.ava_senai.domain.ranking.RankingScore;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+public interface RankingScoreRepository extends JpaRepository<RankingScore, Long> {
+
+    // Alunos que sairam da turma continuam com a linha até a próxima atualização, por isso o filtro de matrícula.
+    // Empates na pontuação ficam na ordem do aluno para a posição não mudar entre leituras
+    @Query(" SELECT rs FROM RankingScore rs " +
+           " WHERE rs.classId = :classId " +
+           " AND rs.knowledgeTrailId IN :knowledgeTrailIds " +
+           " AND EXISTS (SELECT 1 FROM UserClass uc WHERE uc.classId = rs.classId AND uc.userId = rs.userId) " +
+           " ORDER BY rs.knowledgeTrailId, rs.pointsEarned DESC, rs.userId ")
+    List<RankingScore> findClassRanking(Long classId, Collection<Long> knowledgeTrailIds);
+
+    // Insere ou atualiza a linha do aluno em um único comando, seguro com atualizações concorrentes da mesma linha
+    @Transactional
+    @Modifying
+    @Query(nativeQuery = true,
+           value = " INSERT INTO ranking_score (class_id, knowledge_trail_id, user_id, user_name, conclusion_percent, tasks_sent, " +
+                   "        tasks_reviewed, total_tasks, medium_grade, last_response_date, points_earned, updated_at) " +
+                   " VALUES (:classId, :knowledgeTrailId, :userId, CAST(:userName AS varchar), CAST(:conclusionPercent AS double precision), " +
+                   "         CAST(:tasksSent AS integer), CAST(:tasksReviewed AS integer), CAST(:totalTasks AS integer), " +
+                   "         CAST(:mediumGrade AS double precision), CAST(:lastResponseDate AS timestamp), :pointsEarned, now()) " +
+                   " ON CONFLICT (class_id, knowledge_trail_id, user_id) DO UPDATE SET " +
+                   "     user_name = EXCLUDED.user_name, " +
+                   "     conclusion_percent = EXCLUDED.conclusion_percent, " +
+                   "     tasks_sent = EXCLUDED.tasks_sent, " +
+                   "     tasks_reviewed = EXCLUDED.tasks_reviewed, " +
+                   "     total_tasks = EXCLUDED.total_tasks, " +
+                   "     medium_grade = EXCLUDED.medium_grade, " +
+                   "     last_response_date = EXCLUDED.last_response_date, " +
+                   "     points_earned = EXCLUDED.points_earned, " +
+                   "     updated_at = EXCLUDED.updated_at ")
+    void upsertScore(Long classId, Long knowledgeTrailId, Long userId, String userName, Double conclusionPercent,
+                     Integer tasksSent, Integer tasksReviewed, Integer totalTasks, Double mediumGrade,
+                     Date lastResponseDate, Double pointsEarned);
+
+    @Transactional
+    @Modifying
+    @Query(" DELETE FROM RankingScore rs " +
+           " WHERE rs.classId = :classId " +
+           " AND rs.knowledgeTrailId = :knowledgeTrailId " +
+           " AND rs.userId = :userId ")
+    void deleteUserScore(Long classId, Long knowledgeTrailId, Long userId);
+
+    @Transactional
+    @Modifying
+    @Query(" DELETE FROM RankingScore rs WHERE rs.knowledgeTrailId = :knowledgeTrailId ")
+    void deleteKnowledgeTrailScores(Long knowledgeTrailId);
+
+    // Remove da turma os alunos que não estão mais no ranking recalculado
+    @Transactional
+    @Modifying
+    @Query(" DELETE FROM RankingScore rs " +
+           " WHERE rs.classId = :classId " +
+           " AND rs.knowledgeTrailId = :knowledgeTrailId " +
+           " AND rs.userId NOT IN :userIds ")
+    void deleteClassScoresExcept(Long classId, Long knowledgeTrailId, Collection<Long> userIds);
+
+    @Transactional
+    @Modifying
+    @Query(" DELETE FROM RankingScore rs " +
+           " WHERE rs.classId = :classId " +
+           " AND rs.knowledgeTrailId = :knowledgeTrailId ")
+    void deleteClassScores(Long classId, Long knowledgeTrailId);
+
+    // Turmas que deixaram de ter a seção da trilha
+    @Transactional
+    @Modifying
+    @Query(" DELETE FROM RankingScore rs " +
+           " WHERE rs.knowledgeTrailId = :knowledgeTrailId " +
+           " AND rs.classId NOT IN :classIds ")
+    void deleteKnowledgeTrailScoresOutsideClasses(Long knowledgeTrailId, Collection<Long> classIds);
+
+}
@@ -1,9 +1,14 @@
 package senai.com.ava_senai.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import senai.com.ava_senai.domain.course.section.Section;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface SectionRepository extends JpaRepository<Section, Long> {
     boolean existsByName(String name);
@@ -11,4 +16,11 @@ public interface SectionRepository extends JpaRepository<Section, Long> {
     boolean existsByNameAndCourseId(String name, Long courseId);
 
     List<Section> findByNameAndCourseId(String name, Long courseId);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(" SELECT s FROM Section s ORDER BY s.id ")
+    Stream<Section> streamAll();
 }
@@ -1,10 +1,13 @@
 package senai.com.ava_senai.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 import senai.com.ava_senai.domain.task.Task;
 import senai.com.ava_senai.domain.task.rankedtask.RankedTask;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface TaskRepository extends JpaRepository<Task, Long> {
@@ -36,4 +39,20 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
            " AND kt.ranked = true " +
            " AND EXISTS (SELECT 1 FROM section_class sc WHERE sc.class_id = cls.id AND sc.section_id = s.id) ")
     List<RankedTask> findRankedTasksByClassId(Long classId);
+
+    @Query("SELECT t.id FROM Task t WHERE t.id IN :taskIds")
+    List<Long> findExistingIds(Collection<Long> taskIds);
+
+    // Aplica todas as novas ordens em um único comando, cada posição dos arrays é um par (tarefa, ordem)
+    @Transactional
+    @Modifying
+    @Query(nativeQuery = true,
+           value =
+           " UPDATE task t " +
+           " SET task_order = v.task_order, updated_at = now() " +
+           " FROM unnest(CAST(:taskIds AS bigint[]), CAST(:taskOrders AS int[])) AS v(id, task_order) " +
+           " WHERE t.id = v.id ")
+    int updateTaskOrders(Long[] taskIds, Integer[] taskOrders);
+
+    long countByKnowledgeTrailId(Long knowledgeTrailId);
 }
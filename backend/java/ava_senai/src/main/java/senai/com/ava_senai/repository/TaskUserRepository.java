@@ -1,9 +1,13 @@
 package senai.com.ava_senai.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+import senai.com.ava_senai.domain.ranking.TaskRankingRowDTO;
 import senai.com.ava_senai.domain.task.taskuser.TaskUser;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,17 +15,93 @@ public interface TaskUserRepository extends JpaRepository<TaskUser, Long> {
 
     Optional<TaskUser> findByUserIdAndTaskId(Long userId, Long taskId);
 
+    // Atribui as tarefas a todos os usuários do curso que ainda não as possuem em um único comando,
+    // idempotente em caso de reentrega da mensagem
+    @Transactional
+    @Modifying
     @Query(
-        " SELECT DISTINCT tks FROM TaskUser tks " +
-        " JOIN FETCH tks.user u " +
-        " JOIN FETCH u.role r " +
-        " JOIN u.userClasses uc " +
-        " JOIN FETCH tks.task t " +
-        " JOIN FETCH t.knowledgeTrail kt " +
-        " LEFT JOIN FETCH tks.userResponse urs " +
-        " LEFT JOIN FETCH urs.feedback fb " +
-        " WHERE uc.classId = :classId " +
-        " AND kt.id = :knowledgeTrailId " +
-        " AND r.name = 'STUDENT' ")
-    List<TaskUser> findTaskUsersForRanking(Long classId, Long knowledgeTrailId);
+        nativeQuery = true,
+        value = " INSERT INTO task_user (task_id, user_id, id_institution, created_at) " +
+                " SELECT DISTINCT t.id, us.id, us.id_institution, now() FROM task t " +
+                " CROSS JOIN users us " +
+                " JOIN user_class uc ON uc.user_id = us.id " +
+                " JOIN class cla ON cla.id = uc.class_id " +
+                " WHERE t.id IN (:taskIds) " +
+                " AND cla.course_id = :courseId " +
+                " AND NOT EXISTS ( " +
+                "     SELECT 1 FROM task_user tu " +
+                "     WHERE tu.user_id = us.id AND tu.task_id = t.id " +
+                " ) " +
+                " ON CONFLICT DO NOTHING "
+    )
+    int insertMissingTaskUsersForCourse(Long courseId, Collection<Long> taskIds);
+
+    // Atribui todas as tarefas do curso que os usuários ainda não possuem, em um único comando
+    @Transactional
+    @Modifying
+    @Query(
+        nativeQuery = true,
+        value = " INSERT INTO task_user (task_id, user_id, id_institution, created_at) " +
+                " SELECT t.id, us.id, us.id_institution, now() FROM task t " +
+                " JOIN knowledge_trail kt ON kt.id = t.knowledge_trail_id " +
+                " JOIN section s ON s.id = kt.section_id " +
+                " JOIN users us ON us.id IN (:userIds) " +
+                " WHERE s.course_id = :courseId " +
+                " AND EXISTS ( " +
+                "     SELECT 1 FROM user_class uc " +
+                "     JOIN class cla ON cla.id = uc.class_id " +
+                "     WHERE uc.user_id = us.id AND cla.course_id = :courseId " +
+                " ) " +
+                " AND NOT EXISTS ( " +
+                "     SELECT 1 FROM task_user tu " +
+                "     WHERE tu.user_id = us.id AND tu.task_id = t.id " +
+                " ) " +
+                " ON CONFLICT DO NOTHING "
+    )
+    int insertMissingCourseTasksForUsers(Long courseId, Collection<Long> userIds);
+
+    // Projeção apenas com os campos usados no cálculo, já ordenada por trilha e aluno para agrupar em uma passada
+    @Query(
+        " SELECT new senai.com.ava_senai.domain.ranking.TaskRankingRowDTO(t.knowledgeTrailId, u.id, u.name, t.id, t.createdAt, t.dueDate, urs.createdAt, fb.id, fb.grade) " +
+        " FROM TaskUser tks " +
+        " JOIN tks.user u " +
+        " JOIN u.role r " +
+        " JOIN tks.task t " +
+        " LEFT JOIN tks.userResponse urs " +
+        " LEFT JOIN urs.feedback fb " +
+        " WHERE t.knowledgeTrailId IN :knowledgeTrailIds " +
+        " AND r.name = 'STUDENT' " +
+        " AND EXISTS (SELECT 1 FROM UserClass uc WHERE uc.userId = u.id AND uc.classId = :classId) " +
+        " ORDER BY t.knowledgeTrailId, u.id ")
+    List<TaskRankingRowDTO> findTaskRankingRows(Long classId, Collection<Long> knowledgeTrailIds);
+
+    @Query(
+        " SELECT new senai.com.ava_senai.domain.ranking.TaskRankingRowDTO(t.knowledgeTrailId, u.id, u.name, t.id, t.createdAt, t.dueDate, urs.createdAt, fb.id, fb.grade) " +
+        " FROM TaskUser tks " +
+        " JOIN tks.user u " +
+        " JOIN u.role r " +
+        " JOIN tks.task t " +
+        " LEFT JOIN tks.userResponse urs " +
+        " LEFT JOIN urs.feedback fb " +
+        " WHERE t.knowledgeTrailId = :knowledgeTrailId " +
+        " AND u.id = :userId " +
+        " AND r.name = 'STUDENT' " +
+        " AND EXISTS (SELECT 1 FROM UserClass uc WHERE uc.userId = u.id AND uc.classId = :classId) ")
+    List<TaskRankingRowDTO> findTaskRankingRowsByUserId(Long classId, Long knowledgeTrailId, Long userId);
+
+    @Query("SELECT tu.userId FROM TaskUser tu WHERE tu.id = :taskUserId")
+    Optional<Long> findUserIdById(Long taskUserId);
+
+    // Tarefas do aluno no curso, só das seções liberadas para alguma de suas turmas, em ordem de id
+    @Query(" SELECT tu.taskId FROM TaskUser tu " +
+           " JOIN tu.task t " +
+           " JOIN t.knowledgeTrail kt " +
+           " JOIN kt.section s " +
+           " WHERE tu.userId = :userId " +
+           " AND s.courseId = :courseId " +
+           " AND EXISTS (SELECT 1 FROM UserClass uc " +
+           "             JOIN SectionClass sc ON sc.classId = uc.classId " +
+           "             WHERE uc.userId = :userId AND sc.sectionId = s.id) " +
+           " ORDER BY tu.taskId ")
+    List<Long> findVisibleTaskIdsOfUserInCourse(Long userId, Long courseId);
 }
@@ -1,10 +1,31 @@
 package senai.com.ava_senai.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 import senai.com.ava_senai.domain.user.userclass.UserClass;
+import senai.com.ava_senai.domain.user.userclass.UserClassIdsDTO;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface UserClassRepository extends JpaRepository<UserClass, Long> {
     List<UserClass> findUserClassByUserId(Long userId);
+
+    // vínculos da importação em lote, cada posição dos arrays é um par (usuário, turma)
+    @Transactional
+    @Modifying
+    @Query(nativeQuery = true,
+           value = " INSERT INTO user_class (user_id, class_id) " +
+                   " SELECT v.user_id, v.class_id FROM unnest(CAST(:userIds AS bigint[]), CAST(:classIds AS bigint[])) AS v(user_id, class_id) ")
+    int insertUserClasses(Long[] userIds, Long[] classIds);
+
+    @Query(" SELECT new senai.com.ava_senai.domain.user.userclass.UserClassIdsDTO(uc.userId, uc.classId) FROM UserClass uc " +
+           " WHERE uc.userId IN :userIds " +
+           " ORDER BY uc.id ")
+    List<UserClassIdsDTO> findClassIdsByUserIds(Collection<Long> userIds);
+
+    @Query(" SELECT uc.userId FROM UserClass uc WHERE uc.classId = :classId ")
+    List<Long> findUserIdsByClassId(Long classId);
 }
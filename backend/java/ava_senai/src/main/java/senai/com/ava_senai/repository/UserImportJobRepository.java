@@ -0,0 +1,27 @@
+package senai.com.ava_senai.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+import senai.com.ava_senai.domain.user.userimport.UserImportJob;
+import senai.com.ava_senai.domain.user.userimport.UserImportStatus;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+public interface UserImportJobRepository extends JpaRepository<UserImportJob, Long> {
+
+    @Transactional
+    @Modifying
+    @Query(" UPDATE UserImportJob job SET job.heartbeatAt = :now WHERE job.id IN :jobIds ")
+    int touchJobs(Collection<Long> jobIds, Date now);
+
+    // jobs em andamento cuja réplica parou de renovar o heartbeat (reinício, queda), inclusive os anteriores à coluna
+    @Query(" SELECT job FROM UserImportJob job " +
+           " WHERE job.status = :status " +
+           " AND COALESCE(job.heartbeatAt, job.createdAt) < :staleBefore ")
+    List<UserImportJob> findStaleJobs(UserImportStatus status, Date staleBefore);
+
+}
@@ -1,20 +1,34 @@
 package senai.com.ava_senai.repository;
 
+import jakarta.persistence.QueryHint;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
 import org.springframework.transaction.annotation.Transactional;
+import senai.com.ava_senai.domain.course.clazz.classassessment.ClassAssessmentRowDTO;
 import senai.com.ava_senai.domain.user.User;
+import senai.com.ava_senai.domain.user.userimport.ImportedUserDTO;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    // filtros opcionais da avaliação paginada, aplicados a tu (TaskUser), ta (Task), ur (UserResponse) e fd (Feedback)
+    String CLASS_ASSESSMENT_TASK_FILTER =
+            " (:knowledgeTrailId IS NULL OR ta.knowledgeTrailId = :knowledgeTrailId) " +
+            " AND (:awaitingFeedback = false OR (ur.id IS NOT NULL AND fd.id IS NULL)) " +
+            " AND (:late = false OR (ta.dueDate IS NOT NULL AND ((ur.id IS NULL AND ta.dueDate < CURRENT_TIMESTAMP) OR ur.createdAt > ta.dueDate))) ";
+
     User findByEmail(String email);
     Optional<User> findById(Long id);
 
@@ -36,36 +50,33 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     );
 
+    // mesmo filtro de findAll lido por cursor, para respostas em streaming. Papel, instituição e endereço vêm na
+    // mesma linha; as turmas são carregadas por lote em UserService.streamAllUsers
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT u FROM User u " +
+            "LEFT JOIN FETCH u.role " +
+            "LEFT JOIN FETCH u.institution " +
+            "LEFT JOIN FETCH u.address " +
+            "WHERE (:name IS NULL OR UPPER(u.name) = UPPER(:name)) " +
+            "AND (:role IS NULL OR u.roleId = :role) " +
+            "AND (:idClass IS NULL OR EXISTS (SELECT 1 FROM UserClass uc WHERE uc.userId = u.id AND uc.classId = :idClass)) " +
+            "AND (:idCourse IS NULL OR EXISTS (SELECT 1 FROM UserClass uc JOIN uc.classEntity c WHERE uc.userId = u.id AND c.courseId = :idCourse)) " +
+            "ORDER BY u.id")
+    Stream<User> streamAll(
+            @Param("name") String name,
+            @Param("role") Long role,
+            @Param("idClass") Long idClass,
+            @Param("idCourse") Long idCourses
+    );
+
     @Transactional
     @Modifying
     @Query("update User u set u.nameImage = ?1 where u.id = ?2")
     void updateNameImageById(@NonNull String nameImage, Long id);
 
-    @Query(
-            nativeQuery = true,
-            value = " SELECT us.* FROM users us " +
-                    " JOIN user_class uc ON uc.user_id = us.id " +
-                    " JOIN class cla ON cla.id = uc.class_id " +
-                    " JOIN course c ON c.id = cla.course_id " +
-                    " WHERE c.id = :idCourse " +
-                    " AND NOT EXISTS ( " +
-                    "     SELECT 1 FROM task_user tu " +
-                    "     WHERE tu.user_id = us.id AND tu.task_id = :taskId " +
-                    " ) "
-    )
-    List<User> findUsersByCourseIdWhereNotExistsUserTask(@Param("idCourse") Long idCourse, @Param("taskId") Long taskId);
-
-    @Query("SELECT DISTINCT u FROM User u " +
-            "LEFT JOIN FETCH u.taskUsers tu " +
-            "LEFT JOIN FETCH tu.task t " +
-            "LEFT JOIN FETCH t.knowledgeTrail kt " +
-            "LEFT JOIN FETCH kt.section s " +
-            "LEFT JOIN FETCH t.contents tc " +
-            "WHERE u.id = :userId " +
-            "AND s.courseId = :courseId " +
-            "ORDER BY s.semester, kt.name, t.taskOrder")
-    Optional<User> findUserWithContentById(@Param("userId")Long userId, @Param("courseId") Long courseId);
-
     @Query(" SELECT u FROM User u " +
             " JOIN u.userClasses uc " +
             " JOIN FETCH u.taskUsers tks " +
@@ -77,15 +88,94 @@ public interface UserRepository extends JpaRepository<User, Long> {
             " AND kt.id = :knowledgeTrailId ")
     List<User> findUsersWithTaskToRanking(Long classId, Long knowledgeTrailId);
 
-    @Query( " SELECT usr FROM User usr " +
-            " JOIN UserClass uc ON uc.classId = :classId AND uc.userId = usr.id " +
-            " LEFT JOIN FETCH usr.taskUsers tu " +
-            " LEFT JOIN FETCH tu.task ta " +
-            " LEFT JOIN FETCH tu.userResponse ur " +
-            " LEFT JOIN FETCH ur.userResponseContents uct " +
-            " LEFT JOIN FETCH ur.feedback fd " +
-            " LEFT JOIN FETCH fd.teacher tch " +
-            " JOIN usr.role r ON r.id = usr.roleId AND r.name = 'STUDENT'")
-    List<User> findUsersClassAssessment(Long classId);
-}
+    // uma linha por tarefa atribuída a cada aluno da turma; anexos das respostas ficam em outra consulta
+    // para não multiplicar as linhas
+    @Query( " SELECT new senai.com.ava_senai.domain.course.clazz.classassessment.ClassAssessmentRowDTO( " +
+            "   usr.id, usr.email, usr.name, usr.userStatus, r.id, r.name, inst.institutionName, usr.cpf, " +
+            "   tu.id, ta.id, ta.name, ta.description, ta.dueDate, ta.knowledgeTrailId, " +
+            "   ur.id, ur.comment, fd.id, fd.comment, fd.grade, fd.teacherId) " +
+            " FROM User usr " +
+            " JOIN usr.role r " +
+            " LEFT JOIN usr.institution inst " +
+            " LEFT JOIN usr.taskUsers tu " +
+            " LEFT JOIN tu.task ta " +
+            " LEFT JOIN tu.userResponse ur " +
+            " LEFT JOIN ur.feedback fd " +
+            " WHERE r.name = 'STUDENT' " +
+            " AND EXISTS (SELECT 1 FROM UserClass uc WHERE uc.classId = :classId AND uc.userId = usr.id) " +
+            " ORDER BY usr.id, tu.id ")
+    List<ClassAssessmentRowDTO> findClassAssessmentRows(Long classId);
 
+    // página de alunos por keyset (id); com filtro, apenas alunos com ao menos uma tarefa que o atenda
+    @Query( " SELECT usr.id FROM User usr " +
+            " JOIN usr.role r " +
+            " WHERE r.name = 'STUDENT' " +
+            " AND EXISTS (SELECT 1 FROM UserClass uc WHERE uc.classId = :classId AND uc.userId = usr.id) " +
+            " AND (:afterUserId IS NULL OR usr.id > :afterUserId) " +
+            " AND (:filtered = false OR EXISTS ( " +
+            "     SELECT 1 FROM TaskUser tu " +
+            "     JOIN tu.task ta " +
+            "     LEFT JOIN tu.userResponse ur " +
+            "     LEFT JOIN ur.feedback fd " +
+            "     WHERE tu.userId = usr.id AND " + CLASS_ASSESSMENT_TASK_FILTER +
+            " )) " +
+            " ORDER BY usr.id ")
+    List<Long> findClassAssessmentStudentIds(Long classId, Long afterUserId, boolean filtered, Long knowledgeTrailId,
+                                             boolean awaitingFeedback, boolean late, Pageable pageable);
+
+    @Query( " SELECT new senai.com.ava_senai.domain.course.clazz.classassessment.ClassAssessmentRowDTO( " +
+            "   usr.id, usr.email, usr.name, usr.userStatus, r.id, r.name, inst.institutionName, usr.cpf, " +
+            "   tu.id, ta.id, ta.name, ta.description, ta.dueDate, ta.knowledgeTrailId, " +
+            "   ur.id, ur.comment, fd.id, fd.comment, fd.grade, fd.teacherId) " +
+            " FROM User usr " +
+            " JOIN usr.role r " +
+            " LEFT JOIN usr.institution inst " +
+            " LEFT JOIN usr.taskUsers tu " +
+            " LEFT JOIN tu.task ta " +
+            " LEFT JOIN tu.userResponse ur " +
+            " LEFT JOIN ur.feedback fd " +
+            " WHERE usr.id IN (:userIds) " +
+            " AND (tu.id IS NULL OR (" + CLASS_ASSESSMENT_TASK_FILTER + ")) " +
+            " ORDER BY usr.id, tu.id ")
+    List<ClassAssessmentRowDTO> findClassAssessmentRowsByUserIds(Collection<Long> userIds, Long knowledgeTrailId,
+                                                                 boolean awaitingFeedback, boolean late);
+
+    @Query( " SELECT DISTINCT tch FROM Feedback fd " +
+            " JOIN fd.teacher tch " +
+            " JOIN fd.userResponse ur " +
+            " JOIN ur.taskUser tu " +
+            " JOIN tu.user usr " +
+            " JOIN usr.role r " +
+            " WHERE r.name = 'STUDENT' " +
+            " AND EXISTS (SELECT 1 FROM UserClass uc WHERE uc.classId = :classId AND uc.userId = usr.id) ")
+    List<User> findClassAssessmentTeachers(Long classId);
+
+    @Query("SELECT COALESCE(usr.tokenVersion, 0) FROM User usr WHERE usr.id = :userId")
+    Optional<Integer> findTokenVersionById(Long userId);
+
+    @Query("SELECT usr.email FROM User usr WHERE usr.email IN :emails")
+    List<String> findExistingEmails(Collection<String> emails);
+
+    // Insere o lote de usuários em um único comando, cada posição dos arrays é um usuário, e devolve os emails gravados.
+    // Emails criados por outra requisição no meio da importação esbarram em uk_users_email, são ignorados
+    // e ficam de fora do retorno
+    @Transactional
+    @Query(nativeQuery = true,
+           value = " INSERT INTO users (name, email, password, cpf, role_id, user_status, id_institution, token_version, created_at) " +
+                   " SELECT v.name, v.email, v.password, v.cpf, :roleId, :userStatus, :idInstitution, 0, now() " +
+                   " FROM unnest(CAST(:names AS text[]), CAST(:emails AS text[]), CAST(:passwords AS text[]), CAST(:cpfs AS text[])) " +
+                   "      AS v(name, email, password, cpf) " +
+                   " ON CONFLICT (email) DO NOTHING " +
+                   " RETURNING email ")
+    List<String> insertUsers(String[] names, String[] emails, String[] passwords, String[] cpfs, Long roleId, int userStatus,
+                    Long idInstitution);
+
+    @Query("SELECT new senai.com.ava_senai.domain.user.userimport.ImportedUserDTO(usr.id, usr.email) FROM User usr WHERE usr.email IN :emails")
+    List<ImportedUserDTO> findImportedUsers(Collection<String> emails);
+
+    // Só troca o hash se ele ainda for o lido no login, para não desfazer uma troca de senha concorrente
+    @Transactional
+    @Modifying
+    @Query("update User u set u.password = ?1 where u.id = ?2 and u.password = ?3")
+    int updatePasswordHash(String newPassword, Long id, String currentPassword);
+}
@@ -1,10 +1,32 @@
 package senai.com.ava_senai.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import senai.com.ava_senai.domain.course.clazz.classassessment.UserResponseContentRowDTO;
 import senai.com.ava_senai.domain.task.userresponsecontent.UserResponseContent;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface UserResponseContentRepository extends JpaRepository<UserResponseContent, Long> {
     List<UserResponseContent> findByUserResponseId(Long userResponseId);
+
+    @Query(" SELECT new senai.com.ava_senai.domain.course.clazz.classassessment.UserResponseContentRowDTO( " +
+           "   urc.userResponseId, urc.contentType, urc.name, urc.contentUrl) " +
+           " FROM UserResponseContent urc " +
+           " JOIN urc.userResponse ur " +
+           " JOIN ur.taskUser tu " +
+           " JOIN tu.user usr " +
+           " JOIN usr.role r " +
+           " WHERE r.name = 'STUDENT' " +
+           " AND EXISTS (SELECT 1 FROM UserClass uc WHERE uc.classId = :classId AND uc.userId = usr.id) " +
+           " ORDER BY urc.userResponseId, urc.id ")
+    List<UserResponseContentRowDTO> findClassAssessmentContentRows(Long classId);
+
+    @Query(" SELECT new senai.com.ava_senai.domain.course.clazz.classassessment.UserResponseContentRowDTO( " +
+           "   urc.userResponseId, urc.contentType, urc.name, urc.contentUrl) " +
+           " FROM UserResponseContent urc " +
+           " WHERE urc.userResponseId IN (:userResponseIds) " +
+           " ORDER BY urc.userResponseId, urc.id ")
+    List<UserResponseContentRowDTO> findContentRowsByUserResponseIds(Collection<Long> userResponseIds);
 }
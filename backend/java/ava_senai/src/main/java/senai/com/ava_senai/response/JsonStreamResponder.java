@@ -0,0 +1,94 @@
+package senai.com.ava_senai.response;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Escreve listas grandes no mesmo formato de {@link ApiResponse} ({"message": ..., "data": [...]}) item a item,
+ * lendo de um cursor do banco. O stream é aberto numa transação somente leitura na thread da resposta e o
+ * contexto de persistência é limpo a cada lote, então a memória não cresce com o tamanho da lista.
+ */
+@Component
+@RequiredArgsConstructor
+public class JsonStreamResponder {
+
+    private final ObjectMapper objectMapper;
+
+    private final PlatformTransactionManager transactionManager;
+
+    private final EntityManager entityManager;
+
+    @Value("${api.streaming.flush-every:200}")
+    private int flushEvery;
+
+    public <T> ResponseEntity<StreamingResponseBody> stream(String message, Supplier<Stream<T>> items) {
+
+        StreamingResponseBody body = outputStream -> {
+
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+            transactionTemplate.setReadOnly(true);
+
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream, JsonEncoding.UTF8)) {
+
+                generator.writeStartObject();
+                generator.writeStringField("message", message);
+                generator.writeArrayFieldStart("data");
+
+                transactionTemplate.executeWithoutResult(status -> writeItems(generator, items));
+
+                generator.writeEndArray();
+                generator.writeEndObject();
+
+            }
+
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+
+    }
+
+    private <T> void writeItems(JsonGenerator generator, Supplier<Stream<T>> items) {
+
+        try (Stream<T> stream = items.get()) {
+
+            Iterator<T> iterator = stream.iterator();
+
+            int written = 0;
+
+            while (iterator.hasNext()) {
+
+                generator.writeObject(iterator.next());
+
+                if (++written % flushEvery == 0) {
+                    generator.flush();
+                    // entidades já serializadas não precisam continuar gerenciadas
+                    entityManager.clear();
+                }
+
+            }
+
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+    }
+
+}
@@ -2,30 +2,41 @@ package senai.com.ava_senai.services.clazz;
 
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 import senai.com.ava_senai.domain.course.clazz.Class;
 import senai.com.ava_senai.domain.course.clazz.ClassRegisterDTO;
 import senai.com.ava_senai.domain.course.clazz.ClassResponseDTO;
+import senai.com.ava_senai.domain.course.clazz.classassessment.ClassAssessmentFilterDTO;
+import senai.com.ava_senai.domain.course.clazz.classassessment.ClassAssessmentPageDTO;
 import senai.com.ava_senai.domain.course.clazz.classassessment.ClassAssessmentResponseDTO;
+import senai.com.ava_senai.domain.course.clazz.classassessment.ClassAssessmentRowDTO;
+import senai.com.ava_senai.domain.course.clazz.classassessment.UserResponseContentRowDTO;
 import senai.com.ava_senai.domain.course.clazz.sectionclass.SectionClass;
 import senai.com.ava_senai.domain.course.section.Section;
 import senai.com.ava_senai.domain.task.rankedtask.RankedKnowledgeTrail;
 import senai.com.ava_senai.domain.task.rankedtask.RankedTask;
 import senai.com.ava_senai.domain.user.User;
+import senai.com.ava_senai.domain.user.UserResponseDTO;
+import senai.com.ava_senai.domain.user.userclass.UserClass;
 import senai.com.ava_senai.exception.AlreadyExistsException;
 import senai.com.ava_senai.exception.NotFoundException;
 import senai.com.ava_senai.exception.NullListException;
 import senai.com.ava_senai.exception.Validation;
 import senai.com.ava_senai.mapper.ClassAssessmentMapper;
 import senai.com.ava_senai.repository.*;
+import senai.com.ava_senai.services.dashboard.IDashBoardService;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -37,9 +48,11 @@ public class ClassService implements IClassService {
     private final CourseRepository courseRepository;
     private final ClassAssessmentMapper classAssessmentMapper;
     private final UserRepository userRepository;
+    private final UserResponseContentRepository userResponseContentRepository;
     private final TaskRepository taskRepository;
     private final SectionClassRepository sectionClassRepository;
     private final SectionRepository sectionRepository;
+    private final IDashBoardService dashBoardService;
 
     @Override
     public ClassResponseDTO createClass(ClassRegisterDTO classRegisterDTO) {
@@ -109,12 +122,18 @@ public class ClassService implements IClassService {
 
     }
 
+    @Override
+    public Stream<ClassResponseDTO> streamTurmas() {
+        return classRepository.streamAll().map(ClassResponseDTO::new);
+    }
+
     @Override
     public ClassResponseDTO getTurmaById(Long turmaId) {
 
-        return Optional.of(turmaId)
-                .filter(turma -> classRepository.existsById(turmaId))
-                .map(turma -> new ClassResponseDTO(classRepository.getReferenceById(turmaId)))
+        // turma, curso e seções em uma consulta, independente da quantidade de seções
+        return classRepository.findWithSectionsByIdIn(List.of(turmaId)).stream()
+                .findFirst()
+                .map(ClassResponseDTO::new)
                 .orElseThrow(() -> new NotFoundException("Turma não econtrada pelo id:" + turmaId + "!"));
 
     }
@@ -127,15 +146,68 @@ public class ClassService implements IClassService {
                 .map(turma -> {
 
                     Class clazz = classRepository.findClassAssessment(turmaId);
-                    List<User> users = userRepository.findUsersClassAssessment(turmaId);
+                    List<ClassAssessmentRowDTO> rows = userRepository.findClassAssessmentRows(turmaId);
+                    List<UserResponseContentRowDTO> contentRows = userResponseContentRepository.findClassAssessmentContentRows(turmaId);
+
+                    // poucos professores por turma, cada um montado uma única vez e compartilhado entre os feedbacks
+                    Map<Long, UserResponseDTO> teachers = userRepository.findClassAssessmentTeachers(turmaId).stream()
+                            .collect(Collectors.toMap(User::getId, UserResponseDTO::new));
 
-                    return classAssessmentMapper.mapClassAssessment(clazz, users);
+                    return classAssessmentMapper.mapClassAssessment(clazz, rows, contentRows, teachers);
 
                 })
                 .orElseThrow(() -> new NotFoundException("Turma não econtrada pelo id:" + turmaId + "!"));
 
     }
 
+    @Override
+    public ClassAssessmentPageDTO getClassAssessmentPage(Long turmaId, ClassAssessmentFilterDTO filter) {
+
+        Class clazz = classRepository.findClassAssessment(turmaId);
+
+        if (clazz == null) {
+            throw new NotFoundException("Turma não econtrada pelo id:" + turmaId + "!");
+        }
+
+        int pageSize = filter.pageSize();
+
+        // busca um aluno a mais para saber se existe próxima página
+        List<Long> userIds = userRepository.findClassAssessmentStudentIds(turmaId, filter.afterUserId(), filter.isFiltered(),
+                filter.knowledgeTrailId(), filter.awaitingFeedback(), filter.late(), PageRequest.ofSize(pageSize + 1));
+
+        boolean hasNext = userIds.size() > pageSize;
+
+        if (hasNext) {
+            userIds = userIds.subList(0, pageSize);
+        }
+
+        List<ClassAssessmentRowDTO> rows = userIds.isEmpty() ? List.of()
+                : userRepository.findClassAssessmentRowsByUserIds(userIds, filter.knowledgeTrailId(), filter.awaitingFeedback(), filter.late());
+
+        Set<Long> userResponseIds = new HashSet<>();
+        Set<Long> teacherIds = new HashSet<>();
+
+        rows.forEach(row -> {
+            if (row.userResponseId() != null) {
+                userResponseIds.add(row.userResponseId());
+            }
+            if (row.teacherId() != null) {
+                teacherIds.add(row.teacherId());
+            }
+        });
+
+        List<UserResponseContentRowDTO> contentRows = userResponseIds.isEmpty() ? List.of()
+                : userResponseContentRepository.findContentRowsByUserResponseIds(userResponseIds);
+
+        Map<Long, UserResponseDTO> teachers = teacherIds.isEmpty() ? Map.of()
+                : userRepository.findAllById(teacherIds).stream().collect(Collectors.toMap(User::getId, UserResponseDTO::new));
+
+        ClassAssessmentResponseDTO classAssessment = classAssessmentMapper.mapClassAssessment(clazz, rows, contentRows, teachers);
+
+        return new ClassAssessmentPageDTO(classAssessment, hasNext ? userIds.get(userIds.size() - 1) : null, hasNext);
+
+    }
+
     @Override
     public List<RankedKnowledgeTrail> getRankedKnowledgeTrails(Long classId) {
 
@@ -231,6 +303,7 @@ public class ClassService implements IClassService {
 
         if (!CollectionUtils.isEmpty(clazz.getUserClasses())) {
             clazz.getUserClasses().stream().forEach(classUser -> userClassRepository.delete(classUser));
+            dashBoardService.evictUsers(clazz.getUserClasses().stream().map(UserClass::getUserId).toList());
         }
 
         classRepository.delete(clazz);
@@ -277,6 +350,9 @@ public class ClassService implements IClassService {
 
         createSections(clazz, clazzEdit);
 
+        // os painéis dos alunos da turma passam a mostrar as tarefas das novas seções
+        dashBoardService.evictByClass(clazz.getId());
+
     }
 
     public void removeOldSectionClassData(Class clazz) {
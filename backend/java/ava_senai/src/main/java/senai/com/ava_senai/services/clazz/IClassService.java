@@ -2,10 +2,13 @@ package senai.com.ava_senai.services.clazz;
 
 import senai.com.ava_senai.domain.course.clazz.ClassRegisterDTO;
 import senai.com.ava_senai.domain.course.clazz.ClassResponseDTO;
+import senai.com.ava_senai.domain.course.clazz.classassessment.ClassAssessmentFilterDTO;
+import senai.com.ava_senai.domain.course.clazz.classassessment.ClassAssessmentPageDTO;
 import senai.com.ava_senai.domain.course.clazz.classassessment.ClassAssessmentResponseDTO;
 import senai.com.ava_senai.domain.task.rankedtask.RankedKnowledgeTrail;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface IClassService {
 
@@ -13,6 +16,8 @@ public interface IClassService {
 
     List<ClassResponseDTO> getTurmas();
 
+    Stream<ClassResponseDTO> streamTurmas();
+
     ClassResponseDTO getTurmaById(Long turmaId);
 
     ClassResponseDTO updateClass(ClassRegisterDTO clazz, Long turmaId);
@@ -21,5 +26,7 @@ public interface IClassService {
 
     ClassAssessmentResponseDTO getClassAssessment(Long turmaId);
 
+    ClassAssessmentPageDTO getClassAssessmentPage(Long turmaId, ClassAssessmentFilterDTO filter);
+
     List<RankedKnowledgeTrail> getRankedKnowledgeTrails(Long classId);
 }
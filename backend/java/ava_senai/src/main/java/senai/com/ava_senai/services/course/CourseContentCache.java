@@ -0,0 +1,79 @@
+package senai.com.ava_senai.services.course;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import senai.com.ava_senai.domain.course.CourseContentSummaryDTO;
+import senai.com.ava_senai.exception.NotFoundException;
+import senai.com.ava_senai.repository.CourseRepository;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.function.Function;
+
+/**
+ * Cache das árvores de conteúdo dos cursos, por curso e versão da estrutura. Toda escrita em curso, seção,
+ * trilha, tarefa ou conteúdo incrementa course.structure_version depois de gravar (na mesma transação, quando
+ * houver), então a próxima leitura, nesta ou na outra réplica, usa uma chave nova; as versões antigas saem do
+ * cache por tamanho ou tempo sem acesso. Cada leitura custa apenas a consulta da versão pela chave primária.
+ */
+@Component
+public class CourseContentCache {
+
+    private final CourseRepository courseRepository;
+
+    private final Cache<CourseContentKey, CourseContentSummaryDTO> summaries;
+
+    public CourseContentCache(CourseRepository courseRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${course.content-cache.max-size:500}") long maxSize,
+                              @Value("${course.content-cache.expire-after-access-minutes:60}") long expireAfterAccessMinutes) {
+
+        this.courseRepository = courseRepository;
+        this.summaries = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(Duration.ofMinutes(expireAfterAccessMinutes))
+                .recordStats()
+                .build();
+
+        // cache.gets{result=hit|miss}, cache.evictions, cache.size com a tag cache=course.content
+        CaffeineCacheMetrics.monitor(meterRegistry, summaries, "course.content");
+
+    }
+
+    public CourseContentSummaryDTO get(Long courseId, Function<Long, CourseContentSummaryDTO> loader) {
+
+        Long structureVersion = courseRepository.findStructureVersionById(courseId)
+                .orElseThrow(() -> new NotFoundException("Curso não encontrado!"));
+
+        return summaries.get(new CourseContentKey(courseId, structureVersion), key -> loader.apply(key.courseId()));
+
+    }
+
+    public void invalidateCourse(Long courseId) {
+        courseRepository.incrementStructureVersion(courseId);
+    }
+
+    public void invalidateBySection(Long sectionId) {
+        courseRepository.incrementStructureVersionBySectionId(sectionId);
+    }
+
+    public void invalidateByKnowledgeTrail(Long knowledgeTrailId) {
+        courseRepository.incrementStructureVersionByKnowledgeTrailId(knowledgeTrailId);
+    }
+
+    public void invalidateByTasks(Collection<Long> taskIds) {
+
+        if (!taskIds.isEmpty()) {
+            courseRepository.incrementStructureVersionByTaskIds(taskIds);
+        }
+
+    }
+
+    private record CourseContentKey(Long courseId, Long structureVersion) {
+    }
+
+}
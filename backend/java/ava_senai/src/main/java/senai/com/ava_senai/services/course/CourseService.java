@@ -9,15 +9,18 @@ import senai.com.ava_senai.domain.course.CourseContentSummaryDTO;
 import senai.com.ava_senai.domain.course.CourseRegisterDTO;
 import senai.com.ava_senai.domain.course.CourseResponseDTO;
 import senai.com.ava_senai.domain.course.section.Section;
+import senai.com.ava_senai.domain.dashboard.DashBoardCounterType;
 import senai.com.ava_senai.exception.NotFoundException;
 import senai.com.ava_senai.exception.NullListException;
 import senai.com.ava_senai.exception.Validation;
 import senai.com.ava_senai.repository.CourseRepository;
 import senai.com.ava_senai.repository.SectionRepository;
+import senai.com.ava_senai.services.dashboard.IDashBoardCounterService;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -25,6 +28,8 @@ public class CourseService implements ICourseService {
 
     private final CourseRepository courseRepository;
     private final SectionRepository sectionRepository;
+    private final IDashBoardCounterService dashBoardCounterService;
+    private final CourseContentCache courseContentCache;
 
     @Override
     public CourseResponseDTO getCourseById(Long id) {
@@ -49,6 +54,11 @@ public class CourseService implements ICourseService {
 
     }
 
+    @Override
+    public Stream<CourseResponseDTO> streamAllCourses() {
+        return courseRepository.streamAll().map(CourseResponseDTO::new);
+    }
+
     @Override
     public CourseResponseDTO createCourse(CourseRegisterDTO courseRegisterDTO) throws Exception {
 
@@ -64,6 +74,8 @@ public class CourseService implements ICourseService {
 
                     List<Section> sectionsDefault = saveDefaultSections(course);
 
+                    dashBoardCounterService.increment(DashBoardCounterType.TOTAL_COURSES, 1);
+
                     return new CourseResponseDTO(course, sectionsDefault);
 
                 })
@@ -132,6 +144,8 @@ public class CourseService implements ICourseService {
 
                     courseRepository.save(updateData(courseDB, courseRegisterDTO));
 
+                    courseContentCache.invalidateCourse(courseDB.getId());
+
                     return new CourseResponseDTO(courseDB);
 
                 })
@@ -142,10 +156,9 @@ public class CourseService implements ICourseService {
     @Override
     public CourseContentSummaryDTO getCourseContentSummaryById(Long id) {
 
-        Course course = courseRepository.findCourseWithContentById(id)
-                .orElseThrow(() -> new NotFoundException("Curso não encontrado!"));
-
-        return new CourseContentSummaryDTO(course);
+        return courseContentCache.get(id, courseId -> courseRepository.findCourseWithContentById(courseId)
+                .map(CourseContentSummaryDTO::new)
+                .orElseThrow(() -> new NotFoundException("Curso não encontrado!")));
 
     }
 
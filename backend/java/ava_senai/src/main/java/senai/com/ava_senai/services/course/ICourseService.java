@@ -5,6 +5,7 @@ import senai.com.ava_senai.domain.course.CourseRegisterDTO;
 import senai.com.ava_senai.domain.course.CourseResponseDTO;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface ICourseService {
 
@@ -12,6 +13,8 @@ public interface ICourseService {
 
     List<CourseResponseDTO> getAllCourses();
 
+    Stream<CourseResponseDTO> streamAllCourses();
+
     CourseResponseDTO createCourse(CourseRegisterDTO courseRegisterDTO) throws Exception;
 
     CourseResponseDTO updateCourse(CourseRegisterDTO courseRegisterDTO, Long id);
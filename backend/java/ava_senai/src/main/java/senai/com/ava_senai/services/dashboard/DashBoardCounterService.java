@@ -0,0 +1,126 @@
+package senai.com.ava_senai.services.dashboard;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import senai.com.ava_senai.domain.dashboard.DashBoardAdmGeneralInfo;
+import senai.com.ava_senai.domain.dashboard.DashBoardCounter;
+import senai.com.ava_senai.domain.dashboard.DashBoardCounterType;
+import senai.com.ava_senai.domain.user.UserStatus;
+import senai.com.ava_senai.domain.user.role.Role;
+import senai.com.ava_senai.repository.DashBoardCounterRepository;
+import senai.com.ava_senai.util.AfterCommit;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Totais do painel do administrador mantidos em dashboard_counter. Cada alteração soma ou subtrai do contador
+ * após o commit de quem a fez; a reconciliação periódica recalcula tudo com COUNT(*) e corrige o que tiver
+ * se perdido (falha entre o commit e o incremento, ou incrementos concorrentes com a própria reconciliação).
+ */
+@Service
+@RequiredArgsConstructor
+public class DashBoardCounterService implements IDashBoardCounterService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashBoardCounterService.class);
+
+    private final DashBoardCounterRepository dashBoardCounterRepository;
+
+    @Override
+    public DashBoardAdmGeneralInfo getDashBoardAdmGeneralInfo() {
+
+        Map<DashBoardCounterType, Long> counters = findCounters();
+
+        // primeira leitura após a criação da tabela
+        if (counters.size() < DashBoardCounterType.values().length) {
+            dashBoardCounterRepository.reconcile();
+            counters = findCounters();
+        }
+
+        return new DashBoardAdmGeneralInfo(
+                counters.getOrDefault(DashBoardCounterType.TOTAL_ACTIVE_USERS, 0L),
+                counters.getOrDefault(DashBoardCounterType.TOTAL_COURSES, 0L),
+                counters.getOrDefault(DashBoardCounterType.TOTAL_RANKED_TASKS, 0L),
+                counters.getOrDefault(DashBoardCounterType.TOTAL_TASKS, 0L),
+                counters.getOrDefault(DashBoardCounterType.TOTAL_TEACHERS, 0L));
+
+    }
+
+    @Override
+    public void increment(DashBoardCounterType counterType, long delta) {
+
+        if (counterType == null || delta == 0) {
+            return;
+        }
+
+        // sem a linha do contador a reconciliação cria ela já com o valor certo
+        AfterCommit.run(() -> dashBoardCounterRepository.increment(counterType.name(), delta));
+
+    }
+
+    @Override
+    public void countUsers(Role role, UserStatus status, long delta) {
+
+        if (status == UserStatus.ATIVO) {
+            increment(userCounter(role), delta);
+        }
+
+    }
+
+    @Override
+    public void countUserChange(Role previousRole, UserStatus previousStatus, Role role, UserStatus status) {
+
+        DashBoardCounterType previousCounter = previousStatus == UserStatus.ATIVO ? userCounter(previousRole) : null;
+        DashBoardCounterType counter = status == UserStatus.ATIVO ? userCounter(role) : null;
+
+        if (!Objects.equals(previousCounter, counter)) {
+            increment(previousCounter, -1);
+            increment(counter, 1);
+        }
+
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${dashboard.counters.reconcile-interval-ms:600000}",
+               initialDelayString = "${dashboard.counters.reconcile-initial-delay-ms:60000}")
+    public void reconcile() {
+
+        try {
+            dashBoardCounterRepository.reconcile();
+        } catch (RuntimeException e) {
+            logger.warn("Dashboard counters reconciliation failed: {}", e.getMessage());
+        }
+
+    }
+
+    private Map<DashBoardCounterType, Long> findCounters() {
+
+        Map<DashBoardCounterType, Long> counters = new EnumMap<>(DashBoardCounterType.class);
+
+        for (DashBoardCounter counter : dashBoardCounterRepository.findAll()) {
+            counters.put(counter.getCounterName(), counter.getCounterValue());
+        }
+
+        return counters;
+
+    }
+
+    private DashBoardCounterType userCounter(Role role) {
+
+        if (role == null || role.getName() == null) {
+            return null;
+        }
+
+        return switch (role.getName()) {
+            case "STUDENT" -> DashBoardCounterType.TOTAL_ACTIVE_USERS;
+            case "TEACHER" -> DashBoardCounterType.TOTAL_TEACHERS;
+            default -> null;
+        };
+
+    }
+
+}
@@ -1,45 +1,134 @@
 package senai.com.ava_senai.services.dashboard;
 
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import senai.com.ava_senai.domain.dashboard.DashBoardAdmGeneralInfo;
+import senai.com.ava_senai.domain.dashboard.DashBoardTaskRowDTO;
 import senai.com.ava_senai.domain.dashboard.DashBoardUserGeneralInfo;
 import senai.com.ava_senai.domain.task.TaskResponseDTO;
 import senai.com.ava_senai.handler.requesthandler.security.user.AuthyUserDetails;
 import senai.com.ava_senai.repository.DashBoardRepository;
+import senai.com.ava_senai.repository.TaskUserRepository;
+import senai.com.ava_senai.repository.UserClassRepository;
+import senai.com.ava_senai.util.AfterCommit;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 @Service
-@RequiredArgsConstructor
 public class DashBoardService implements IDashBoardService {
 
     private final DashBoardRepository dashBoardRepository;
+    private final TaskUserRepository taskUserRepository;
+    private final UserClassRepository userClassRepository;
+    private final IDashBoardCounterService dashBoardCounterService;
+
+    // painel do aluno por id; invalidado quando uma resposta, um feedback, as turmas do aluno ou as seções de uma
+    // de suas turmas mudam. O cache é local de cada réplica e a invalidação só alcança a réplica que fez a
+    // alteração, então as outras podem mostrar um painel defasado por até ttl-seconds (60 s por padrão)
+    private final Cache<Long, DashBoardUserGeneralInfo> userDashboards;
+
+    public DashBoardService(DashBoardRepository dashBoardRepository,
+                            TaskUserRepository taskUserRepository,
+                            UserClassRepository userClassRepository,
+                            IDashBoardCounterService dashBoardCounterService,
+                            @Value("${dashboard.user-cache.max-size:10000}") long maxSize,
+                            @Value("${dashboard.user-cache.ttl-seconds:60}") long ttlSeconds) {
+
+        this.dashBoardRepository = dashBoardRepository;
+        this.taskUserRepository = taskUserRepository;
+        this.userClassRepository = userClassRepository;
+        this.dashBoardCounterService = dashBoardCounterService;
+        this.userDashboards = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+
+    }
 
     @Override
     public DashBoardAdmGeneralInfo getDashBoardAdmGeneralInfo() {
-        return dashBoardRepository.getDashBoardAdmGeneralInfo();
+        return dashBoardCounterService.getDashBoardAdmGeneralInfo();
     }
 
     @Override
     public DashBoardUserGeneralInfo getDashBoardUserGeneralInfo() {
 
-        DashBoardUserGeneralInfo dashBoardUserGeneralInfo = new DashBoardUserGeneralInfo();
+        Long userId = getUserId();
+
+        if (userId == null) {
+            return buildDashBoardUserGeneralInfo(List.of());
+        }
+
+        return userDashboards.get(userId, id -> buildDashBoardUserGeneralInfo(dashBoardRepository.findUserTasksWithStatus(id)));
+
+    }
+
+    @Override
+    public void evictUser(Long userId) {
+        invalidate(() -> userDashboards.invalidate(userId));
+    }
+
+    @Override
+    public void evictUsers(Collection<Long> userIds) {
+        invalidate(() -> userDashboards.invalidateAll(userIds));
+    }
+
+    @Override
+    public void evictByTaskUser(Long taskUserId) {
+        taskUserRepository.findUserIdById(taskUserId).ifPresent(this::evictUser);
+    }
 
-        List<TaskResponseDTO> waitingFeedbackTasks = dashBoardRepository.findWaitingFeedbackTasks(getUserId());
-        List<TaskResponseDTO> pendingTasks = dashBoardRepository.findPendingTasks(getUserId());
-        List<TaskResponseDTO> evaluatedTasks = dashBoardRepository.findEvaluatedTasks(getUserId());
+    @Override
+    public void evictByClass(Long classId) {
+        evictUsers(userClassRepository.findUserIdsByClassId(classId));
+    }
+
+    @Override
+    public void evictAll() {
+        invalidate(userDashboards::invalidateAll);
+    }
 
-        dashBoardUserGeneralInfo.setWaitingFeedbackTasks(waitingFeedbackTasks);
-        dashBoardUserGeneralInfo.setPendingTasks(pendingTasks);
-        dashBoardUserGeneralInfo.setEvaluatedTasks(evaluatedTasks);
+    // separa as tarefas nas três listas do painel em uma passada
+    private DashBoardUserGeneralInfo buildDashBoardUserGeneralInfo(List<DashBoardTaskRowDTO> rows) {
+
+        List<TaskResponseDTO> waitingFeedbackTasks = new ArrayList<>();
+        List<TaskResponseDTO> pendingTasks = new ArrayList<>();
+        List<TaskResponseDTO> evaluatedTasks = new ArrayList<>();
+
+        for (DashBoardTaskRowDTO row : rows) {
+            switch (row.status()) {
+                case PENDENTE -> pendingTasks.add(row.toTaskResponse());
+                case AGUARDANDO_FEEDBACK -> waitingFeedbackTasks.add(row.toTaskResponse());
+                case AVALIADA -> evaluatedTasks.add(row.toTaskResponse());
+            }
+        }
+
+        DashBoardUserGeneralInfo dashBoardUserGeneralInfo = new DashBoardUserGeneralInfo();
+
+        dashBoardUserGeneralInfo.setWaitingFeedbackTasks(List.copyOf(waitingFeedbackTasks));
+        dashBoardUserGeneralInfo.setPendingTasks(List.copyOf(pendingTasks));
+        dashBoardUserGeneralInfo.setEvaluatedTasks(List.copyOf(evaluatedTasks));
 
         return dashBoardUserGeneralInfo;
 
     }
 
+    // invalida agora e de novo após o commit, para não guardar um painel lido antes dele
+    private void invalidate(Runnable invalidation) {
+
+        invalidation.run();
+
+        AfterCommit.run(invalidation);
+
+    }
+
     public Long getUserId() {
 
         Long userId = null;
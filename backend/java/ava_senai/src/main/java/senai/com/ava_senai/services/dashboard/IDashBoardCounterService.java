@@ -0,0 +1,14 @@
+package senai.com.ava_senai.services.dashboard;
+
+import senai.com.ava_senai.domain.dashboard.DashBoardAdmGeneralInfo;
+import senai.com.ava_senai.domain.dashboard.DashBoardCounterType;
+import senai.com.ava_senai.domain.user.UserStatus;
+import senai.com.ava_senai.domain.user.role.Role;
+
+public interface IDashBoardCounterService {
+    DashBoardAdmGeneralInfo getDashBoardAdmGeneralInfo();
+    void increment(DashBoardCounterType counterType, long delta);
+    void countUsers(Role role, UserStatus status, long delta);
+    void countUserChange(Role previousRole, UserStatus previousStatus, Role role, UserStatus status);
+    void reconcile();
+}
@@ -3,7 +3,14 @@ package senai.com.ava_senai.services.dashboard;
 import senai.com.ava_senai.domain.dashboard.DashBoardAdmGeneralInfo;
 import senai.com.ava_senai.domain.dashboard.DashBoardUserGeneralInfo;
 
+import java.util.Collection;
+
 public interface IDashBoardService {
     DashBoardAdmGeneralInfo getDashBoardAdmGeneralInfo();
     DashBoardUserGeneralInfo getDashBoardUserGeneralInfo();
+    void evictUser(Long userId);
+    void evictUsers(Collection<Long> userIds);
+    void evictByTaskUser(Long taskUserId);
+    void evictByClass(Long classId);
+    void evictAll();
 }
@@ -15,6 +15,8 @@ import senai.com.ava_senai.repository.FeedbackRepository;
 import senai.com.ava_senai.repository.KnowledgeTrailRepository;
 import senai.com.ava_senai.repository.UserRepository;
 import senai.com.ava_senai.repository.UserResponseRepository;
+import senai.com.ava_senai.services.dashboard.IDashBoardService;
+import senai.com.ava_senai.services.ranking.IRankingScoreService;
 
 import java.util.Optional;
 
@@ -26,6 +28,8 @@ public class FeedbackService implements IFeedbackService{
     private final UserResponseRepository userResponseRepository;
     private final UserRepository userRepository;
     private final KnowledgeTrailRepository knowledgeTrailRepository;
+    private final IRankingScoreService rankingScoreService;
+    private final IDashBoardService dashBoardService;
 
     @Override
     public FeedbackResponseDTO evaluate(FeedbackRegisterDTO feedbackRegisterDTO) {
@@ -34,6 +38,10 @@ public class FeedbackService implements IFeedbackService{
 
         Feedback feedback = createFeedback(feedbackRegisterDTO);
 
+        rankingScoreService.refreshByTaskUser(feedback.getUserResponse().getTaskUserId());
+
+        dashBoardService.evictByTaskUser(feedback.getUserResponse().getTaskUserId());
+
         return new FeedbackResponseDTO(feedback);
         
     }
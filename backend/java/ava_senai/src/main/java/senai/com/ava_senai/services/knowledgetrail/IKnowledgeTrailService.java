@@ -4,6 +4,7 @@ import senai.com.ava_senai.domain.task.knowledgetrail.KnowledgeTrailRegisterDTO;
 import senai.com.ava_senai.domain.task.knowledgetrail.KnowledgeTrailResponseDTO;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface IKnowledgeTrailService {
 
@@ -11,6 +12,8 @@ public interface IKnowledgeTrailService {
 
     List<KnowledgeTrailResponseDTO> getAllKnowledgeTrails();
 
+    Stream<KnowledgeTrailResponseDTO> streamAllKnowledgeTrails();
+
     KnowledgeTrailResponseDTO createKnowledgeTrail(KnowledgeTrailRegisterDTO knowledgeTrailRegister) throws Exception;
 
     KnowledgeTrailResponseDTO updateKnowledgeTrail(KnowledgeTrailRegisterDTO knowledgeTrailRegister, Long id);
@@ -2,6 +2,7 @@ package senai.com.ava_senai.services.knowledgetrail;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import senai.com.ava_senai.domain.dashboard.DashBoardCounterType;
 import senai.com.ava_senai.domain.task.knowledgetrail.KnowledgeTrail;
 import senai.com.ava_senai.domain.task.knowledgetrail.KnowledgeTrailRegisterDTO;
 import senai.com.ava_senai.domain.task.knowledgetrail.KnowledgeTrailResponseDTO;
@@ -10,10 +11,16 @@ import senai.com.ava_senai.exception.NullListException;
 import senai.com.ava_senai.exception.Validation;
 import senai.com.ava_senai.repository.KnowledgeTrailRepository;
 import senai.com.ava_senai.repository.SectionRepository;
+import senai.com.ava_senai.repository.TaskRepository;
+import senai.com.ava_senai.services.course.CourseContentCache;
+import senai.com.ava_senai.services.dashboard.IDashBoardCounterService;
+import senai.com.ava_senai.services.ranking.IRankingScoreService;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -21,6 +28,10 @@ public class KnowledgeTrailService implements IKnowledgeTrailService {
 
     private final KnowledgeTrailRepository knowledgeTrailRepository;
     private final SectionRepository sectionRepository;
+    private final IRankingScoreService rankingScoreService;
+    private final TaskRepository taskRepository;
+    private final IDashBoardCounterService dashBoardCounterService;
+    private final CourseContentCache courseContentCache;
 
     @Override
     public KnowledgeTrailResponseDTO getKnowledgeTrailById(Long id) {
@@ -44,6 +55,11 @@ public class KnowledgeTrailService implements IKnowledgeTrailService {
 
     }
 
+    @Override
+    public Stream<KnowledgeTrailResponseDTO> streamAllKnowledgeTrails() {
+        return knowledgeTrailRepository.streamAll().map(KnowledgeTrailResponseDTO::new);
+    }
+
     @Override
     public KnowledgeTrailResponseDTO createKnowledgeTrail(KnowledgeTrailRegisterDTO knowledgeTrailRegister) throws Exception {
 
@@ -57,6 +73,8 @@ public class KnowledgeTrailService implements IKnowledgeTrailService {
 
                     knowledgeTrail = knowledgeTrailRepository.save(knowledgeTrail);
 
+                    courseContentCache.invalidateBySection(knowledgeTrail.getSectionId());
+
                     return new KnowledgeTrailResponseDTO(knowledgeTrail);
 
                 })
@@ -75,8 +93,25 @@ public class KnowledgeTrailService implements IKnowledgeTrailService {
 
                     validateKnowledgeTrailSameName(knowledgeTrailRegister, knowledgeTrailDB);
 
+                    boolean wasRanked = Boolean.TRUE.equals(knowledgeTrailDB.getRanked());
+                    Long previousSectionId = knowledgeTrailDB.getSectionId();
+
                     knowledgeTrailDB = knowledgeTrailRepository.save(updateData(knowledgeTrailDB, knowledgeTrailRegister));
 
+                    if (wasRanked != Boolean.TRUE.equals(knowledgeTrailDB.getRanked())) {
+                        long tasks = taskRepository.countByKnowledgeTrailId(knowledgeTrailDB.getId());
+                        dashBoardCounterService.increment(DashBoardCounterType.TOTAL_RANKED_TASKS, wasRanked ? -tasks : tasks);
+                    }
+
+                    if (!Objects.equals(previousSectionId, knowledgeTrailDB.getSectionId())) {
+                        courseContentCache.invalidateBySection(previousSectionId);
+                    }
+
+                    courseContentCache.invalidateBySection(knowledgeTrailDB.getSectionId());
+
+                    // trilha pode ter deixado de ser ranqueada ou mudado de seção
+                    rankingScoreService.refreshKnowledgeTrailScores(knowledgeTrailDB.getId());
+
                     return new KnowledgeTrailResponseDTO(knowledgeTrailDB);
 
                 })
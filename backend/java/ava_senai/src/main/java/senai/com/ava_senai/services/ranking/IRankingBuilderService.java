@@ -1,10 +1,15 @@
-
 package senai.com.ava_senai.services.ranking;
 
 import senai.com.ava_senai.domain.ranking.UserRankingCalculatorDTO;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface IRankingBuilderService {
-    List<UserRankingCalculatorDTO> buildUsersRankingCalculator(Long classId, Long knowledgeTrailId);
+
+    Map<Long, List<UserRankingCalculatorDTO>> buildUsersRankingCalculator(Long classId, Collection<Long> knowledgeTrailIds);
+
+    List<UserRankingCalculatorDTO> buildUserRankingCalculator(Long classId, Long knowledgeTrailId, Long userId);
+
 }
@@ -7,5 +7,7 @@ import java.util.List;
 
 public interface IRankingCalculatorService {
     List<StudentRankingDTO> calculate(List<UserRankingCalculatorDTO> usersRanking);
+
+    StudentRankingDTO calculateInfos(UserRankingCalculatorDTO userCalculator);
 }
 
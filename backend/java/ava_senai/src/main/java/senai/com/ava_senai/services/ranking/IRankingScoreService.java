@@ -0,0 +1,21 @@
+package senai.com.ava_senai.services.ranking;
+
+import senai.com.ava_senai.domain.ranking.StudentRankingDTO;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface IRankingScoreService {
+
+    void refreshByTaskUser(Long taskUserId);
+
+    void refreshUserScore(Long userId, Long knowledgeTrailId);
+
+    void refreshKnowledgeTrailScores(Long knowledgeTrailId);
+
+    void refreshClassScores(Long classId, Long knowledgeTrailId);
+
+    Map<Long, List<StudentRankingDTO>> calculateClassScores(Long classId, Collection<Long> knowledgeTrailIds);
+
+}
@@ -2,19 +2,11 @@ package senai.com.ava_senai.services.ranking;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import senai.com.ava_senai.domain.ranking.TaskRankingCalculatorDTO;
+import senai.com.ava_senai.domain.ranking.TaskRankingRowDTO;
 import senai.com.ava_senai.domain.ranking.UserRankingCalculatorDTO;
-import senai.com.ava_senai.domain.task.Task;
-import senai.com.ava_senai.domain.task.feedback.Feedback;
-import senai.com.ava_senai.domain.task.taskuser.TaskUser;
-import senai.com.ava_senai.domain.task.userresponse.UserResponse;
-import senai.com.ava_senai.domain.user.User;
 import senai.com.ava_senai.repository.TaskUserRepository;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.*;
 
 @Service
 @RequiredArgsConstructor
@@ -23,54 +15,59 @@ public class RankingBuilderService implements IRankingBuilderService {
     private final TaskUserRepository taskUserRepository;
 
     @Override
-    public List<UserRankingCalculatorDTO> buildUsersRankingCalculator(Long classId, Long knowledgeTrailId) {
+    public Map<Long, List<UserRankingCalculatorDTO>> buildUsersRankingCalculator(Long classId, Collection<Long> knowledgeTrailIds) {
 
-        List<TaskUser> taskUsers = taskUserRepository.findTaskUsersForRanking(classId, knowledgeTrailId);
+        if (knowledgeTrailIds.isEmpty()) {
+            return Map.of();
+        }
 
-        // agrupa as tasks por usuário
-        Map<User, List<TaskUser>> tasksByUser = taskUsers.stream()
-                .collect(Collectors.groupingBy(TaskUser::getUser));
+        // uma única consulta para todas as trilhas, ordenada por trilha e aluno
+        List<TaskRankingRowDTO> rows = taskUserRepository.findTaskRankingRows(classId, knowledgeTrailIds);
 
-        return buildUserRankingCalculator(tasksByUser);
+        return groupByKnowledgeTrailAndUser(rows);
 
     }
 
-    private List<UserRankingCalculatorDTO> buildUserRankingCalculator(Map<User, List<TaskUser>> tasksByUser) {
+    @Override
+    public List<UserRankingCalculatorDTO> buildUserRankingCalculator(Long classId, Long knowledgeTrailId, Long userId) {
 
-        List<UserRankingCalculatorDTO> userRankingCalculatorDTOS = new ArrayList<>();
+        List<TaskRankingRowDTO> rows = taskUserRepository.findTaskRankingRowsByUserId(classId, knowledgeTrailId, userId);
 
-        tasksByUser.forEach((user, tasks) -> {
+        return groupByKnowledgeTrailAndUser(rows).getOrDefault(knowledgeTrailId, List.of());
 
-            List<TaskRankingCalculatorDTO> taskRankingCalculatorDTOS = buildTasksRanking(tasks);
+    }
 
-            userRankingCalculatorDTOS.add(new UserRankingCalculatorDTO(taskRankingCalculatorDTOS, user));
+    private Map<Long, List<UserRankingCalculatorDTO>> groupByKnowledgeTrailAndUser(List<TaskRankingRowDTO> rows) {
 
-        });
+        Map<Long, List<UserRankingCalculatorDTO>> usersByKnowledgeTrail = new LinkedHashMap<>();
 
+        List<UserRankingCalculatorDTO> currentKnowledgeTrailUsers = null;
+        UserRankingCalculatorDTO currentUser = null;
+        Long currentKnowledgeTrailId = null;
 
-        return userRankingCalculatorDTOS;
+        // as linhas chegam agrupadas, então basta detectar a troca de trilha ou de aluno
+        for (TaskRankingRowDTO row : rows) {
 
-    }
+            if (!row.knowledgeTrailId().equals(currentKnowledgeTrailId)) {
+
+                currentKnowledgeTrailId = row.knowledgeTrailId();
+                currentKnowledgeTrailUsers = usersByKnowledgeTrail.computeIfAbsent(currentKnowledgeTrailId, id -> new ArrayList<>());
+                currentUser = null;
 
-    private List<TaskRankingCalculatorDTO> buildTasksRanking(List<TaskUser> taskUsers) {
+            }
 
-        List<TaskRankingCalculatorDTO> taskRankingCalculatorDTOS = new ArrayList<>();
+            if (currentUser == null || !currentUser.getUserId().equals(row.userId())) {
 
-        for (TaskUser taskUser : taskUsers) {
+                currentUser = new UserRankingCalculatorDTO(row.userId(), row.userName());
+                currentKnowledgeTrailUsers.add(currentUser);
 
-            Task task = taskUser.getTask();
-            UserResponse userResponse = taskUser.getUserResponse();
-            Feedback feedback = userResponse != null ? userResponse.getFeedback() : null;
+            }
 
-            taskRankingCalculatorDTOS.add(new TaskRankingCalculatorDTO(
-                    task,
-                    taskUser.getUserResponse(),
-                    feedback
-            ));
+            currentUser.getTasks().add(row);
 
         }
 
-        return taskRankingCalculatorDTOS;
+        return usersByKnowledgeTrail;
 
     }
 
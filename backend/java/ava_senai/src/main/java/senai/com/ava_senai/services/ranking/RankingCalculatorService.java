@@ -2,17 +2,16 @@ package senai.com.ava_senai.services.ranking;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import senai.com.ava_senai.domain.ranking.ScoreAccumulator;
 import senai.com.ava_senai.domain.ranking.ScoreCalculatorTypeEnum;
 import senai.com.ava_senai.domain.ranking.StudentRankingDTO;
-import senai.com.ava_senai.domain.ranking.TaskRankingCalculatorDTO;
 import senai.com.ava_senai.domain.ranking.UserRankingCalculatorDTO;
-import senai.com.ava_senai.domain.user.User;
 import senai.com.ava_senai.services.ranking.calculatorstrategy.ScoreCalculatorStrategy;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -23,10 +22,16 @@ public class RankingCalculatorService implements IRankingCalculatorService {
     @Override
     public List<StudentRankingDTO> calculate(List<UserRankingCalculatorDTO> usersCalculator) {
 
-        List<StudentRankingDTO> ranking = usersCalculator.stream()
-                .map(this::calculateInfos)
-                .sorted(sortUsersByPoints())
-                .toList();
+        // um único acumulador para a turma toda, zerado a cada aluno
+        ScoreAccumulator accumulator = new ScoreAccumulator();
+
+        List<StudentRankingDTO> ranking = new ArrayList<>(usersCalculator.size());
+
+        for (UserRankingCalculatorDTO userCalculator : usersCalculator) {
+            ranking.add(calculateInfos(userCalculator, accumulator));
+        }
+
+        ranking.sort(sortUsersByPoints());
 
         for (int i = 0; i < ranking.size(); i++) {
             ranking.get(i).setPlace(i + 1);
@@ -40,76 +45,30 @@ public class RankingCalculatorService implements IRankingCalculatorService {
         return Comparator.comparingDouble(StudentRankingDTO::getPointsEarned).reversed();
     }
 
+    @Override
     public StudentRankingDTO calculateInfos(UserRankingCalculatorDTO userCalculator) {
+        return calculateInfos(userCalculator, new ScoreAccumulator());
+    }
 
-        List<TaskRankingCalculatorDTO> tasksReviewed = getTasksRevieweds(userCalculator);
-
-        Integer totalTasks = userCalculator.getTasksCalculator().size();
-        Integer countTasksSent = countTasksSent(userCalculator).intValue();
-        Integer countTasksReviewed = tasksReviewed.size();
+    private StudentRankingDTO calculateInfos(UserRankingCalculatorDTO userCalculator, ScoreAccumulator accumulator) {
 
-        Double conclusionPercent = (countTasksSent.doubleValue() / totalTasks.doubleValue()) * 100;
+        accumulator.reset();
 
-        User user = userCalculator.getUser();
+        scoreCalculatorStrategy
+                .getColumnarStrategy(ScoreCalculatorTypeEnum.SINGLE_PASS)
+                .accumulate(userCalculator.getTasks(), accumulator);
 
         return StudentRankingDTO.builder()
-                .name(user.getName())
-                .conclusionPercent(conclusionPercent)
-                .tasksReviewed(countTasksReviewed)
-                .tasksSent(countTasksSent)
-                .totalTasks(totalTasks)
-                .lastResponseDate(getLastResponseDate(userCalculator))
-                .pointsEarned(calculatePointsEarned(tasksReviewed))
-                .mediumGrade(getMediumGrade(tasksReviewed))
+                .name(userCalculator.getUserName())
+                .conclusionPercent(accumulator.getConclusionPercent())
+                .tasksReviewed(accumulator.getTasksReviewed())
+                .tasksSent(accumulator.getTasksSent())
+                .totalTasks(accumulator.getTotalTasks())
+                .lastResponseDate(accumulator.hasResponses() ? new Date(accumulator.getLastResponseAt()) : null)
+                .pointsEarned(accumulator.getPointsEarned())
+                .mediumGrade(accumulator.hasReviews() ? accumulator.getMediumGrade() : null)
                 .build();
 
     }
 
-    private Double getMediumGrade(List<TaskRankingCalculatorDTO> tasksReviewed) {
-
-        if (tasksReviewed.size() == 0) {
-            return null;
-        }
-        Double totalGrade = tasksReviewed.stream()
-                .mapToDouble(task -> task.getFeedback().getGrade())
-                .sum();
-
-        return totalGrade / tasksReviewed.size();
-
-    }
-
-    private Double calculatePointsEarned(List<TaskRankingCalculatorDTO> tasksReviewed) {
-
-        double gradePoints = scoreCalculatorStrategy
-                .getStrategy(ScoreCalculatorTypeEnum.GRADE)
-                .calculate(tasksReviewed);
-
-        double timePoints = scoreCalculatorStrategy
-                .getStrategy(ScoreCalculatorTypeEnum.TIME)
-                .calculate(tasksReviewed);
-
-        return gradePoints + timePoints;
-
-    }
-
-    private Date getLastResponseDate(UserRankingCalculatorDTO userCalculator) {
-
-        return userCalculator.getTasksCalculator().stream()
-                .filter(task -> task.getUserResponse() != null)
-                .max(Comparator.comparing(task -> task.getUserResponse().getCreatedAt()))
-                .map(task -> task.getUserResponse().getCreatedAt())
-                .orElse(null);
-
-    }
-
-    private List<TaskRankingCalculatorDTO> getTasksRevieweds(UserRankingCalculatorDTO userCalculator) {
-        return userCalculator.getTasksCalculator().stream().filter(task -> task.getFeedback() != null).collect(Collectors.toList());
-    }
-
-    private Long countTasksSent(UserRankingCalculatorDTO userCalculator) {
-        return userCalculator.getTasksCalculator().stream().filter(task -> task.getUserResponse() != null).count();
-    }
-
 }
-
-
@@ -0,0 +1,206 @@
+package senai.com.ava_senai.services.ranking;
+
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.BooleanUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import senai.com.ava_senai.domain.ranking.RankingScore;
+import senai.com.ava_senai.domain.ranking.StudentRankingDTO;
+import senai.com.ava_senai.domain.ranking.UserRankingCalculatorDTO;
+import senai.com.ava_senai.domain.task.knowledgetrail.KnowledgeTrail;
+import senai.com.ava_senai.repository.ClassRepository;
+import senai.com.ava_senai.repository.KnowledgeTrailRepository;
+import senai.com.ava_senai.repository.RankingScoreRepository;
+import senai.com.ava_senai.repository.TaskUserRepository;
+
+import java.util.*;
+
+/**
+ * Mantém a tabela ranking_score atualizada a cada evento que altera a pontuação de um aluno
+ * (resposta, feedback, prazo da tarefa, atribuição de tarefas), evitando recalcular o ranking inteiro na leitura.
+ * Só esses caminhos de escrita gravam na tabela, cada um em uma transação; a leitura nunca grava.
+ */
+@Service
+@RequiredArgsConstructor
+public class RankingScoreService implements IRankingScoreService {
+
+    private final RankingScoreRepository rankingScoreRepository;
+    private final TaskUserRepository taskUserRepository;
+    private final KnowledgeTrailRepository knowledgeTrailRepository;
+    private final ClassRepository classRepository;
+    private final IRankingBuilderService rankingBuilderService;
+    private final IRankingCalculatorService rankingCalculatorService;
+
+    @Override
+    @Transactional
+    public void refreshByTaskUser(Long taskUserId) {
+
+        taskUserRepository.findById(taskUserId)
+                .ifPresent(taskUser -> refreshUserScore(taskUser.getUserId(), taskUser.getTask().getKnowledgeTrailId()));
+
+    }
+
+    @Override
+    @Transactional
+    public void refreshUserScore(Long userId, Long knowledgeTrailId) {
+
+        if (!isRanked(knowledgeTrailId)) {
+            return;
+        }
+
+        for (Long classId : classRepository.findClassIdsByUserIdAndKnowledgeTrailId(userId, knowledgeTrailId)) {
+
+            List<UserRankingCalculatorDTO> usersCalculator = rankingBuilderService.buildUserRankingCalculator(classId, knowledgeTrailId, userId);
+
+            if (usersCalculator.isEmpty()) {
+                rankingScoreRepository.deleteUserScore(classId, knowledgeTrailId, userId);
+                continue;
+            }
+
+            saveScores(calculateScores(classId, knowledgeTrailId, usersCalculator));
+
+        }
+
+    }
+
+    /**
+     * Recalcula a trilha em todas as turmas em uma transação: grava por cima das linhas existentes e só depois
+     * remove os alunos e turmas que saíram, então a leitura nunca vê o ranking vazio ou pela metade.
+     */
+    @Override
+    @Transactional
+    public void refreshKnowledgeTrailScores(Long knowledgeTrailId) {
+
+        if (!isRanked(knowledgeTrailId)) {
+            rankingScoreRepository.deleteKnowledgeTrailScores(knowledgeTrailId);
+            return;
+        }
+
+        List<Long> classIds = classRepository.findClassIdsByKnowledgeTrailId(knowledgeTrailId);
+
+        if (classIds.isEmpty()) {
+            rankingScoreRepository.deleteKnowledgeTrailScores(knowledgeTrailId);
+            return;
+        }
+
+        for (Long classId : classIds) {
+            rebuildClassScores(classId, knowledgeTrailId);
+        }
+
+        rankingScoreRepository.deleteKnowledgeTrailScoresOutsideClasses(knowledgeTrailId, classIds);
+
+    }
+
+    @Override
+    @Transactional
+    public void refreshClassScores(Long classId, Long knowledgeTrailId) {
+
+        if (!isRanked(knowledgeTrailId)) {
+            return;
+        }
+
+        rebuildClassScores(classId, knowledgeTrailId);
+
+    }
+
+    /**
+     * Ranking calculado em memória, sem gravar, para trilhas que ainda não têm linhas em ranking_score
+     * (ex.: dados anteriores à tabela). As linhas surgem no próximo evento de escrita da trilha.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, List<StudentRankingDTO>> calculateClassScores(Long classId, Collection<Long> knowledgeTrailIds) {
+
+        Map<Long, List<UserRankingCalculatorDTO>> usersByKnowledgeTrail = rankingBuilderService.buildUsersRankingCalculator(classId, knowledgeTrailIds);
+
+        Map<Long, List<StudentRankingDTO>> rankingByKnowledgeTrail = new HashMap<>();
+
+        for (Long knowledgeTrailId : knowledgeTrailIds) {
+
+            List<UserRankingCalculatorDTO> usersCalculator = usersByKnowledgeTrail.getOrDefault(knowledgeTrailId, List.of());
+
+            rankingByKnowledgeTrail.put(knowledgeTrailId, toRanking(calculateScores(classId, knowledgeTrailId, usersCalculator)));
+
+        }
+
+        return rankingByKnowledgeTrail;
+
+    }
+
+    private void rebuildClassScores(Long classId, Long knowledgeTrailId) {
+
+        Map<Long, List<UserRankingCalculatorDTO>> usersByKnowledgeTrail = rankingBuilderService.buildUsersRankingCalculator(classId, List.of(knowledgeTrailId));
+
+        List<RankingScore> scores = calculateScores(classId, knowledgeTrailId, usersByKnowledgeTrail.getOrDefault(knowledgeTrailId, List.of()));
+
+        saveScores(scores);
+
+        if (scores.isEmpty()) {
+            rankingScoreRepository.deleteClassScores(classId, knowledgeTrailId);
+        } else {
+            rankingScoreRepository.deleteClassScoresExcept(classId, knowledgeTrailId, scores.stream().map(RankingScore::getUserId).toList());
+        }
+
+    }
+
+    // mesma ordem de RankingScoreRepository.findClassRanking
+    private List<StudentRankingDTO> toRanking(List<RankingScore> savedScores) {
+
+        List<RankingScore> scores = new ArrayList<>(savedScores);
+
+        scores.sort(Comparator.comparingDouble(RankingScore::getPointsEarned).reversed()
+                .thenComparing(RankingScore::getUserId));
+
+        List<StudentRankingDTO> ranking = new ArrayList<>(scores.size());
+
+        for (int i = 0; i < scores.size(); i++) {
+            ranking.add(scores.get(i).toStudentRanking(i + 1));
+        }
+
+        return ranking;
+
+    }
+
+    // pontuação de cada aluno, ordenada pelo aluno
+    private List<RankingScore> calculateScores(Long classId, Long knowledgeTrailId, List<UserRankingCalculatorDTO> usersCalculator) {
+
+        List<RankingScore> scores = new ArrayList<>(usersCalculator.size());
+
+        for (UserRankingCalculatorDTO userCalculator : usersCalculator) {
+
+            RankingScore score = new RankingScore(classId, knowledgeTrailId, userCalculator.getUserId());
+
+            score.apply(rankingCalculatorService.calculateInfos(userCalculator));
+
+            scores.add(score);
+
+        }
+
+        scores.sort(Comparator.comparing(RankingScore::getUserId));
+
+        return scores;
+
+    }
+
+    /**
+     * Grava com INSERT ... ON CONFLICT, na ordem do aluno, para que duas atualizações simultâneas da mesma turma
+     * (ex.: dois feedbacks) não falhem na chave única nem travem uma à outra.
+     */
+    private void saveScores(List<RankingScore> scores) {
+
+        for (RankingScore score : scores) {
+            rankingScoreRepository.upsertScore(score.getClassId(), score.getKnowledgeTrailId(), score.getUserId(),
+                    score.getUserName(), score.getConclusionPercent(), score.getTasksSent(), score.getTasksReviewed(),
+                    score.getTotalTasks(), score.getMediumGrade(), score.getLastResponseDate(), score.getPointsEarned());
+        }
+
+    }
+
+    private boolean isRanked(Long knowledgeTrailId) {
+        return knowledgeTrailRepository.findById(knowledgeTrailId)
+                .map(KnowledgeTrail::getRanked)
+                .map(BooleanUtils::isTrue)
+                .orElse(false);
+    }
+
+}
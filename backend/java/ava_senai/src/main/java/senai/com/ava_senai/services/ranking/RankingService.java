@@ -3,21 +3,25 @@ package senai.com.ava_senai.services.ranking;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import senai.com.ava_senai.domain.ranking.RankingResponseDTO;
+import senai.com.ava_senai.domain.ranking.RankingScore;
 import senai.com.ava_senai.domain.ranking.StudentRankingDTO;
-import senai.com.ava_senai.domain.ranking.UserRankingCalculatorDTO;
 import senai.com.ava_senai.domain.task.knowledgetrail.KnowledgeTrail;
 import senai.com.ava_senai.exception.NotFoundException;
 import senai.com.ava_senai.repository.KnowledgeTrailRepository;
+import senai.com.ava_senai.repository.RankingScoreRepository;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class RankingService implements IRankingService {
 
     private final KnowledgeTrailRepository knowledgeTrailRepository;
-    private final IRankingCalculatorService rankingCalculatorService;
-    private final IRankingBuilderService rankingBuilderService;
+    private final RankingScoreRepository rankingScoreRepository;
+    private final IRankingScoreService rankingScoreService;
 
     @Override
     public List<RankingResponseDTO> getRankingsClass(Long classId, List<Long> knowledgeTrailIds) {
@@ -30,18 +34,54 @@ public class RankingService implements IRankingService {
     }
 
     private List<RankingResponseDTO> getRankings(List<KnowledgeTrail> knowledgeTrails, Long classId) {
+
+        if (knowledgeTrails.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> rankedKnowledgeTrailIds = knowledgeTrails.stream().map(KnowledgeTrail::getId).toList();
+
+        // uma única leitura já ordenada por trilha e pontuação
+        Map<Long, List<RankingScore>> scoresByKnowledgeTrail = rankingScoreRepository.findClassRanking(classId, rankedKnowledgeTrailIds)
+                .stream()
+                .collect(Collectors.groupingBy(RankingScore::getKnowledgeTrailId));
+
+        // trilhas ainda sem linhas (ex.: dados anteriores à tabela de ranking) são calculadas juntas, sem gravar
+        List<Long> missingKnowledgeTrailIds = rankedKnowledgeTrailIds.stream()
+                .filter(knowledgeTrailId -> !scoresByKnowledgeTrail.containsKey(knowledgeTrailId))
+                .toList();
+
+        Map<Long, List<StudentRankingDTO>> calculatedRankings = missingKnowledgeTrailIds.isEmpty()
+                ? Map.of()
+                : rankingScoreService.calculateClassScores(classId, missingKnowledgeTrailIds);
+
         return knowledgeTrails.stream()
-                .map(rankedKnowledgeTrail -> getRanking(rankedKnowledgeTrail, classId))
+                .map(rankedKnowledgeTrail -> {
+
+                    List<RankingScore> scores = scoresByKnowledgeTrail.get(rankedKnowledgeTrail.getId());
+
+                    return getRanking(rankedKnowledgeTrail, scores != null ? toStudentsRanking(scores) : calculatedRankings.get(rankedKnowledgeTrail.getId()));
+
+                })
                 .toList();
+
     }
 
-    private RankingResponseDTO getRanking(KnowledgeTrail rankedKnowledgeTrail, Long classId) {
+    private List<StudentRankingDTO> toStudentsRanking(List<RankingScore> scores) {
 
-        RankingResponseDTO rankingResponseDTO = new RankingResponseDTO(rankedKnowledgeTrail);
+        List<StudentRankingDTO> studentsRanking = new ArrayList<>(scores.size());
+
+        for (int i = 0; i < scores.size(); i++) {
+            studentsRanking.add(scores.get(i).toStudentRanking(i + 1));
+        }
 
-        List<UserRankingCalculatorDTO> usersRankingCalculator = rankingBuilderService.buildUsersRankingCalculator(classId, rankedKnowledgeTrail.getId());
+        return studentsRanking;
 
-        List<StudentRankingDTO> studentsRanking = rankingCalculatorService.calculate(usersRankingCalculator);
+    }
+
+    private RankingResponseDTO getRanking(KnowledgeTrail rankedKnowledgeTrail, List<StudentRankingDTO> studentsRanking) {
+
+        RankingResponseDTO rankingResponseDTO = new RankingResponseDTO(rankedKnowledgeTrail);
 
         rankingResponseDTO.setStudentsRanking(studentsRanking);
 
@@ -21,7 +21,7 @@ public class GradeScoreCalculator implements IScoreCalculator {
         }
 
         double totalGrade = tasksReviewed.stream()
-                .mapToDouble(task -> task.getFeedback().getGrade())
+                .mapToDouble(task -> task.getGrade())
                 .sum();
 
         double averageGrade = (totalGrade / tasksReviewed.size()) / 10d;
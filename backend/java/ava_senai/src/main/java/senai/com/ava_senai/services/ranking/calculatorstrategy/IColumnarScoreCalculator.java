@@ -0,0 +1,8 @@
+package senai.com.ava_senai.services.ranking.calculatorstrategy;
+
+import senai.com.ava_senai.domain.ranking.ScoreAccumulator;
+import senai.com.ava_senai.domain.ranking.TaskRankingColumns;
+
+public interface IColumnarScoreCalculator extends IScoreCalculator {
+    void accumulate(TaskRankingColumns tasks, ScoreAccumulator accumulator);
+}
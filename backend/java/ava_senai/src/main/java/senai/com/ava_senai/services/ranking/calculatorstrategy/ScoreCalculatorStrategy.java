@@ -13,6 +13,7 @@ import java.util.logging.Logger;
 public class ScoreCalculatorStrategy {
 
     private final Map<ScoreCalculatorTypeEnum, IScoreCalculator> implementationsMap = new HashMap<>();
+    private final Map<ScoreCalculatorTypeEnum, IColumnarScoreCalculator> columnarImplementationsMap = new HashMap<>();
 
     public ScoreCalculatorStrategy(List<IScoreCalculator> scoreCalculators) {
 
@@ -28,6 +29,10 @@ public class ScoreCalculatorStrategy {
 
                     implementationsMap.put(annotation.value(), scoreCalculator);
 
+                    if (scoreCalculator instanceof IColumnarScoreCalculator columnarScoreCalculator) {
+                        columnarImplementationsMap.put(annotation.value(), columnarScoreCalculator);
+                    }
+
                 } else {
                     throw new Exception("ScoreCalculatorType not found in class: " + scoreCalculator.getClass().getName());
                 }
@@ -45,4 +50,8 @@ public class ScoreCalculatorStrategy {
         return implementationsMap.get(scoreCalculatorType);
     }
 
+    public IColumnarScoreCalculator getColumnarStrategy(ScoreCalculatorTypeEnum scoreCalculatorType) {
+        return columnarImplementationsMap.get(scoreCalculatorType);
+    }
+
 }
@@ -0,0 +1,92 @@
+package senai.com.ava_senai.services.ranking.calculatorstrategy;
+
+import org.springframework.stereotype.Component;
+import senai.com.ava_senai.domain.ranking.ScoreAccumulator;
+import senai.com.ava_senai.domain.ranking.ScoreCalculatorTypeEnum;
+import senai.com.ava_senai.domain.ranking.TaskRankingCalculatorDTO;
+import senai.com.ava_senai.domain.ranking.TaskRankingColumns;
+import senai.com.ava_senai.domain.ranking.TimeConsumedScore;
+import senai.com.ava_senai.services.ranking.calculatorstrategy.anottation.ScoreCalculatorType;
+
+import java.util.List;
+
+/**
+ * Calcula todas as métricas do aluno (envios, avaliações, média, última resposta e pontos de nota + tempo)
+ * em uma única passada sobre as colunas primitivas. Equivale a somar {@link GradeScoreCalculator} e
+ * {@link TimeScoreCalculator}: o tempo é a média só das tarefas avaliadas com prazo e resposta, e sem nenhuma
+ * delas o aluno não ganha pontos de tempo.
+ */
+@Component
+@ScoreCalculatorType(ScoreCalculatorTypeEnum.SINGLE_PASS)
+public class SinglePassScoreCalculator implements IColumnarScoreCalculator {
+
+    private static final int GRADE_POINTS_PERCENTAGE = 75;
+
+    @Override
+    public double calculate(List<TaskRankingCalculatorDTO> tasksReviewed) {
+
+        TaskRankingColumns tasks = new TaskRankingColumns(tasksReviewed.size());
+
+        tasksReviewed.forEach(tasks::add);
+
+        ScoreAccumulator accumulator = new ScoreAccumulator();
+
+        accumulate(tasks, accumulator);
+
+        return accumulator.getPointsEarned();
+
+    }
+
+    @Override
+    public void accumulate(TaskRankingColumns tasks, ScoreAccumulator accumulator) {
+
+        for (int i = 0; i < tasks.size(); i++) {
+
+            accumulator.addTask();
+
+            long responseAt = tasks.responseAt(i);
+
+            if (responseAt != TaskRankingColumns.NO_DATE) {
+                accumulator.addResponse(responseAt);
+            }
+
+            if (!tasks.reviewed(i)) {
+                continue;
+            }
+
+            accumulator.addReview(tasks.grade(i));
+
+            long createdAt = tasks.taskCreatedAt(i);
+            long dueDate = tasks.dueDate(i);
+
+            if (responseAt != TaskRankingColumns.NO_DATE && dueDate != TaskRankingColumns.NO_DATE) {
+                accumulator.addTimeConsumed(((double) (responseAt - createdAt) / (dueDate - createdAt)) * 100d);
+            }
+
+        }
+
+        accumulator.setPointsEarned(gradePoints(accumulator) + timePoints(accumulator));
+
+    }
+
+    private double gradePoints(ScoreAccumulator accumulator) {
+
+        if (!accumulator.hasReviews()) {
+            return 0d;
+        }
+
+        return (accumulator.getMediumGrade() / 10d) * GRADE_POINTS_PERCENTAGE;
+
+    }
+
+    private double timePoints(ScoreAccumulator accumulator) {
+
+        if (!accumulator.hasTimedTasks()) {
+            return 0d;
+        }
+
+        return TimeConsumedScore.pointsFor(accumulator.getMediumTimeConsumedPercent());
+
+    }
+
+}
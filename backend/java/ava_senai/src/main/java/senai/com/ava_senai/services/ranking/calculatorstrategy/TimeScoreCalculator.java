@@ -16,19 +16,27 @@ public class TimeScoreCalculator implements IScoreCalculator {
 
     private static final double MILLIS_IN_DAY = 86_400_000d;
 
+    /**
+     * Média do tempo consumido das tarefas avaliadas que têm prazo e resposta. Tarefas sem prazo não entram
+     * na média e, se nenhuma tiver, o aluno não ganha pontos de tempo.
+     */
     @Override
     public double calculate(List<TaskRankingCalculatorDTO> tasksReviewed) {
 
-        if (tasksReviewed.isEmpty()) {
+        List<TaskRankingCalculatorDTO> tasksTimed = tasksReviewed.stream()
+                .filter(taskReviewed -> taskReviewed.getDueDate() != null && taskReviewed.getResponseDate() != null)
+                .toList();
+
+        if (tasksTimed.isEmpty()) {
             return 0d;
         }
 
-        double totalPercentResponseTimeConsumed = tasksReviewed.stream()
+        double totalPercentResponseTimeConsumed = tasksTimed.stream()
                 .mapToDouble(taskReviewed -> {
 
-                    Date creationDate = taskReviewed.getTask().getCreatedAt();
-                    Date dueDate = taskReviewed.getTask().getDueDate();
-                    Date responseDate = taskReviewed.getUserResponse().getCreatedAt();
+                    Date creationDate = taskReviewed.getTaskCreatedAt();
+                    Date dueDate = taskReviewed.getDueDate();
+                    Date responseDate = taskReviewed.getResponseDate();
 
                     double totalDays =
                             (dueDate.getTime() - creationDate.getTime()) / MILLIS_IN_DAY;
@@ -44,7 +52,7 @@ public class TimeScoreCalculator implements IScoreCalculator {
                 .sum();
 
         double mediumPercentTimeConsumed =
-                totalPercentResponseTimeConsumed / tasksReviewed.size();
+                totalPercentResponseTimeConsumed / tasksTimed.size();
 
         return TimeConsumedScore.valueOf(mediumPercentTimeConsumed);
 
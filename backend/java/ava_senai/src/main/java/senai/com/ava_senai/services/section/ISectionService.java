@@ -4,6 +4,7 @@ import senai.com.ava_senai.domain.course.section.SectionRegisterDTO;
 import senai.com.ava_senai.domain.course.section.SectionResponseDTO;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface ISectionService {
 
@@ -11,6 +12,8 @@ public interface ISectionService {
 
     List<SectionResponseDTO> getAllSections();
 
+    Stream<SectionResponseDTO> streamAllSections();
+
     SectionResponseDTO createSection(SectionRegisterDTO sectionRegister) throws Exception;
 
     SectionResponseDTO updateSection(SectionRegisterDTO sectionRegister, Long id);
@@ -10,9 +10,12 @@ import senai.com.ava_senai.exception.NullListException;
 import senai.com.ava_senai.exception.Validation;
 import senai.com.ava_senai.repository.CourseRepository;
 import senai.com.ava_senai.repository.SectionRepository;
+import senai.com.ava_senai.services.course.CourseContentCache;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -20,6 +23,7 @@ public class SectionService implements ISectionService {
 
     private final SectionRepository sectionRepository;
     private final CourseRepository courseRepository;
+    private final CourseContentCache courseContentCache;
 
     @Override
     public SectionResponseDTO getSectionById(Long id) {
@@ -44,6 +48,11 @@ public class SectionService implements ISectionService {
 
     }
 
+    @Override
+    public Stream<SectionResponseDTO> streamAllSections() {
+        return sectionRepository.streamAll().map(SectionResponseDTO::new);
+    }
+
     @Override
     public SectionResponseDTO createSection(SectionRegisterDTO sectionRegister) throws Exception {
 
@@ -57,6 +66,8 @@ public class SectionService implements ISectionService {
 
                     section = sectionRepository.save(section);
 
+                    courseContentCache.invalidateCourse(section.getCourseId());
+
                     return new SectionResponseDTO(section);
 
                 })
@@ -105,8 +116,16 @@ public class SectionService implements ISectionService {
 
                     validateSectionSameName(sectionRegister, sectionDB);
 
+                    Long previousCourseId = sectionDB.getCourseId();
+
                     sectionDB = sectionRepository.save(updateData(sectionDB, sectionRegister));
 
+                    if (!Objects.equals(previousCourseId, sectionDB.getCourseId())) {
+                        courseContentCache.invalidateCourse(previousCourseId);
+                    }
+
+                    courseContentCache.invalidateCourse(sectionDB.getCourseId());
+
                     return new SectionResponseDTO(sectionDB);
 
                 })
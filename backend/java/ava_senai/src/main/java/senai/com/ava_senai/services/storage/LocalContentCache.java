@@ -0,0 +1,368 @@
+package senai.com.ava_senai.services.storage;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import senai.com.ava_senai.dto.ContentCacheStats;
+import senai.com.ava_senai.dto.FileMetadata;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cache em disco, LRU e limitado por tamanho, dos objetos lidos do MinIO. Uma entrada é servida sem
+ * consultar o MinIO enquanto estiver dentro do TTL; depois disso é revalidada pelo ETag com um statObject
+ * e só é baixada de novo se o objeto mudou.
+ */
+@Component
+public class LocalContentCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalContentCache.class);
+
+    private static final String ENTRY_SUFFIX = ".cache";
+
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    @Value("${storage.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${storage.cache.directory:${java.io.tmpdir}/ava-content-cache}")
+    private Path directory;
+
+    @Value("${storage.cache.max-size-bytes:1073741824}")
+    private long maxSizeBytes;
+
+    @Value("${storage.cache.max-entry-size-bytes:268435456}")
+    private long maxEntrySizeBytes;
+
+    @Value("${storage.cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    // ordem de acesso: o primeiro elemento é o menos usado recentemente
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+
+    private long sizeBytes;
+
+    private final Map<String, CompletableFuture<Entry>> loading = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong revalidations = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong bypasses = new AtomicLong();
+    private final AtomicLong bytesServed = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+
+        if (!enabled) {
+            return;
+        }
+
+        try {
+
+            Files.createDirectories(directory);
+
+            // o índice fica em memória, arquivos de execuções anteriores não são reaproveitados
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*{" + ENTRY_SUFFIX + "," + TEMP_SUFFIX + "}")) {
+                for (Path file : files) {
+                    Files.deleteIfExists(file);
+                }
+            }
+
+        } catch (IOException e) {
+            logger.warn("Content cache disabled, could not prepare directory {}: {}", directory, e.getMessage());
+            enabled = false;
+        }
+
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Retorna a entrada do objeto, revalidando ou baixando quando necessário. Objetos maiores que
+     * storage.cache.max-entry-size-bytes não são guardados: o resultado vem sem entrada, só com os metadados.
+     *
+     * @param stat     consulta os metadados atuais do objeto no MinIO
+     * @param download abre o objeto inteiro no MinIO
+     */
+    public Lookup get(String bucketName, String objectKey, Supplier<FileMetadata> stat, Supplier<InputStream> download) {
+
+        String key = key(bucketName, objectKey);
+
+        Entry entry = lookup(key);
+
+        if (entry != null && entry.isFresh(ttlSeconds)) {
+            hits.incrementAndGet();
+            return new Lookup(entry, entry.metadata);
+        }
+
+        FileMetadata metadata = stat.get();
+
+        if (entry != null && entry.metadata.getEtag() != null && Objects.equals(entry.metadata.getEtag(), metadata.getEtag())) {
+            entry.validatedAt = System.currentTimeMillis();
+            revalidations.incrementAndGet();
+            hits.incrementAndGet();
+            return new Lookup(entry, entry.metadata);
+        }
+
+        if (entry != null) {
+            remove(key, entry);
+        }
+
+        if (metadata.getSize() > maxEntrySizeBytes || metadata.getSize() > maxSizeBytes) {
+            bypasses.incrementAndGet();
+            return new Lookup(null, metadata);
+        }
+
+        misses.incrementAndGet();
+
+        // requisições simultâneas do mesmo objeto esperam um único download
+        CompletableFuture<Entry> future = new CompletableFuture<>();
+        CompletableFuture<Entry> inFlight = loading.putIfAbsent(key, future);
+
+        if (inFlight != null) {
+            try {
+                Entry loaded = inFlight.join();
+                return new Lookup(loaded, loaded.metadata);
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException runtimeException ? runtimeException : e;
+            }
+        }
+
+        try {
+            Entry loaded = load(key, metadata, download);
+            future.complete(loaded);
+            return new Lookup(loaded, metadata);
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, future);
+        }
+
+    }
+
+    public void invalidate(String bucketName, String objectKey) {
+
+        String key = key(bucketName, objectKey);
+
+        Entry entry;
+
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+
+        if (entry != null) {
+            remove(key, entry);
+        }
+
+    }
+
+    /**
+     * Copia o intervalo do arquivo em cache para a resposta com FileChannel.transferTo, sem buffers
+     * intermediários na aplicação.
+     */
+    public void transfer(Entry entry, long offset, long length, OutputStream outputStream) throws IOException {
+
+        try (FileChannel channel = FileChannel.open(entry.file, StandardOpenOption.READ)) {
+
+            WritableByteChannel target = Channels.newChannel(outputStream);
+
+            long position = offset;
+            long remaining = length;
+
+            while (remaining > 0) {
+
+                long transferred = channel.transferTo(position, remaining, target);
+
+                if (transferred <= 0) {
+                    break;
+                }
+
+                position += transferred;
+                remaining -= transferred;
+
+            }
+
+            bytesServed.addAndGet(length - remaining);
+
+        }
+
+        outputStream.flush();
+
+    }
+
+    public ContentCacheStats stats() {
+
+        synchronized (entries) {
+            return new ContentCacheStats(hits.get(), misses.get(), revalidations.get(), evictions.get(), bypasses.get(),
+                    bytesServed.get(), entries.size(), sizeBytes, maxSizeBytes);
+        }
+
+    }
+
+    private Entry lookup(String key) {
+
+        synchronized (entries) {
+            return entries.get(key);
+        }
+
+    }
+
+    private Entry load(String key, FileMetadata metadata, Supplier<InputStream> download) {
+
+        Path temp = directory.resolve(UUID.randomUUID() + TEMP_SUFFIX);
+        Path file = directory.resolve(UUID.randomUUID() + ENTRY_SUFFIX);
+
+        try {
+
+            try (InputStream inputStream = download.get()) {
+                Files.copy(inputStream, temp);
+            }
+
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+
+        } catch (IOException e) {
+            deleteQuietly(temp);
+            throw new RuntimeException("Error caching file", e);
+        }
+
+        Entry entry = new Entry(file, metadata, sizeOf(file, metadata));
+
+        List<Entry> evicted = new ArrayList<>();
+
+        synchronized (entries) {
+
+            Entry previous = entries.put(key, entry);
+
+            if (previous != null) {
+                sizeBytes -= previous.size;
+                evicted.add(previous);
+            }
+
+            sizeBytes += entry.size;
+
+            Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+
+            while (sizeBytes > maxSizeBytes && iterator.hasNext()) {
+
+                Entry eldest = iterator.next().getValue();
+
+                if (eldest == entry) {
+                    continue;
+                }
+
+                iterator.remove();
+                sizeBytes -= eldest.size;
+                evicted.add(eldest);
+                evictions.incrementAndGet();
+
+            }
+
+        }
+
+        // arquivos abertos por downloads em andamento continuam legíveis após a remoção
+        evicted.forEach(old -> deleteQuietly(old.file));
+
+        return entry;
+
+    }
+
+    private void remove(String key, Entry entry) {
+
+        boolean removed;
+
+        synchronized (entries) {
+
+            removed = entries.remove(key, entry);
+
+            if (removed) {
+                sizeBytes -= entry.size;
+            }
+
+        }
+
+        if (removed) {
+            deleteQuietly(entry.file);
+        }
+
+    }
+
+    private long sizeOf(Path file, FileMetadata metadata) {
+
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return metadata.getSize();
+        }
+
+    }
+
+    private void deleteQuietly(Path file) {
+
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Could not delete cached file {}: {}", file, e.getMessage());
+        }
+
+    }
+
+    private String key(String bucketName, String objectKey) {
+        return bucketName + "/" + objectKey;
+    }
+
+    public record Lookup(Entry entry, FileMetadata metadata) {
+    }
+
+    public static final class Entry {
+
+        private final Path file;
+        private final FileMetadata metadata;
+        private final long size;
+        private volatile long validatedAt;
+
+        private Entry(Path file, FileMetadata metadata, long size) {
+            this.file = file;
+            this.metadata = metadata;
+            this.size = size;
+            this.validatedAt = System.currentTimeMillis();
+        }
+
+        public FileMetadata getMetadata() {
+            return metadata;
+        }
+
+        private boolean isFresh(long ttlSeconds) {
+            return System.currentTimeMillis() - validatedAt < ttlSeconds * 1000;
+        }
+
+    }
+
+}
@@ -1,41 +1,96 @@
 package senai.com.ava_senai.services.storage;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.minio.*;
-import io.minio.errors.MinioException;
+import io.minio.errors.ErrorResponseException;
 import lombok.RequiredArgsConstructor;
+import org.apache.commons.io.input.ProxyInputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpRange;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
-import senai.com.ava_senai.dto.FileData;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import senai.com.ava_senai.dto.ContentCacheStats;
+import senai.com.ava_senai.dto.ContentDownload;
+import senai.com.ava_senai.dto.FileMetadata;
+import senai.com.ava_senai.exception.NotFoundException;
 import senai.com.ava_senai.services.task.TaskContentService;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.NoSuchFileException;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 @RequiredArgsConstructor
 public class StorageService {
 
+    private static final String NO_SUCH_KEY = "NoSuchKey";
+
+    private static final String NO_SUCH_BUCKET = "NoSuchBucket";
+
+    private static final String BUCKET_ALREADY_OWNED = "BucketAlreadyOwnedByYou";
+
+    // o MinIO exige partes de no mínimo 5 MiB
+    private static final long MIN_PART_SIZE = 5L * 1024 * 1024;
+
+    private final Set<String> knownBuckets = ConcurrentHashMap.newKeySet();
+
     protected final MinioClient minioClient;
 
+    private final LocalContentCache contentCache;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${storage.download.buffer-size:65536}")
+    private int downloadBufferSize;
+
+    private long uploadPartSize;
+
+    @Value("${storage.upload.part-size:10485760}")
+    void setUploadPartSize(long uploadPartSize) {
+        this.uploadPartSize = Math.max(uploadPartSize, MIN_PART_SIZE);
+    }
+
     private static final Logger logger = LoggerFactory.getLogger(TaskContentService.class);
 
     public void createBucketIfNotExists(String bucketName) throws Exception {
 
+        // buckets já confirmados não precisam de um bucketExists antes de cada upload
+        if (knownBuckets.contains(bucketName)) {
+            return;
+        }
+
         boolean exists = minioClient.bucketExists(BucketExistsArgs.builder().bucket(bucketName).build());
 
         if (!exists) {
-            minioClient.makeBucket(MakeBucketArgs.builder().bucket(bucketName).build());
+
+            try {
+                minioClient.makeBucket(MakeBucketArgs.builder().bucket(bucketName).build());
+            } catch (ErrorResponseException e) {
+                // outro upload criou o bucket ao mesmo tempo
+                if (!BUCKET_ALREADY_OWNED.equals(e.errorResponse().code())) {
+                    throw e;
+                }
+            }
+
         }
 
+        knownBuckets.add(bucketName);
+
     }
 
-    public String uploadContent(byte[] content, String contentType, String identifier, String bucketName) {
+    /**
+     * Envia o conteúdo lendo direto do stream recebido, em partes de tamanho fixo (storage.upload.part-size),
+     * sem carregar o arquivo inteiro em memória.
+     */
+    public String uploadContent(InputStream content, long size, String contentType, String identifier, String bucketName) {
 
         try {
 
@@ -43,13 +98,13 @@ public class StorageService {
 
             String objectKey = generateObjectKey(identifier);
 
-            try (InputStream inputStream = new ByteArrayInputStream(content)) {
+            try (InputStream inputStream = countTransfer(content, "upload", bucketName)) {
 
                 minioClient.putObject(
                         PutObjectArgs.builder()
                                 .bucket(bucketName)
                                 .object(objectKey)
-                                .stream(inputStream, content.length, -1)
+                                .stream(inputStream, size, uploadPartSize)
                                 .contentType(contentType)
                                 .build()
                 );
@@ -58,6 +113,15 @@ public class StorageService {
 
             }
 
+        } catch (ErrorResponseException e) {
+
+            // bucket removido fora da aplicação, o próximo upload volta a criá-lo
+            if (NO_SUCH_BUCKET.equals(e.errorResponse().code())) {
+                knownBuckets.remove(bucketName);
+            }
+
+            throw new RuntimeException("Error uploading file", e);
+
         } catch (Exception e) {
             throw new RuntimeException("Error uploading file", e);
         }
@@ -72,11 +136,11 @@ public class StorageService {
 
         try {
 
-            return minioClient.getObject(
+            return countTransfer(minioClient.getObject(
                     GetObjectArgs.builder()
                             .bucket(bucketName)
                             .object(objectKey)
-                            .build());
+                            .build()), "download", bucketName);
 
         } catch (Exception e) {
             throw new RuntimeException("Error accessing bucket", e);
@@ -86,6 +150,8 @@ public class StorageService {
 
     public void deleteContent(String contentUrl, String bucketName) {
 
+        contentCache.invalidate(bucketName, contentUrl);
+
         try {
 
             minioClient.removeObject(
@@ -101,56 +167,204 @@ public class StorageService {
 
     }
 
-    public FileData findContentByPath(String filePath, String bucket) throws Throwable {
+    /**
+     * Prepara o download do objeto com um único statObject. O corpo retornado lê o objeto (ou apenas o
+     * intervalo solicitado no header Range) em blocos de tamanho fixo, então o consumo de memória por
+     * download não depende do tamanho do arquivo.
+     */
+    public ContentDownload prepareDownload(String objectKey, String bucketName, String rangeHeader) {
+
+        FileMetadata metadata = statContent(objectKey, bucketName);
+
+        logger.info("Streaming file {} ({} bytes, {})", objectKey, metadata.getSize(), metadata.getMimeType());
+
+        return buildDownload(metadata, rangeHeader, (offset, length) -> streamBody(objectKey, bucketName, offset, length));
+
+    }
+
+    /**
+     * Igual a {@link #prepareDownload}, mas servindo o objeto a partir do cache local em disco. Usado para
+     * materiais lidos por todos os alunos de uma turma.
+     */
+    public ContentDownload prepareCachedDownload(String objectKey, String bucketName, String rangeHeader) {
+
+        if (!contentCache.isEnabled()) {
+            return prepareDownload(objectKey, bucketName, rangeHeader);
+        }
+
+        LocalContentCache.Lookup lookup = contentCache.get(bucketName, objectKey,
+                () -> statContent(objectKey, bucketName),
+                () -> downloadContent(objectKey, bucketName));
+
+        LocalContentCache.Entry entry = lookup.entry();
+
+        if (entry == null) {
+            return buildDownload(lookup.metadata(), rangeHeader, (offset, length) -> streamBody(objectKey, bucketName, offset, length));
+        }
+
+        return buildDownload(lookup.metadata(), rangeHeader, (offset, length) -> outputStream -> {
+
+            if (length <= 0) {
+                return;
+            }
+
+            try {
+                contentCache.transfer(entry, offset, length, outputStream);
+            } catch (NoSuchFileException e) {
+                // entrada removida do cache entre a consulta e o envio
+                streamBody(objectKey, bucketName, offset, length).writeTo(outputStream);
+            }
+
+        });
+
+    }
+
+    public ContentCacheStats getContentCacheStats() {
+        return contentCache.stats();
+    }
+
+    private ContentDownload buildDownload(FileMetadata metadata, String rangeHeader, RangeBody rangeBody) {
+
+        List<HttpRange> ranges = parseRanges(rangeHeader);
+
+        // múltiplos intervalos (multipart/byteranges) não são suportados, o arquivo é enviado inteiro
+        if (ranges.size() != 1) {
+            return ContentDownload.full(metadata, rangeBody.open(0, metadata.getSize()));
+        }
+
+        long start;
+        long end;
 
         try {
+            start = ranges.get(0).getRangeStart(metadata.getSize());
+            end = ranges.get(0).getRangeEnd(metadata.getSize());
+        } catch (IllegalArgumentException e) {
+            return ContentDownload.unsatisfiable(metadata);
+        }
 
-            InputStream stream = downloadContent(filePath, bucket);
+        if (metadata.getSize() == 0 || start > end) {
+            return ContentDownload.unsatisfiable(metadata);
+        }
 
-            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        return ContentDownload.partial(metadata, start, end, rangeBody.open(start, end - start + 1));
 
-            byte[] data = new byte[4096];
+    }
+
+    public FileMetadata statContent(String objectKey, String bucketName) {
+
+        StatObjectResponse stat;
+
+        try {
+
+            stat = minioClient.statObject(
+                    StatObjectArgs.builder()
+                            .bucket(bucketName)
+                            .object(objectKey)
+                            .build()
+            );
 
-            int nRead;
+        } catch (ErrorResponseException e) {
 
-            while ((nRead = stream.read(data, 0, data.length)) != -1) {
-                buffer.write(data, 0, nRead);
+            if (NO_SUCH_KEY.equals(e.errorResponse().code()) || NO_SUCH_BUCKET.equals(e.errorResponse().code())) {
+                throw new NotFoundException("Arquivo não encontrado: " + objectKey);
             }
 
-            buffer.flush();
-            stream.close();
+            throw new RuntimeException("Error accessing bucket", e);
 
-            byte[] fileBytes = buffer.toByteArray();
+        } catch (Exception e) {
+            throw new RuntimeException("Error accessing bucket", e);
+        }
 
-            logger.info("Fetched file size: {} bytes", fileBytes.length);
+        String mimeType = stat.contentType();
 
-            if (fileBytes.length == 0) {
-                throw new IOException("File is empty or could not be read from MinIO");
+        if (mimeType == null || mimeType.isBlank() || MediaType.APPLICATION_OCTET_STREAM_VALUE.equals(mimeType)) {
+            mimeType = inferMimeType(objectKey);
+        }
+
+        return new FileMetadata(mimeType, stat.size(), stat.etag(), stat.lastModified());
+
+    }
+
+    public InputStream downloadContent(String objectKey, String bucketName, long offset, long length) {
+
+        try {
+
+            return countTransfer(minioClient.getObject(
+                    GetObjectArgs.builder()
+                            .bucket(bucketName)
+                            .object(objectKey)
+                            .offset(offset)
+                            .length(length)
+                            .build()), "download", bucketName);
+
+        } catch (Exception e) {
+            throw new RuntimeException("Error accessing bucket", e);
+        }
+
+    }
+
+    /**
+     * Conta os bytes efetivamente lidos do stream em storage.transfer.bytes, inclusive quando o cliente
+     * interrompe o download no meio.
+     */
+    private InputStream countTransfer(InputStream inputStream, String direction, String bucketName) {
+
+        Counter transferred = Counter.builder("storage.transfer.bytes")
+                .description("Bytes transferidos entre a aplicação e o MinIO")
+                .baseUnit("bytes")
+                .tag("direction", direction)
+                .tag("bucket", bucketName)
+                .register(meterRegistry);
+
+        return new ProxyInputStream(inputStream) {
+            @Override
+            protected void afterRead(int n) {
+                if (n > 0) {
+                    transferred.increment(n);
+                }
             }
+        };
 
-            String mimeType = null;
+    }
 
-            try {
+    private StreamingResponseBody streamBody(String objectKey, String bucketName, long offset, long length) {
 
-                var stat = minioClient.statObject(
-                        StatObjectArgs.builder()
-                                .bucket(bucket)
-                                .object(filePath)
-                                .build()
-                );
+        return outputStream -> {
+
+            if (length <= 0) {
+                return;
+            }
+
+            try (InputStream inputStream = downloadContent(objectKey, bucketName, offset, length)) {
 
-                mimeType = stat.contentType();
+                byte[] buffer = new byte[downloadBufferSize];
+
+                int read;
+
+                while ((read = inputStream.read(buffer)) != -1) {
+                    outputStream.write(buffer, 0, read);
+                }
+
+                outputStream.flush();
 
-            } catch (MinioException e) {
-                logger.warn("Could not fetch MIME type from MinIO metadata, inferring from extension. Error: {}", e.getMessage());
-                mimeType = inferMimeType(filePath);
             }
 
-            return new FileData(fileBytes, mimeType);
+        };
 
-        } catch (Exception e) {
-            logger.error("Failed to fetch file from MinIO: {}", e.getMessage(), e);
-            throw new IOException("Failed to fetch file from MinIO: " + e.getMessage(), e);
+    }
+
+    private List<HttpRange> parseRanges(String rangeHeader) {
+
+        if (rangeHeader == null || rangeHeader.isBlank()) {
+            return List.of();
+        }
+
+        try {
+            return HttpRange.parseRanges(rangeHeader);
+        } catch (IllegalArgumentException e) {
+            // header inválido é ignorado, como permite a RFC 9110
+            logger.warn("Ignoring invalid Range header '{}': {}", rangeHeader, e.getMessage());
+            return List.of();
         }
 
     }
@@ -170,4 +384,9 @@ public class StorageService {
         };
     }
 
+    @FunctionalInterface
+    private interface RangeBody {
+        StreamingResponseBody open(long offset, long length);
+    }
+
 }
@@ -3,7 +3,7 @@ package senai.com.ava_senai.services.task;
 import org.springframework.web.multipart.MultipartFile;
 import senai.com.ava_senai.domain.task.userresponsecontent.UserResponseContentRegisterDTO;
 import senai.com.ava_senai.domain.task.userresponsecontent.UserResponseContentResponseDTO;
-import senai.com.ava_senai.dto.FileData;
+import senai.com.ava_senai.dto.ContentDownload;
 
 import java.io.IOException;
 
@@ -11,5 +11,5 @@ public interface IUserResponseContentService {
     UserResponseContentResponseDTO saveUserResponseContent(UserResponseContentRegisterDTO userResponseContentRegisterDTO, MultipartFile file) throws IOException;
     void delete(Long id);
 
-    FileData findContentByPath(String filePath) throws Throwable;
+    ContentDownload findContentByPath(String filePath, String rangeHeader);
 }
@@ -11,13 +11,16 @@ import senai.com.ava_senai.domain.task.taskcontent.TaskContent;
 import senai.com.ava_senai.domain.task.taskcontent.TaskContentRegisterDTO;
 import senai.com.ava_senai.domain.task.taskcontent.TaskContentResponseDTO;
 import senai.com.ava_senai.domain.task.taskcontent.TaskContentType;
-import senai.com.ava_senai.dto.FileData;
+import senai.com.ava_senai.dto.ContentCacheStats;
+import senai.com.ava_senai.dto.ContentDownload;
 import senai.com.ava_senai.exception.Validation;
 import senai.com.ava_senai.repository.TaskContentRepository;
 import senai.com.ava_senai.repository.TaskRepository;
+import senai.com.ava_senai.services.course.CourseContentCache;
 import senai.com.ava_senai.services.storage.StorageService;
 
 import java.io.IOException;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
@@ -26,6 +29,7 @@ public class TaskContentService implements ITaskContentService {
     private final TaskContentRepository taskContentRepository;
     private final StorageService storageService;
     private final TaskRepository taskRepository;
+    private final CourseContentCache courseContentCache;
     public static final String TASK_CONTENT_BUCKET = "task-contents";
 
 
@@ -46,6 +50,8 @@ public class TaskContentService implements ITaskContentService {
             uploadContent(taskContent, file);
         }
 
+        courseContentCache.invalidateByTasks(List.of(taskContent.getTaskId()));
+
         return new TaskContentResponseDTO(taskContent);
 
     }
@@ -85,7 +91,8 @@ public class TaskContentService implements ITaskContentService {
     public void uploadContent(TaskContent taskContent, MultipartFile file) throws IOException {
 
         String objectKey = storageService.uploadContent(
-                file.getBytes(),
+                file.getInputStream(),
+                file.getSize(),
                 file.getContentType(),
                 taskContent.getTaskId().toString(),
                 TASK_CONTENT_BUCKET
@@ -110,6 +117,8 @@ public class TaskContentService implements ITaskContentService {
 
         taskContentRepository.delete(taskContent);
 
+        courseContentCache.invalidateByTasks(List.of(taskContent.getTaskId()));
+
     }
 
     public TaskContent createTaskContent(TaskContentRegisterDTO taskResponseContentRegisterDTO) {
@@ -128,7 +137,7 @@ public class TaskContentService implements ITaskContentService {
 
     }
 
-    public FileData findContentByPath(String filePath) throws Throwable {
+    public ContentDownload findContentByPath(String filePath, String rangeHeader) {
 
         logger.info("Fetching file from MinIO. Bucket: {}, Object: {}", TASK_CONTENT_BUCKET, filePath);
 
@@ -136,8 +145,12 @@ public class TaskContentService implements ITaskContentService {
             throw new IllegalArgumentException("File path must not be empty");
         }
 
-        return storageService.findContentByPath(filePath, TASK_CONTENT_BUCKET);
+        return storageService.prepareCachedDownload(filePath, TASK_CONTENT_BUCKET, rangeHeader);
+
+    }
 
+    public ContentCacheStats getContentCacheStats() {
+        return storageService.getContentCacheStats();
     }
 
 }
@@ -1,21 +1,31 @@
 package senai.com.ava_senai.services.task;
 
 import com.google.gson.Gson;
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.BooleanUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
 import senai.com.ava_senai.config.RabbitMQConfig;
+import senai.com.ava_senai.domain.dashboard.DashBoardCounterType;
 import senai.com.ava_senai.domain.task.*;
 import senai.com.ava_senai.domain.task.knowledgetrail.KnowledgeTrail;
-import senai.com.ava_senai.domain.task.taskuser.TaskUser;
-import senai.com.ava_senai.domain.user.User;
 import senai.com.ava_senai.exception.NotFoundException;
 import senai.com.ava_senai.exception.Validation;
 import senai.com.ava_senai.repository.*;
+import senai.com.ava_senai.services.course.CourseContentCache;
+import senai.com.ava_senai.services.dashboard.IDashBoardCounterService;
+import senai.com.ava_senai.services.dashboard.IDashBoardService;
 import senai.com.ava_senai.services.messaging.RabbitMQSender;
+import senai.com.ava_senai.services.ranking.IRankingScoreService;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -23,12 +33,16 @@ import java.util.logging.Logger;
 @RequiredArgsConstructor
 public class TaskService implements ITaskService {
 
-    private final UserRepository userRepository;
     private final TaskRepository taskRepository;
     private final RabbitMQSender rabbitMQSender;
     private final TaskUserRepository taskUserRepository;
     private final CourseRepository courseRepository;
+    private final ClassRepository classRepository;
     private final KnowledgeTrailRepository knowledgeTrailRepository;
+    private final IRankingScoreService rankingScoreService;
+    private final IDashBoardService dashBoardService;
+    private final IDashBoardCounterService dashBoardCounterService;
+    private final CourseContentCache courseContentCache;
 
     @Override
     public TaskResponseDTO createTask(TaskRegisterDTO taskRegister) {
@@ -37,6 +51,14 @@ public class TaskService implements ITaskService {
 
         Task task = create(taskRegister);
 
+        courseContentCache.invalidateByTasks(List.of(task.getId()));
+
+        dashBoardCounterService.increment(DashBoardCounterType.TOTAL_TASKS, 1);
+
+        if (knowledgeTrailRepository.existsByIdAndRankedTrue(task.getKnowledgeTrailId())) {
+            dashBoardCounterService.increment(DashBoardCounterType.TOTAL_RANKED_TASKS, 1);
+        }
+
         sendMessageCreateUsersTask(task.getId(), taskRegister.courseId());
 
         return new TaskResponseDTO(task);
@@ -44,26 +66,48 @@ public class TaskService implements ITaskService {
     }
 
     @Override
-    public void saveTaskUsersForCourse(TaskUserCourseMessage taskUserCourseMessage) {
+    public int saveTaskUsersForCourse(Long courseId, Collection<Long> taskIds) {
 
-        // Get all users from the course that does not have the task assigned
-        List<User> users = userRepository.findUsersByCourseIdWhereNotExistsUserTask(taskUserCourseMessage.getCourseId(),
-                taskUserCourseMessage.getTaskId());
+        // Assign the tasks to every user of the course that does not have them yet, in a single statement
+        int inserted = taskUserRepository.insertMissingTaskUsersForCourse(courseId, taskIds);
 
-        Logger.getLogger(TaskService.class.getName()).log(Level.INFO, "Processando mensagem de criação de tarefa " + taskUserCourseMessage.getTaskId() +  " para " + users.size() + " usuários do curso: " + taskUserCourseMessage.getCourseId());
+        Logger.getLogger(TaskService.class.getName()).log(Level.INFO, "Tarefas " + taskIds + " atribuídas em " + inserted + " registros para o curso: " + courseId);
 
-        // Create user tasks for each user in the course
-        users.forEach(user -> {
+        // novas tarefas mudam o total de tarefas dos alunos no ranking, apenas nas turmas deste curso
+        if (inserted > 0) {
+            taskRepository.findAllById(taskIds).stream()
+                    .map(Task::getKnowledgeTrailId)
+                    .distinct()
+                    .forEach(knowledgeTrailId -> classRepository.findClassIdsByCourseIdAndKnowledgeTrailId(courseId, knowledgeTrailId)
+                            .forEach(classId -> rankingScoreService.refreshClassScores(classId, knowledgeTrailId)));
 
-            TaskUser userTask = new TaskUser();
+            // os alunos do curso não são listados aqui, então os painéis em cache são descartados
+            dashBoardService.evictAll();
+        }
 
-            userTask.setTaskId(taskUserCourseMessage.getTaskId());
-            userTask.setIdInstitution(user.getIdInstitution());
-            userTask.setUserId(user.getId());
+        return inserted;
+
+    }
+
+    @Override
+    public int saveCourseTasksForUsers(CourseUsersTaskMessage courseUsersTaskMessage) {
 
-            taskUserRepository.save(userTask);
+        int inserted = taskUserRepository.insertMissingCourseTasksForUsers(courseUsersTaskMessage.getCourseId(),
+                courseUsersTaskMessage.getUserIds());
 
-        });
+        Logger.getLogger(TaskService.class.getName()).log(Level.INFO, inserted + " tarefas do curso " + courseUsersTaskMessage.getCourseId() + " atribuídas a " + courseUsersTaskMessage.getUserIds().size() + " usuários");
+
+        // só a pontuação dos alunos que receberam as tarefas muda
+        if (inserted > 0) {
+            for (Long knowledgeTrailId : knowledgeTrailRepository.findRankedKnowledgeTrailIdsByCourseId(courseUsersTaskMessage.getCourseId())) {
+                courseUsersTaskMessage.getUserIds()
+                        .forEach(userId -> rankingScoreService.refreshUserScore(userId, knowledgeTrailId));
+            }
+
+            dashBoardService.evictUsers(courseUsersTaskMessage.getUserIds());
+        }
+
+        return inserted;
 
     }
 
@@ -74,10 +118,25 @@ public class TaskService implements ITaskService {
 
         validateMandatoryFields(taskRegisterDTO);
 
+        Long previousKnowledgeTrailId = task.getKnowledgeTrailId();
+        Date previousDueDate = task.getDueDate();
+
         task = updateData(task, taskRegisterDTO);
 
         taskRepository.save(task);
 
+        refreshRankingScores(task, previousKnowledgeTrailId, previousDueDate);
+
+        countRankedTaskMove(previousKnowledgeTrailId, task.getKnowledgeTrailId());
+
+        if (!previousKnowledgeTrailId.equals(task.getKnowledgeTrailId())) {
+            courseContentCache.invalidateByKnowledgeTrail(previousKnowledgeTrailId);
+        }
+
+        courseContentCache.invalidateByTasks(List.of(task.getId()));
+
+        dashBoardService.evictAll();
+
         return new TaskResponseDTO(task);
 
     }
@@ -92,25 +151,103 @@ public class TaskService implements ITaskService {
     }
 
     @Override
-    public void updateTaskOrder(List<TaskUpdateOrderDTO> taskUpdateOrderDTOS) {
+    @Transactional
+    public List<TaskUpdateOrderDTO> updateTaskOrder(List<TaskUpdateOrderDTO> taskUpdateOrderDTOS) {
+
+        if (CollectionUtils.isEmpty(taskUpdateOrderDTOS)) {
+            return List.of();
+        }
+
+        validateTaskOrder(taskUpdateOrderDTOS);
+
+        Long[] taskIds = taskUpdateOrderDTOS.stream().map(TaskUpdateOrderDTO::taskId).toArray(Long[]::new);
+        Integer[] taskOrders = taskUpdateOrderDTOS.stream().map(TaskUpdateOrderDTO::newOrder).toArray(Integer[]::new);
+
+        // uma consulta para validar todas as tarefas e um único UPDATE para aplicar a nova ordem
+        Set<Long> existingIds = new HashSet<>(taskRepository.findExistingIds(Arrays.asList(taskIds)));
+
+        List<Long> missingIds = Arrays.stream(taskIds)
+                .filter(taskId -> !existingIds.contains(taskId))
+                .toList();
+
+        if (!missingIds.isEmpty()) {
+            throw new NotFoundException("Tarefa não encontrada: " + missingIds);
+        }
+
+        taskRepository.updateTaskOrders(taskIds, taskOrders);
+
+        courseContentCache.invalidateByTasks(Arrays.asList(taskIds));
+
+        return taskUpdateOrderDTOS.stream()
+                .sorted(Comparator.comparing(TaskUpdateOrderDTO::newOrder).thenComparing(TaskUpdateOrderDTO::taskId))
+                .toList();
+
+    }
 
-        if (!CollectionUtils.isEmpty(taskUpdateOrderDTOS)) {
+    private void validateTaskOrder(List<TaskUpdateOrderDTO> taskUpdateOrderDTOS) {
 
-            taskUpdateOrderDTOS.forEach(taskUpdateOrderDTO -> {
+        Validation validation = new Validation();
+
+        Set<Long> taskIds = new HashSet<>();
+
+        for (TaskUpdateOrderDTO taskUpdateOrderDTO : taskUpdateOrderDTOS) {
+
+            if (taskUpdateOrderDTO.taskId() == null) {
+                validation.add("taskId", "Tarefa é obrigatória");
+            } else if (!taskIds.add(taskUpdateOrderDTO.taskId())) {
+                validation.add("taskId", "Tarefa " + taskUpdateOrderDTO.taskId() + " informada mais de uma vez");
+            }
+
+            if (taskUpdateOrderDTO.newOrder() == null) {
+                validation.add("newOrder", "Ordem é obrigatória");
+            }
+
+        }
+
+        validation.throwIfHasErrors();
+
+    }
+
+    // a tarefa passou a contar, ou deixou de contar, como ranqueada no painel
+    private void countRankedTaskMove(Long previousKnowledgeTrailId, Long knowledgeTrailId) {
+
+        if (previousKnowledgeTrailId.equals(knowledgeTrailId)) {
+            return;
+        }
+
+        boolean wasRanked = knowledgeTrailRepository.existsByIdAndRankedTrue(previousKnowledgeTrailId);
+        boolean ranked = knowledgeTrailRepository.existsByIdAndRankedTrue(knowledgeTrailId);
 
-                Task task = taskRepository.findById(taskUpdateOrderDTO.taskId())
-                        .orElseThrow(() -> new NotFoundException("Tarefa não encontrada"));
+        if (wasRanked != ranked) {
+            dashBoardCounterService.increment(DashBoardCounterType.TOTAL_RANKED_TASKS, ranked ? 1 : -1);
+        }
+
+    }
 
-                task.setTaskOrder(taskUpdateOrderDTO.newOrder());
+    private void refreshRankingScores(Task task, Long previousKnowledgeTrailId, Date previousDueDate) {
 
-                taskRepository.save(task);
+        if (!previousKnowledgeTrailId.equals(task.getKnowledgeTrailId())) {
 
-            });
+            rankingScoreService.refreshKnowledgeTrailScores(previousKnowledgeTrailId);
+            rankingScoreService.refreshKnowledgeTrailScores(task.getKnowledgeTrailId());
 
+        } else if (!sameInstant(previousDueDate, task.getDueDate())) {
+            rankingScoreService.refreshKnowledgeTrailScores(task.getKnowledgeTrailId());
         }
 
     }
 
+    private boolean sameInstant(Date date, Date otherDate) {
+
+        if (date == null || otherDate == null) {
+            return date == otherDate;
+        }
+
+        // a data do banco vem como Timestamp, que não é igual a um Date com o mesmo instante
+        return date.getTime() == otherDate.getTime();
+
+    }
+
     private Task create(TaskRegisterDTO taskRegister) {
 
         Task task = new Task();
@@ -137,6 +274,17 @@ public class TaskService implements ITaskService {
 
     }
 
+    public void sendMessageAssignCourseTasks(Long courseId, List<Long> userIds) {
+
+        String jsonMessage = new Gson().toJson(new CourseUsersTaskMessage(courseId, userIds));
+
+        rabbitMQSender.sendMessage(
+                RabbitMQConfig.EXCHANGE_TASKS,
+                RabbitMQConfig.ROUTING_ASSIGN_COURSE_TASKS,
+                jsonMessage);
+
+    }
+
     public void validateMandatoryFields(TaskRegisterDTO taskRegister) {
 
         Validation validation = new Validation();
@@ -10,7 +10,7 @@ import senai.com.ava_senai.domain.task.taskcontent.TaskContentType;
 import senai.com.ava_senai.domain.task.userresponsecontent.UserResponseContent;
 import senai.com.ava_senai.domain.task.userresponsecontent.UserResponseContentRegisterDTO;
 import senai.com.ava_senai.domain.task.userresponsecontent.UserResponseContentResponseDTO;
-import senai.com.ava_senai.dto.FileData;
+import senai.com.ava_senai.dto.ContentDownload;
 import senai.com.ava_senai.exception.Validation;
 import senai.com.ava_senai.repository.UserResponseContentRepository;
 import senai.com.ava_senai.repository.UserResponseRepository;
@@ -61,7 +61,7 @@ public class UserResponseContentService implements IUserResponseContentService {
     }
 
     @Override
-    public FileData findContentByPath(String filePath) throws Throwable {
+    public ContentDownload findContentByPath(String filePath, String rangeHeader) {
 
         logger.info("Fetching file from MinIO. Bucket: {}, Object: {}", USER_RESPONSE_CONTENT_BUCKET, filePath);
 
@@ -69,7 +69,7 @@ public class UserResponseContentService implements IUserResponseContentService {
             throw new IllegalArgumentException("File path must not be empty");
         }
 
-        return storageService.findContentByPath(filePath, USER_RESPONSE_CONTENT_BUCKET);
+        return storageService.prepareDownload(filePath, USER_RESPONSE_CONTENT_BUCKET, rangeHeader);
 
     }
 
@@ -122,7 +122,8 @@ public class UserResponseContentService implements IUserResponseContentService {
     public void uploadContent(UserResponseContent userResponseContent, MultipartFile file) throws IOException {
 
         String objectKey = storageService.uploadContent(
-                file.getBytes(),
+                file.getInputStream(),
+                file.getSize(),
                 file.getContentType(),
                 userResponseContent.getUserResponseId().toString(),
                 USER_RESPONSE_CONTENT_BUCKET
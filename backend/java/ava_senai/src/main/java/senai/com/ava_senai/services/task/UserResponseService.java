@@ -12,6 +12,8 @@ import senai.com.ava_senai.exception.Validation;
 import senai.com.ava_senai.repository.TaskUserRepository;
 import senai.com.ava_senai.repository.UserResponseContentRepository;
 import senai.com.ava_senai.repository.UserResponseRepository;
+import senai.com.ava_senai.services.dashboard.IDashBoardService;
+import senai.com.ava_senai.services.ranking.IRankingScoreService;
 
 import java.util.List;
 
@@ -23,6 +25,8 @@ public class UserResponseService implements IUserResponseService {
     private final UserResponseRepository userResponseRepository;
     private final UserResponseContentRepository userResponseContentRepository;
     private final UserResponseContentService userResponseContentService;
+    private final IRankingScoreService rankingScoreService;
+    private final IDashBoardService dashBoardService;
 
     @Override
     public UserResponseResponseDTO createUserResponse(UserResponseRegisterDTO userResponseRegisterDTO) {
@@ -33,6 +37,10 @@ public class UserResponseService implements IUserResponseService {
 
         userResponseRepository.save(userResponse);
 
+        rankingScoreService.refreshByTaskUser(userResponse.getTaskUserId());
+
+        dashBoardService.evictByTaskUser(userResponse.getTaskUserId());
+
         return new UserResponseResponseDTO(userResponse);
 
     }
@@ -49,10 +57,19 @@ public class UserResponseService implements IUserResponseService {
     @Override
     public void deleteUserResponse(Long idUserResponse) {
 
+        Long taskUserId = userResponseRepository.findById(idUserResponse)
+                .map(UserResponse::getTaskUserId)
+                .orElse(null);
+
         deleteUserResponseContents(idUserResponse);
 
         userResponseRepository.deleteById(idUserResponse);
 
+        if (taskUserId != null) {
+            rankingScoreService.refreshByTaskUser(taskUserId);
+            dashBoardService.evictByTaskUser(taskUserId);
+        }
+
     }
 
     @Override
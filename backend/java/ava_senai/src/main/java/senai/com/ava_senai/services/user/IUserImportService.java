@@ -0,0 +1,18 @@
+package senai.com.ava_senai.services.user;
+
+import senai.com.ava_senai.domain.user.role.Roles;
+import senai.com.ava_senai.domain.user.userimport.UserImportFormat;
+import senai.com.ava_senai.domain.user.userimport.UserImportJobDTO;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface IUserImportService {
+
+    UserImportJobDTO startImport(Roles role, Long idInstitution, UserImportFormat format, InputStream content) throws IOException;
+
+    UserImportJobDTO getImport(Long jobId);
+
+    String getImportReport(Long jobId);
+
+}
@@ -8,6 +8,7 @@ import senai.com.ava_senai.domain.user.UserResponseDTO;
 import senai.com.ava_senai.domain.user.UserStatus;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface IUserService {
 
@@ -16,6 +17,8 @@ public interface IUserService {
 
     List<UserResponseDTO> getAllUsers(UserFinderDTO userFinderDTO);
 
+    Stream<UserResponseDTO> streamAllUsers(UserFinderDTO userFinderDTO);
+
     UserResponseDTO createUser(UserRegisterDTO user);
 
     UserResponseDTO updateUser(UserRegisterDTO user, Long id);
@@ -0,0 +1,195 @@
+package senai.com.ava_senai.services.user;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import senai.com.ava_senai.domain.user.userimport.UserImportFormat;
+import senai.com.ava_senai.domain.user.userimport.UserImportRowDTO;
+import senai.com.ava_senai.exception.Validation;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lê o arquivo de importação linha a linha (CSV) ou objeto a objeto (array JSON), sem carregar o conteúdo
+ * bruto em memória. O CSV precisa de cabeçalho com as colunas name, email, password, cpf e classesId
+ * (ids separados por ";"); campos entre aspas não podem ter quebra de linha.
+ */
+public class UserImportReader {
+
+    private static final String CLASS_ID_SEPARATOR = ";";
+
+    private final ObjectMapper objectMapper;
+
+    public UserImportReader(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public List<UserImportRowDTO> read(InputStream inputStream, UserImportFormat format) throws IOException {
+        return format == UserImportFormat.JSON ? readJson(inputStream) : readCsv(inputStream);
+    }
+
+    private List<UserImportRowDTO> readJson(InputStream inputStream) throws IOException {
+
+        List<UserImportRowDTO> rows = new ArrayList<>();
+
+        ObjectReader rowReader = objectMapper.readerFor(UserImportRowDTO.class);
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(inputStream)) {
+
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new Validation().add("Arquivo", "O JSON deve ser um array de usuários");
+            }
+
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                UserImportRowDTO row = rowReader.readValue(parser);
+                rows.add(row.withLine(rows.size() + 1));
+            }
+
+        }
+
+        return rows;
+
+    }
+
+    private List<UserImportRowDTO> readCsv(InputStream inputStream) throws IOException {
+
+        List<UserImportRowDTO> rows = new ArrayList<>();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+
+            String headerLine = reader.readLine();
+
+            if (headerLine == null) {
+                return rows;
+            }
+
+            Map<String, Integer> columns = new HashMap<>();
+
+            List<String> header = parseCsvLine(stripBom(headerLine));
+
+            for (int i = 0; i < header.size(); i++) {
+                columns.put(header.get(i).trim().toLowerCase(), i);
+            }
+
+            if (!columns.containsKey("email")) {
+                throw new Validation().add("Arquivo", "Cabeçalho do CSV sem a coluna email");
+            }
+
+            String line;
+            int lineNumber = 1;
+
+            while ((line = reader.readLine()) != null) {
+
+                lineNumber++;
+
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                List<String> values = parseCsvLine(line);
+
+                rows.add(new UserImportRowDTO(lineNumber,
+                        column(values, columns, "name"),
+                        column(values, columns, "email"),
+                        column(values, columns, "password"),
+                        column(values, columns, "cpf"),
+                        classIds(column(values, columns, "classesid"))));
+
+            }
+
+        }
+
+        return rows;
+
+    }
+
+    private static String column(List<String> values, Map<String, Integer> columns, String name) {
+
+        Integer index = columns.get(name);
+
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+
+        String value = values.get(index).trim();
+
+        return value.isEmpty() ? null : value;
+
+    }
+
+    // ids inválidos viram null e são reportados na validação da linha
+    private static List<Long> classIds(String value) {
+
+        if (value == null) {
+            return List.of();
+        }
+
+        return Arrays.stream(value.split(CLASS_ID_SEPARATOR))
+                .map(String::trim)
+                .filter(id -> !id.isEmpty())
+                .map(id -> {
+                    try {
+                        return Long.valueOf(id);
+                    } catch (NumberFormatException e) {
+                        return null;
+                    }
+                })
+                .toList();
+
+    }
+
+    private static String stripBom(String line) {
+        return !line.isEmpty() && line.charAt(0) == '\uFEFF' ? line.substring(1) : line;
+    }
+
+    private static List<String> parseCsvLine(String line) {
+
+        List<String> values = new ArrayList<>();
+
+        StringBuilder current = new StringBuilder();
+
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+
+            char c = line.charAt(i);
+
+            if (quoted) {
+
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+
+        }
+
+        values.add(current.toString());
+
+        return values;
+
+    }
+
+}
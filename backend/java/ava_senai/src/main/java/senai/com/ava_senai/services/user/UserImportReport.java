@@ -0,0 +1,53 @@
+package senai.com.ava_senai.services.user;
+
+import senai.com.ava_senai.domain.user.userimport.UserImportRowDTO;
+
+/**
+ * Erros da importação no formato CSV (linha,email,erro), gravado no job ao final do processamento.
+ */
+public class UserImportReport {
+
+    public static final String HEADER = "linha,email,erro\n";
+
+    private final StringBuilder csv = new StringBuilder(HEADER);
+
+    private int size;
+
+    public void add(UserImportRowDTO row, String error) {
+
+        csv.append(row.line()).append(',')
+                .append(escape(row.email())).append(',')
+                .append(escape(error)).append('\n');
+
+        size++;
+
+    }
+
+    // falha que interrompeu a importação, sem linha associada
+    public void addJobError(String error) {
+        csv.append(",,").append(escape("Importação interrompida: " + error)).append('\n');
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String toCsv() {
+        return csv.toString();
+    }
+
+    private static String escape(String value) {
+
+        if (value == null) {
+            return "";
+        }
+
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+
+        return value;
+
+    }
+
+}
@@ -0,0 +1,514 @@
+package senai.com.ava_senai.services.user;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import senai.com.ava_senai.domain.course.clazz.Class;
+import senai.com.ava_senai.domain.user.UserStatus;
+import senai.com.ava_senai.domain.user.role.Role;
+import senai.com.ava_senai.domain.user.role.Roles;
+import senai.com.ava_senai.domain.user.userimport.*;
+import senai.com.ava_senai.exception.NotFoundException;
+import senai.com.ava_senai.handler.requesthandler.security.password.BoundedPasswordEncoder;
+import senai.com.ava_senai.repository.ClassRepository;
+import senai.com.ava_senai.repository.RolesRepository;
+import senai.com.ava_senai.repository.UserClassRepository;
+import senai.com.ava_senai.repository.UserImportJobRepository;
+import senai.com.ava_senai.repository.UserRepository;
+import senai.com.ava_senai.services.dashboard.IDashBoardCounterService;
+import senai.com.ava_senai.services.task.TaskService;
+import senai.com.ava_senai.util.CPFCNPJValidator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Importação de usuários em lote para matrícula de turmas inteiras. O arquivo é lido na requisição e
+ * processado em segundo plano, em lotes de user.import.chunk-size linhas: validação, uma consulta de emails
+ * existentes por lote, hashes de senha em paralelo e um INSERT para users e outro para user_class.
+ * O andamento e os erros por linha ficam em user_import_job, visível para as duas réplicas.
+ * As linhas ficam só em memória: a réplica renova heartbeat_at dos seus jobs e, se ela reiniciar, o job
+ * deixa de ser renovado e é encerrado como FALHOU por qualquer réplica para que o arquivo seja reenviado.
+ */
+@Service
+public class UserImportService implements IUserImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserImportService.class);
+
+    private final UserRepository userRepository;
+    private final UserClassRepository userClassRepository;
+    private final UserImportJobRepository userImportJobRepository;
+    private final ClassRepository classRepository;
+    private final RolesRepository rolesRepository;
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final TaskService taskService;
+    private final IDashBoardCounterService dashBoardCounterService;
+    private final TransactionTemplate transactionTemplate;
+    private final UserImportReader userImportReader;
+
+    private final int chunkSize;
+
+    private final int assignmentBatchSize;
+
+    private final long staleAfterMs;
+
+    // jobs enfileirados ou em execução nesta réplica, cujo heartbeat é renovado
+    private final Set<Long> activeJobIds = ConcurrentHashMap.newKeySet();
+
+    // uma importação por vez, as demais aguardam até o limite da fila
+    private final ThreadPoolExecutor importExecutor;
+
+    // BCrypt é caro por definição, então os hashes de um lote são divididos entre poucas threads, que ainda
+    // disputam as permissões do BoundedPasswordEncoder com os logins
+    private final ThreadPoolExecutor hashExecutor;
+
+    public UserImportService(UserRepository userRepository,
+                             UserClassRepository userClassRepository,
+                             UserImportJobRepository userImportJobRepository,
+                             ClassRepository classRepository,
+                             RolesRepository rolesRepository,
+                             BoundedPasswordEncoder passwordEncoder,
+                             TaskService taskService,
+                             IDashBoardCounterService dashBoardCounterService,
+                             PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper,
+                             @Value("${user.import.chunk-size:500}") int chunkSize,
+                             @Value("${user.import.hash-workers:4}") int hashWorkers,
+                             @Value("${user.import.max-pending:4}") int maxPending,
+                             @Value("${user.import.assignment-batch-size:5000}") int assignmentBatchSize,
+                             @Value("${user.import.stale-after-ms:300000}") long staleAfterMs) {
+
+        this.userRepository = userRepository;
+        this.userClassRepository = userClassRepository;
+        this.userImportJobRepository = userImportJobRepository;
+        this.classRepository = classRepository;
+        this.rolesRepository = rolesRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.taskService = taskService;
+        this.dashBoardCounterService = dashBoardCounterService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.userImportReader = new UserImportReader(objectMapper);
+        this.chunkSize = Math.max(chunkSize, 1);
+        this.assignmentBatchSize = Math.max(assignmentBatchSize, 1);
+        this.staleAfterMs = staleAfterMs;
+
+        this.importExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(maxPending, 1)), threadFactory("user-import-"),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.hashExecutor = new ThreadPoolExecutor(hashWorkers, hashWorkers, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(this.chunkSize), threadFactory("user-import-hash-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+
+    }
+
+    /**
+     * Lê o arquivo e agenda a importação. Se já houver user.import.max-pending importações aguardando,
+     * lança RejectedExecutionException sem gravar nada.
+     */
+    @Override
+    public UserImportJobDTO startImport(Roles roles, Long idInstitution, UserImportFormat format, InputStream content) throws IOException {
+
+        Role role = rolesRepository.findById(roles.getValue())
+                .orElseThrow(() -> new NotFoundException("Permissão não encontrada"));
+
+        List<UserImportRowDTO> rows = userImportReader.read(content, format);
+
+        UserImportJob job = new UserImportJob();
+
+        job.setStatus(UserImportStatus.EM_ANDAMENTO);
+        job.setRoleId(role.getId());
+        job.setTotalRows(rows.size());
+        job.setIdInstitution(idInstitution);
+        job.setHeartbeatAt(new Date());
+
+        job = userImportJobRepository.save(job);
+
+        UserImportJob savedJob = job;
+
+        activeJobIds.add(savedJob.getId());
+
+        try {
+            importExecutor.execute(() -> runImport(savedJob, role, rows));
+        } catch (RuntimeException e) {
+            activeJobIds.remove(savedJob.getId());
+            userImportJobRepository.delete(savedJob);
+            throw e;
+        }
+
+        return new UserImportJobDTO(savedJob);
+
+    }
+
+    @Override
+    public UserImportJobDTO getImport(Long jobId) {
+        return new UserImportJobDTO(findJob(jobId));
+    }
+
+    @Override
+    public String getImportReport(Long jobId) {
+
+        UserImportJob job = findJob(jobId);
+
+        return job.getReport() != null ? job.getReport() : UserImportReport.HEADER;
+
+    }
+
+    /**
+     * Renova o heartbeat dos jobs desta réplica e encerra os jobs em andamento que ninguém renova há
+     * user.import.stale-after-ms, normalmente porque a réplica que os tinha em memória reiniciou.
+     * Também roda logo após a inicialização, recuperando os jobs perdidos no último reinício.
+     */
+    @Scheduled(fixedDelayString = "${user.import.heartbeat-interval-ms:60000}")
+    public void recoverOrphanedImports() {
+
+        try {
+
+            Date now = new Date();
+
+            if (!activeJobIds.isEmpty()) {
+                userImportJobRepository.touchJobs(new ArrayList<>(activeJobIds), now);
+            }
+
+            for (UserImportJob job : userImportJobRepository.findStaleJobs(UserImportStatus.EM_ANDAMENTO, new Date(now.getTime() - staleAfterMs))) {
+
+                if (activeJobIds.contains(job.getId())) {
+                    continue;
+                }
+
+                logger.warn("User import {} lost its heartbeat, marking it as failed", job.getId());
+
+                UserImportReport report = new UserImportReport();
+
+                report.addJobError("o servidor foi reiniciado durante o processamento, envie o arquivo novamente");
+
+                job.setStatus(UserImportStatus.FALHOU);
+                job.setReport(report.toCsv());
+                job.setFinishedAt(now);
+
+                userImportJobRepository.save(job);
+
+            }
+
+        } catch (RuntimeException e) {
+            logger.warn("User import recovery failed: {}", e.getMessage());
+        }
+
+    }
+
+    private UserImportJob findJob(Long jobId) {
+        return userImportJobRepository.findById(jobId)
+                .orElseThrow(() -> new NotFoundException("Importação não encontrada"));
+    }
+
+    private void runImport(UserImportJob job, Role role, List<UserImportRowDTO> rows) {
+
+        UserImportReport report = new UserImportReport();
+
+        // cursos de cada usuário criado, para uma única mensagem de atribuição de tarefas por curso
+        Map<Long, Set<Long>> userIdsByCourse = new LinkedHashMap<>();
+
+        try {
+
+            Map<Long, Long> courseIdByClassId = loadCourseIdByClassId(rows);
+
+            Set<String> fileEmails = new HashSet<>();
+
+            for (int start = 0; start < rows.size(); start += chunkSize) {
+
+                List<UserImportRowDTO> chunk = rows.subList(start, Math.min(start + chunkSize, rows.size()));
+
+                int created;
+
+                try {
+                    created = importChunk(job, role, chunk, courseIdByClassId, fileEmails, userIdsByCourse, report);
+                } finally {
+                    chunk.replaceAll(UserImportRowDTO::withoutPassword);
+                }
+
+                job.setCreatedRows(job.getCreatedRows() + created);
+                job.setFailedRows(report.size());
+                job.setHeartbeatAt(new Date());
+
+                job = userImportJobRepository.save(job);
+
+            }
+
+            userIdsByCourse.forEach(this::sendCourseAssignments);
+
+            job.setStatus(UserImportStatus.CONCLUIDA);
+
+        } catch (Exception e) {
+
+            logger.error("User import {} failed", job.getId(), e);
+
+            report.addJobError(e.getMessage());
+
+            job.setStatus(UserImportStatus.FALHOU);
+
+        }
+
+        job.setFailedRows(Math.max(job.getFailedRows(), report.size()));
+        job.setReport(report.toCsv());
+        job.setFinishedAt(new Date());
+        job.setHeartbeatAt(job.getFinishedAt());
+
+        try {
+            userImportJobRepository.save(job);
+        } finally {
+            activeJobIds.remove(job.getId());
+        }
+
+    }
+
+    private int importChunk(UserImportJob job, Role role, List<UserImportRowDTO> chunk, Map<Long, Long> courseIdByClassId,
+                            Set<String> fileEmails, Map<Long, Set<Long>> userIdsByCourse, UserImportReport report) {
+
+        boolean admin = Roles.ADMIN.name().equalsIgnoreCase(role.getName());
+
+        List<UserImportRowDTO> validRows = new ArrayList<>(chunk.size());
+
+        for (UserImportRowDTO row : chunk) {
+
+            String error = validateRow(row, admin, courseIdByClassId, fileEmails);
+
+            if (error != null) {
+                report.add(row, error);
+            } else {
+                validRows.add(row);
+            }
+
+        }
+
+        if (validRows.isEmpty()) {
+            return 0;
+        }
+
+        Set<String> existingEmails = new HashSet<>(userRepository.findExistingEmails(
+                validRows.stream().map(UserImportRowDTO::email).toList()));
+
+        List<UserImportRowDTO> newRows = new ArrayList<>(validRows.size());
+
+        for (UserImportRowDTO row : validRows) {
+
+            if (existingEmails.contains(row.email())) {
+                report.add(row, "Já existe um usuário com este email");
+            } else {
+                newRows.add(row);
+            }
+
+        }
+
+        if (newRows.isEmpty()) {
+            return 0;
+        }
+
+        List<String> passwordHashes = hashPasswords(newRows);
+
+        try {
+
+            Map<String, Long> userIdByEmail = transactionTemplate.execute(status -> insertChunk(job, role, newRows, passwordHashes));
+
+            int created = 0;
+
+            for (UserImportRowDTO row : newRows) {
+
+                Long userId = userIdByEmail.get(row.email());
+
+                // email criado por outra requisição depois da verificação
+                if (userId == null) {
+                    report.add(row, "Já existe um usuário com este email");
+                    continue;
+                }
+
+                created++;
+
+                row.classesId().stream()
+                        .map(courseIdByClassId::get)
+                        .filter(Objects::nonNull)
+                        .forEach(courseId -> userIdsByCourse.computeIfAbsent(courseId, id -> new LinkedHashSet<>()).add(userId));
+
+            }
+
+            return created;
+
+        } catch (RuntimeException e) {
+
+            logger.warn("User import {} chunk starting at line {} rolled back: {}", job.getId(), newRows.get(0).line(), e.getMessage());
+
+            newRows.forEach(row -> report.add(row, "Erro ao gravar o lote, importe a linha novamente"));
+
+            return 0;
+
+        }
+
+    }
+
+    // grava o lote e devolve o id de cada usuário criado; emails que já existiam ficam de fora
+    private Map<String, Long> insertChunk(UserImportJob job, Role role, List<UserImportRowDTO> rows, List<String> passwordHashes) {
+
+        List<String> insertedEmails = userRepository.insertUsers(
+                rows.stream().map(UserImportRowDTO::name).toArray(String[]::new),
+                rows.stream().map(UserImportRowDTO::email).toArray(String[]::new),
+                passwordHashes.toArray(String[]::new),
+                rows.stream().map(UserImportRowDTO::cpf).toArray(String[]::new),
+                role.getId(),
+                UserStatus.ATIVO.ordinal(),
+                job.getIdInstitution());
+
+        if (insertedEmails.isEmpty()) {
+            return Map.of();
+        }
+
+        dashBoardCounterService.countUsers(role, UserStatus.ATIVO, insertedEmails.size());
+
+        Map<String, Long> userIdByEmail = userRepository.findImportedUsers(insertedEmails)
+                .stream()
+                .collect(Collectors.toMap(ImportedUserDTO::email, ImportedUserDTO::id, (first, second) -> first));
+
+        List<Long> userIds = new ArrayList<>();
+        List<Long> classIds = new ArrayList<>();
+
+        for (UserImportRowDTO row : rows) {
+
+            Long userId = userIdByEmail.get(row.email());
+
+            if (userId == null) {
+                continue;
+            }
+
+            for (Long classId : row.classesId()) {
+                userIds.add(userId);
+                classIds.add(classId);
+            }
+
+        }
+
+        if (!userIds.isEmpty()) {
+            userClassRepository.insertUserClasses(userIds.toArray(Long[]::new), classIds.toArray(Long[]::new));
+        }
+
+        return userIdByEmail;
+
+    }
+
+    private List<String> hashPasswords(List<UserImportRowDTO> rows) {
+
+        List<CompletableFuture<String>> hashes = rows.stream()
+                .map(row -> CompletableFuture.supplyAsync(() -> passwordEncoder.encodeInBackground(row.password()), hashExecutor))
+                .toList();
+
+        return hashes.stream().map(CompletableFuture::join).toList();
+
+    }
+
+    private String validateRow(UserImportRowDTO row, boolean admin, Map<Long, Long> courseIdByClassId, Set<String> fileEmails) {
+
+        if (StringUtils.isBlank(row.name())) {
+            return "Informe o nome";
+        }
+
+        if (StringUtils.isBlank(row.email())) {
+            return "Informe o email";
+        }
+
+        if (StringUtils.isBlank(row.password())) {
+            return "Informe a senha";
+        }
+
+        if (!admin && (StringUtils.isEmpty(row.cpf()) || !CPFCNPJValidator.isValidCpf(row.cpf()))) {
+            return "Informe um CPF válido";
+        }
+
+        if (row.classesId() != null) {
+
+            for (Long classId : row.classesId()) {
+
+                if (classId == null || !courseIdByClassId.containsKey(classId)) {
+                    return "A classe com ID " + classId + " não existe";
+                }
+
+            }
+
+        }
+
+        if (!fileEmails.add(row.email())) {
+            return "Email repetido no arquivo";
+        }
+
+        return null;
+
+    }
+
+    private Map<Long, Long> loadCourseIdByClassId(List<UserImportRowDTO> rows) {
+
+        Set<Long> classIds = rows.stream()
+                .map(UserImportRowDTO::classesId)
+                .filter(Objects::nonNull)
+                .flatMap(List::stream)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        if (classIds.isEmpty()) {
+            return Map.of();
+        }
+
+        return classRepository.findAllById(classIds).stream()
+                .collect(Collectors.toMap(Class::getId, Class::getCourseId, (first, second) -> first));
+
+    }
+
+    // uma mensagem por curso; listas muito grandes são divididas para não estourar o limite de parâmetros do insert
+    private void sendCourseAssignments(Long courseId, Set<Long> userIds) {
+
+        List<Long> ids = new ArrayList<>(userIds);
+
+        for (int start = 0; start < ids.size(); start += assignmentBatchSize) {
+            taskService.sendMessageAssignCourseTasks(courseId, new ArrayList<>(ids.subList(start, Math.min(start + assignmentBatchSize, ids.size()))));
+        }
+
+    }
+
+    private static ThreadFactory threadFactory(String prefix) {
+
+        AtomicInteger threadNumber = new AtomicInteger();
+
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+
+        importExecutor.shutdown();
+        hashExecutor.shutdown();
+
+        if (!importExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+            importExecutor.shutdownNow();
+        }
+
+        hashExecutor.shutdownNow();
+
+    }
+
+}
@@ -7,15 +7,23 @@ import org.apache.commons.io.FilenameUtils;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
-import senai.com.ava_senai.domain.course.Course;
 import senai.com.ava_senai.domain.course.CourseContentSummaryDTO;
 import senai.com.ava_senai.domain.course.clazz.Class;
+import senai.com.ava_senai.domain.course.clazz.ClassResponseDTO;
 import senai.com.ava_senai.domain.course.institution.Institution;
 import senai.com.ava_senai.domain.user.*;
+import senai.com.ava_senai.domain.user.role.Role;
 import senai.com.ava_senai.domain.user.userclass.UserClass;
+import senai.com.ava_senai.domain.user.userclass.UserClassIdsDTO;
 import senai.com.ava_senai.exception.*;
+import senai.com.ava_senai.handler.requesthandler.security.jwt.TokenVersionRegistry;
+import senai.com.ava_senai.handler.requesthandler.security.user.AuthyUserDetailsService;
 import senai.com.ava_senai.repository.*;
+import senai.com.ava_senai.services.course.ICourseService;
+import senai.com.ava_senai.services.dashboard.IDashBoardCounterService;
+import senai.com.ava_senai.services.dashboard.IDashBoardService;
 import senai.com.ava_senai.services.task.TaskService;
+import senai.com.ava_senai.util.AfterCommit;
 import senai.com.ava_senai.util.CPFCNPJValidator;
 
 import java.io.IOException;
@@ -23,8 +31,16 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @Service
 @RequiredArgsConstructor
@@ -36,7 +52,14 @@ public class UserService implements IUserService {
     private final InstitutionRepository institutionRepository;
     private final ClassRepository classRepository;
     private final TaskService taskService;
-    private final CourseRepository courseRepository;
+    private final AuthyUserDetailsService authyUserDetailsService;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final IDashBoardCounterService dashBoardCounterService;
+    private final IDashBoardService dashBoardService;
+    private final TaskUserRepository taskUserRepository;
+    private final ICourseService courseService;
+
+    private static final int STREAM_BATCH_SIZE = 200;
 
     @Override
     public UserResponseDTO getUserByid(Long id) {
@@ -44,7 +67,8 @@ public class UserService implements IUserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new UserNotFoundException("Usuario não encontrado!"));
 
-        return new UserResponseDTO(user);
+        // turmas e suas seções em duas consultas, independente da quantidade de turmas do usuário
+        return toUserResponses(List.of(user), new HashMap<>()).get(0);
 
     }
 
@@ -63,6 +87,72 @@ public class UserService implements IUserService {
 
     }
 
+    @Override
+    public Stream<UserResponseDTO> streamAllUsers(UserFinderDTO userFinderDTO) {
+
+        Stream<User> users = userRepository.streamAll(userFinderDTO.name(), userFinderDTO.role(), userFinderDTO.idClass(), userFinderDTO.idCourse());
+
+        Iterator<User> iterator = users.iterator();
+
+        // as turmas de cada lote de usuários vêm em duas consultas, e cada turma é montada uma vez por resposta
+        Map<Long, ClassResponseDTO> classesById = new HashMap<>();
+
+        Iterator<List<UserResponseDTO>> batches = new Iterator<>() {
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public List<UserResponseDTO> next() {
+
+                List<User> batch = new ArrayList<>(STREAM_BATCH_SIZE);
+
+                while (iterator.hasNext() && batch.size() < STREAM_BATCH_SIZE) {
+                    batch.add(iterator.next());
+                }
+
+                return toUserResponses(batch, classesById);
+
+            }
+
+        };
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(batches, Spliterator.ORDERED), false)
+                .flatMap(List::stream)
+                .onClose(users::close);
+
+    }
+
+    private List<UserResponseDTO> toUserResponses(List<User> users, Map<Long, ClassResponseDTO> classesById) {
+
+        List<UserClassIdsDTO> userClasses = userClassRepository.findClassIdsByUserIds(users.stream().map(User::getId).toList());
+
+        List<Long> missingClassIds = userClasses.stream()
+                .map(UserClassIdsDTO::classId)
+                .filter(classId -> !classesById.containsKey(classId))
+                .distinct()
+                .toList();
+
+        if (!missingClassIds.isEmpty()) {
+            classRepository.findWithSectionsByIdIn(missingClassIds)
+                    .forEach(clazz -> classesById.put(clazz.getId(), new ClassResponseDTO(clazz)));
+        }
+
+        Map<Long, List<ClassResponseDTO>> classesByUserId = new HashMap<>();
+
+        for (UserClassIdsDTO userClass : userClasses) {
+            classesByUserId.computeIfAbsent(userClass.userId(), userId -> new ArrayList<>())
+                    .add(classesById.get(userClass.classId()));
+        }
+
+        return users.stream()
+                .map(user -> new UserResponseDTO(user, classesByUserId.getOrDefault(user.getId(), List.of())))
+                .toList();
+
+    }
+
     @Override
     @Transactional(rollbackOn = Exception.class)
     public UserResponseDTO createUser(UserRegisterDTO request) {
@@ -77,6 +167,8 @@ public class UserService implements IUserService {
 
                     user = userRepository.save(user);
 
+                    dashBoardCounterService.countUsers(user.getRole(), user.getUserStatus(), 1);
+
                     String imageName = saveImage(request.getImage(), user);
 
                     user.setNameImage(imageName);
@@ -104,12 +196,22 @@ public class UserService implements IUserService {
 
                     validateEmailUpdate(request, userDb);
 
+                    if (changesCredentials(request, userDb)) {
+                        tokenVersionRegistry.revoke(userDb);
+                    }
+
+                    Role previousRole = userDb.getRole();
+
                     updateData(request, userDb);
 
                     userRepository.save(userDb);
 
+                    dashBoardCounterService.countUserChange(previousRole, userDb.getUserStatus(), userDb.getRole(), userDb.getUserStatus());
+
                     updateRelationedClasses(request, userDb);
 
+                    authyUserDetailsService.evict(userDb.getId());
+
                     return new UserResponseDTO(userDb);
 
                 })
@@ -120,11 +222,16 @@ public class UserService implements IUserService {
     @Override
     public CourseContentSummaryDTO getUserContentSummaryById(Long userId, Long courseId) {
 
-        Course course = courseRepository.findCourseWithContentOfUserById(userId, courseId)
-                .orElseThrow(
-                        () -> new NotFoundException("Usuário sem acesso ao conteúdo deste curso ou curso não existe!"));
+        // uma consulta pequena com os ids das tarefas do aluno, aplicada sobre a árvore do curso em cache
+        long[] taskIds = taskUserRepository.findVisibleTaskIdsOfUserInCourse(userId, courseId).stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+
+        if (taskIds.length == 0) {
+            throw new NotFoundException("Usuário sem acesso ao conteúdo deste curso ou curso não existe!");
+        }
 
-        return new CourseContentSummaryDTO(course);
+        return courseService.getCourseContentSummaryById(courseId).onlyTasks(taskIds);
 
     }
 
@@ -135,12 +242,20 @@ public class UserService implements IUserService {
                 .get()
                 .map((userDb) -> {
 
+                    UserStatus previousStatus = userDb.getUserStatus();
+
                     userDb.setUserStatus(status);
 
+                    tokenVersionRegistry.revoke(userDb);
+
                     updateData(new UserRegisterDTO(userDb), userDb);
 
                     userRepository.save(userDb);
 
+                    dashBoardCounterService.countUserChange(userDb.getRole(), previousStatus, userDb.getRole(), status);
+
+                    authyUserDetailsService.evict(userDb.getId());
+
                     return new UserResponseDTO(userDb);
 
                 })
@@ -171,6 +286,8 @@ public class UserService implements IUserService {
                 userClassRepository.deleteById(userClass.getId());
             });
 
+            dashBoardService.evictUser(userDb.getId());
+
         }
 
         userDb.getUserClasses().removeAll(userClasses);
@@ -232,6 +349,16 @@ public class UserService implements IUserService {
 
     }
 
+    private boolean changesCredentials(UserRegisterDTO request, User userDb) {
+
+        Long roleId = request.getRole() != null ? request.getRole().getId() : null;
+
+        return request.getPassword() != null
+                || !Objects.equals(request.getEmail(), userDb.getEmail())
+                || !Objects.equals(roleId, userDb.getRoleId());
+
+    }
+
     private void updateData(UserRegisterDTO user, User userDb) {
 
         userDb.setEmail(user.getEmail());
@@ -313,11 +440,7 @@ public class UserService implements IUserService {
                 Long courseId = clazz.getCourseId();
 
                 if (!coursesOfUser.contains(courseId)) {
-
-                    createContentCourseForUser(courseId);
-
                     coursesOfUser.add(courseId);
-
                 }
 
                 if (userDb.getUserClasses() != null) {
@@ -334,22 +457,19 @@ public class UserService implements IUserService {
 
             });
 
-        }
+            // uma única mensagem por curso com todas as tarefas faltantes do usuário, enviada só após o commit para
+            // que o consumidor já enxergue os vínculos com as turmas
+            AfterCommit.run(() -> coursesOfUser.forEach(courseId -> createContentCourseForUsers((Long) courseId, List.of(userDb.getId()))));
 
-    }
-
-    public void createContentCourseForUser(Long courseId) {
-
-        List<Long> taskIds = courseRepository.findAllTaskIdsByCourseId(courseId);
-
-        if (taskIds != null && !taskIds.isEmpty()) {
-
-            taskIds.forEach(taskId -> {
-                taskService.sendMessageCreateUsersTask(taskId, courseId);
-            });
+            // o painel do aluno só mostra tarefas das seções de suas turmas
+            dashBoardService.evictUser(userDb.getId());
 
         }
 
     }
 
+    public void createContentCourseForUsers(Long courseId, List<Long> userIds) {
+        taskService.sendMessageAssignCourseTasks(courseId, userIds);
+    }
+
 }
@@ -0,0 +1,82 @@
+package senai.com.ava_senai.setup;
+
+import com.rabbitmq.client.GetResponse;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+import senai.com.ava_senai.config.RabbitMQConfig;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Migra as filas de atribuição de tarefas declaradas antes da dead letter exchange: desfaz o binding antigo para que
+ * novas mensagens só cheguem às filas novas, republica o que ainda estava na fila antiga e a remove.
+ */
+@Component
+public class TaskQueuesMigration implements CommandLineRunner {
+
+    private static final Logger LOGGER = Logger.getLogger(TaskQueuesMigration.class.getName());
+
+    private final AmqpAdmin amqpAdmin;
+    private final RabbitTemplate rabbitTemplate;
+
+    public TaskQueuesMigration(AmqpAdmin amqpAdmin, RabbitTemplate rabbitTemplate) {
+
+        this.amqpAdmin = amqpAdmin;
+        this.rabbitTemplate = rabbitTemplate;
+
+    }
+
+    @Override
+    public void run(String... args) {
+
+        migrate(RabbitMQConfig.LEGACY_QUEUE_USER_TASKS, RabbitMQConfig.ROUTING_CREATE_USER_TASK);
+
+        migrate(RabbitMQConfig.LEGACY_QUEUE_COURSE_USER_TASKS, RabbitMQConfig.ROUTING_ASSIGN_COURSE_TASKS);
+
+    }
+
+    private void migrate(String legacyQueue, String routingKey) {
+
+        try {
+
+            if (amqpAdmin.getQueueProperties(legacyQueue) == null) {
+                return;
+            }
+
+            amqpAdmin.removeBinding(new Binding(legacyQueue, Binding.DestinationType.QUEUE, RabbitMQConfig.EXCHANGE_TASKS, routingKey, null));
+
+            // ack só depois de republicar, para não perder a mensagem se a aplicação cair no meio
+            Integer moved = rabbitTemplate.execute(channel -> {
+
+                int count = 0;
+
+                GetResponse response;
+
+                while ((response = channel.basicGet(legacyQueue, false)) != null) {
+
+                    channel.basicPublish(RabbitMQConfig.EXCHANGE_TASKS, routingKey, response.getProps(), response.getBody());
+                    channel.basicAck(response.getEnvelope().getDeliveryTag(), false);
+
+                    count++;
+
+                }
+
+                return count;
+
+            });
+
+            amqpAdmin.deleteQueue(legacyQueue, false, true);
+
+            LOGGER.log(Level.INFO, "Fila " + legacyQueue + " removida; " + moved + " mensagens republicadas em " + routingKey);
+
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Não foi possível migrar a fila " + legacyQueue + ": " + e.getMessage());
+        }
+
+    }
+
+}
@@ -0,0 +1,364 @@
+package senai.com.ava_senai.benchmark;
+
+import senai.com.ava_senai.domain.course.Course;
+import senai.com.ava_senai.domain.course.clazz.Class;
+import senai.com.ava_senai.domain.course.clazz.classassessment.ClassAssessmentRowDTO;
+import senai.com.ava_senai.domain.course.clazz.classassessment.UserResponseContentRowDTO;
+import senai.com.ava_senai.domain.course.institution.Institution;
+import senai.com.ava_senai.domain.course.section.Section;
+import senai.com.ava_senai.domain.ranking.UserRankingCalculatorDTO;
+import senai.com.ava_senai.domain.task.Task;
+import senai.com.ava_senai.domain.task.feedback.Feedback;
+import senai.com.ava_senai.domain.task.knowledgetrail.KnowledgeTrail;
+import senai.com.ava_senai.domain.task.taskcontent.TaskContent;
+import senai.com.ava_senai.domain.task.taskcontent.TaskContentType;
+import senai.com.ava_senai.domain.task.taskuser.TaskUser;
+import senai.com.ava_senai.domain.task.userresponse.UserResponse;
+import senai.com.ava_senai.domain.task.userresponsecontent.UserResponseContent;
+import senai.com.ava_senai.domain.user.User;
+import senai.com.ava_senai.domain.user.UserResponseDTO;
+import senai.com.ava_senai.domain.user.UserStatus;
+import senai.com.ava_senai.domain.user.role.Role;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Gera grafos sintéticos (N alunos x M tarefas x K conteúdos) para os benchmarks, sem banco de dados.
+ * Sementes fixas para que as execuções sejam comparáveis entre versões.
+ */
+final class BenchmarkDataFactory {
+
+    private static final long DAY = 86_400_000L;
+    private static final long BASE_DATE = 1_700_000_000_000L;
+
+    private BenchmarkDataFactory() {}
+
+    static Course course(int sections, int trailsPerSection, int tasksPerTrail, int contentsPerTask) {
+
+        Random random = new Random(42);
+        long id = 1;
+
+        Course course = new Course();
+        course.setId(id++);
+        course.setName("Curso benchmark");
+        course.setQuantitySemester(sections);
+
+        Set<Section> courseSections = new HashSet<>();
+
+        for (int s = 0; s < sections; s++) {
+
+            Section section = new Section();
+            section.setId(id++);
+            section.setName("Seção " + s);
+            section.setSemester(s + 1);
+            section.setCourseId(course.getId());
+
+            Set<KnowledgeTrail> knowledgeTrails = new HashSet<>();
+
+            for (int k = 0; k < trailsPerSection; k++) {
+
+                KnowledgeTrail knowledgeTrail = new KnowledgeTrail("Trilha " + s + "." + k, section.getId(), k % 2 == 0);
+                knowledgeTrail.setId(id++);
+                knowledgeTrail.setSection(section);
+
+                Set<Task> tasks = new HashSet<>();
+
+                for (int t = 0; t < tasksPerTrail; t++) {
+
+                    Task task = new Task();
+                    task.setId(id++);
+                    task.setName("Tarefa " + t);
+                    task.setDescription("Descrição da tarefa " + t);
+                    task.setTaskOrder(t);
+                    task.setCreatedAt(new Date(BASE_DATE + t * DAY));
+                    task.setDueDate(new Date(BASE_DATE + (t + 10) * DAY));
+                    task.setKnowledgeTrailId(knowledgeTrail.getId());
+                    task.setKnowledgeTrail(knowledgeTrail);
+
+                    Set<TaskContent> contents = new HashSet<>();
+
+                    for (int c = 0; c < contentsPerTask; c++) {
+
+                        TaskContent content = new TaskContent();
+                        content.setId(id++);
+                        content.setName("conteudo-" + c + ".pdf");
+                        content.setContentUrl("task-contents/" + task.getId() + "/" + new UUID(random.nextLong(), random.nextLong()));
+                        content.setContentType(TaskContentType.PDF);
+                        content.setTaskId(task.getId());
+
+                        contents.add(content);
+
+                    }
+
+                    task.setContents(contents);
+                    tasks.add(task);
+
+                }
+
+                knowledgeTrail.setTasks(tasks);
+                knowledgeTrails.add(knowledgeTrail);
+
+            }
+
+            section.setKnowledgeTrails(knowledgeTrails);
+            courseSections.add(section);
+
+        }
+
+        course.setSections(courseSections);
+
+        return course;
+
+    }
+
+    static Class clazz(Course course) {
+
+        Class clazz = new Class();
+        clazz.setId(1L);
+        clazz.setName("Turma benchmark");
+        clazz.setCode("BENCH");
+        clazz.setSemester(1);
+        clazz.setStartDate(LocalDate.of(2025, 1, 1));
+        clazz.setEndDate(LocalDate.of(2025, 12, 31));
+        clazz.setCourse(course);
+        clazz.setCourseId(course.getId());
+
+        return clazz;
+
+    }
+
+    static List<Task> tasks(Course course) {
+
+        List<Task> tasks = new ArrayList<>();
+
+        course.getSections().forEach(section -> section.getKnowledgeTrails().forEach(knowledgeTrail -> tasks.addAll(knowledgeTrail.getTasks())));
+
+        tasks.sort(Comparator.comparing(Task::getId));
+
+        return tasks;
+
+    }
+
+    /**
+     * Cada aluno recebe todas as tarefas do curso; ~2/3 são respondidas com {@code contentsPerResponse} anexos
+     * e metade das respostas tem feedback.
+     */
+    static List<User> students(Course course, int students, int contentsPerResponse) {
+
+        Random random = new Random(42);
+        List<Task> tasks = tasks(course);
+
+        Role studentRole = role(1L, "STUDENT");
+        Institution institution = institution();
+        User teacher = user(1_000_000L, "Professor", role(2L, "TEACHER"), institution);
+
+        List<User> users = new ArrayList<>(students);
+        long id = 2_000_000L;
+
+        for (int u = 0; u < students; u++) {
+
+            User user = user(id++, "Aluno " + u, studentRole, institution);
+
+            List<TaskUser> taskUsers = new ArrayList<>(tasks.size());
+
+            for (Task task : tasks) {
+
+                TaskUser taskUser = new TaskUser();
+                taskUser.setId(id++);
+                taskUser.setTask(task);
+                taskUser.setTaskId(task.getId());
+                taskUser.setUserId(user.getId());
+
+                if (random.nextInt(3) != 0) {
+                    taskUser.setUserResponse(response(id++, taskUser, contentsPerResponse, random.nextBoolean() ? teacher : null, random));
+                    id += contentsPerResponse + 1;
+                }
+
+                taskUsers.add(taskUser);
+
+            }
+
+            user.setTaskUsers(taskUsers);
+            users.add(user);
+
+        }
+
+        return users;
+
+    }
+
+    /**
+     * Achata os alunos de {@link #students} nas linhas de {@code UserRepository.findClassAssessmentRows}.
+     */
+    static List<ClassAssessmentRowDTO> classAssessmentRows(List<User> users) {
+
+        List<ClassAssessmentRowDTO> rows = new ArrayList<>();
+
+        for (User user : users) {
+
+            for (TaskUser taskUser : user.getTaskUsers()) {
+
+                Task task = taskUser.getTask();
+                UserResponse userResponse = taskUser.getUserResponse();
+                Feedback feedback = userResponse != null ? userResponse.getFeedback() : null;
+
+                rows.add(new ClassAssessmentRowDTO(user.getId(), user.getEmail(), user.getName(), user.getUserStatus(),
+                        user.getRole().getId(), user.getRole().getName(), user.getInstitution().getInstitutionName(), user.getCpf(),
+                        taskUser.getId(), task.getId(), task.getName(), task.getDescription(), task.getDueDate(), task.getKnowledgeTrailId(),
+                        userResponse != null ? userResponse.getId() : null, userResponse != null ? userResponse.getComment() : null,
+                        feedback != null ? feedback.getId() : null, feedback != null ? feedback.getComment() : null,
+                        feedback != null ? feedback.getGrade() : null, feedback != null ? feedback.getTeacher().getId() : null));
+
+            }
+
+        }
+
+        return rows;
+
+    }
+
+    static List<UserResponseContentRowDTO> classAssessmentContentRows(List<User> users) {
+
+        List<UserResponseContentRowDTO> contentRows = new ArrayList<>();
+
+        for (User user : users) {
+            for (TaskUser taskUser : user.getTaskUsers()) {
+                if (taskUser.getUserResponse() != null) {
+                    for (UserResponseContent content : taskUser.getUserResponse().getUserResponseContents()) {
+                        contentRows.add(new UserResponseContentRowDTO(content.getUserResponseId(), content.getContentType(),
+                                content.getName(), content.getContentUrl()));
+                    }
+                }
+            }
+        }
+
+        return contentRows;
+
+    }
+
+    static Map<Long, UserResponseDTO> classAssessmentTeachers(List<User> users) {
+
+        Map<Long, UserResponseDTO> teachers = new HashMap<>();
+
+        for (User user : users) {
+            for (TaskUser taskUser : user.getTaskUsers()) {
+                if (taskUser.getUserResponse() != null && taskUser.getUserResponse().getFeedback() != null) {
+                    User teacher = taskUser.getUserResponse().getFeedback().getTeacher();
+                    teachers.computeIfAbsent(teacher.getId(), id -> new UserResponseDTO(teacher));
+                }
+            }
+        }
+
+        return teachers;
+
+    }
+
+    static List<UserRankingCalculatorDTO> rankingCalculators(int students, int tasks) {
+
+        Random random = new Random(42);
+        List<UserRankingCalculatorDTO> usersCalculator = new ArrayList<>(students);
+
+        for (int u = 0; u < students; u++) {
+
+            UserRankingCalculatorDTO userCalculator = new UserRankingCalculatorDTO((long) u, "Aluno " + u);
+
+            for (int t = 0; t < tasks; t++) {
+
+                Date createdAt = new Date(BASE_DATE + t * DAY);
+                Date dueDate = new Date(BASE_DATE + (t + 10) * DAY);
+                boolean sent = random.nextInt(4) != 0;
+                boolean reviewed = sent && random.nextBoolean();
+
+                userCalculator.getTasks().add(
+                        createdAt,
+                        dueDate,
+                        sent ? new Date(createdAt.getTime() + random.nextInt(12) * DAY) : null,
+                        reviewed ? random.nextInt(11) * 1d : null,
+                        reviewed);
+
+            }
+
+            usersCalculator.add(userCalculator);
+
+        }
+
+        return usersCalculator;
+
+    }
+
+    private static UserResponse response(long id, TaskUser taskUser, int contents, User teacher, Random random) {
+
+        UserResponse userResponse = new UserResponse(taskUser.getId(), "Resposta " + id);
+        userResponse.setId(id);
+        userResponse.setCreatedAt(new Date(taskUser.getTask().getCreatedAt().getTime() + random.nextInt(12) * DAY));
+
+        Set<UserResponseContent> responseContents = new HashSet<>();
+
+        for (int c = 0; c < contents; c++) {
+
+            UserResponseContent content = new UserResponseContent();
+            content.setId(id + c + 1);
+            content.setName("anexo-" + c + ".png");
+            content.setContentUrl("user-response-contents/" + id + "/" + c);
+            content.setContentType(TaskContentType.PNG);
+            content.setUserResponseId(id);
+
+            responseContents.add(content);
+
+        }
+
+        userResponse.setUserResponseContents(responseContents);
+
+        if (teacher != null) {
+
+            Feedback feedback = new Feedback();
+            feedback.setId(id + contents + 1);
+            feedback.setTeacher(teacher);
+            feedback.setUserResponse(userResponse);
+            feedback.setComment("Bom trabalho");
+            feedback.setGrade(random.nextInt(11) * 1d);
+
+            userResponse.setFeedback(feedback);
+
+        }
+
+        return userResponse;
+
+    }
+
+    private static User user(long id, String name, Role role, Institution institution) {
+
+        User user = new User();
+        user.setId(id);
+        user.setName(name);
+        user.setEmail("user" + id + "@benchmark.com");
+        user.setCpf("00000000000");
+        user.setUserStatus(UserStatus.ATIVO);
+        user.setRole(role);
+        user.setInstitution(institution);
+
+        return user;
+
+    }
+
+    private static Role role(Long id, String name) {
+
+        Role role = new Role(name);
+        role.setId(id);
+
+        return role;
+
+    }
+
+    private static Institution institution() {
+
+        Institution institution = new Institution();
+        institution.setId(1L);
+        institution.setInstitutionName("SENAI");
+
+        return institution;
+
+    }
+
+}
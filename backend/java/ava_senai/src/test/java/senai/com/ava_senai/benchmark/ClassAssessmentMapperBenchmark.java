@@ -0,0 +1,56 @@
+package senai.com.ava_senai.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import senai.com.ava_senai.domain.course.Course;
+import senai.com.ava_senai.domain.course.clazz.Class;
+import senai.com.ava_senai.domain.course.clazz.classassessment.ClassAssessmentResponseDTO;
+import senai.com.ava_senai.domain.course.clazz.classassessment.ClassAssessmentRowDTO;
+import senai.com.ava_senai.domain.course.clazz.classassessment.UserResponseContentRowDTO;
+import senai.com.ava_senai.domain.user.User;
+import senai.com.ava_senai.domain.user.UserResponseDTO;
+import senai.com.ava_senai.mapper.ClassAssessmentMapper;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClassAssessmentMapperBenchmark {
+
+    @Param({"40", "400"})
+    private int students;
+
+    @Param({"10"})
+    private int tasksPerTrail;
+
+    @Param({"2"})
+    private int contents;
+
+    private ClassAssessmentMapper classAssessmentMapper;
+    private Class clazz;
+    private List<ClassAssessmentRowDTO> rows;
+    private List<UserResponseContentRowDTO> contentRows;
+    private Map<Long, UserResponseDTO> teachers;
+
+    @Setup
+    public void setUp() {
+        Course course = BenchmarkDataFactory.course(4, 3, tasksPerTrail, contents);
+        classAssessmentMapper = new ClassAssessmentMapper();
+        clazz = BenchmarkDataFactory.clazz(course);
+        List<User> users = BenchmarkDataFactory.students(course, students, contents);
+        rows = BenchmarkDataFactory.classAssessmentRows(users);
+        contentRows = BenchmarkDataFactory.classAssessmentContentRows(users);
+        teachers = BenchmarkDataFactory.classAssessmentTeachers(users);
+    }
+
+    @Benchmark
+    public ClassAssessmentResponseDTO mapClassAssessment() {
+        return classAssessmentMapper.mapClassAssessment(clazz, rows, contentRows, teachers);
+    }
+
+}
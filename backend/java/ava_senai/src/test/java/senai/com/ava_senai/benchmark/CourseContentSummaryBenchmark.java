@@ -0,0 +1,52 @@
+package senai.com.ava_senai.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import senai.com.ava_senai.domain.course.Course;
+import senai.com.ava_senai.domain.course.CourseContentSummaryDTO;
+import senai.com.ava_senai.domain.task.Task;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CourseContentSummaryBenchmark {
+
+    @Param({"10", "100"})
+    private int tasksPerTrail;
+
+    @Param({"3"})
+    private int contents;
+
+    private Course course;
+
+    private CourseContentSummaryDTO summary;
+
+    // metade das tarefas do curso, como a visão de um aluno
+    private long[] userTaskIds;
+
+    @Setup
+    public void setUp() {
+        course = BenchmarkDataFactory.course(6, 5, tasksPerTrail, contents);
+        summary = new CourseContentSummaryDTO(course);
+        userTaskIds = BenchmarkDataFactory.tasks(course).stream()
+                .mapToLong(Task::getId)
+                .filter(taskId -> taskId % 2 == 0)
+                .sorted()
+                .toArray();
+    }
+
+    @Benchmark
+    public CourseContentSummaryDTO buildCourseContentSummary() {
+        return new CourseContentSummaryDTO(course);
+    }
+
+    @Benchmark
+    public CourseContentSummaryDTO filterUserContentSummary() {
+        return summary.onlyTasks(userTaskIds);
+    }
+
+}
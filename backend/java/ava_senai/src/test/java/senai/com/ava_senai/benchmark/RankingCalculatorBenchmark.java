@@ -0,0 +1,44 @@
+package senai.com.ava_senai.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import senai.com.ava_senai.domain.ranking.StudentRankingDTO;
+import senai.com.ava_senai.domain.ranking.UserRankingCalculatorDTO;
+import senai.com.ava_senai.services.ranking.RankingCalculatorService;
+import senai.com.ava_senai.services.ranking.calculatorstrategy.GradeScoreCalculator;
+import senai.com.ava_senai.services.ranking.calculatorstrategy.ScoreCalculatorStrategy;
+import senai.com.ava_senai.services.ranking.calculatorstrategy.SinglePassScoreCalculator;
+import senai.com.ava_senai.services.ranking.calculatorstrategy.TimeScoreCalculator;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RankingCalculatorBenchmark {
+
+    @Param({"100", "2000"})
+    private int students;
+
+    @Param({"20"})
+    private int tasks;
+
+    private RankingCalculatorService rankingCalculatorService;
+    private List<UserRankingCalculatorDTO> usersCalculator;
+
+    @Setup
+    public void setUp() {
+        rankingCalculatorService = new RankingCalculatorService(new ScoreCalculatorStrategy(List.of(
+                new GradeScoreCalculator(), new TimeScoreCalculator(), new SinglePassScoreCalculator())));
+        usersCalculator = BenchmarkDataFactory.rankingCalculators(students, tasks);
+    }
+
+    @Benchmark
+    public List<StudentRankingDTO> calculate() {
+        return rankingCalculatorService.calculate(usersCalculator);
+    }
+
+}
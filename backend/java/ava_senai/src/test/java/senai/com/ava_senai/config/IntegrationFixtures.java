@@ -0,0 +1,121 @@
+package senai.com.ava_senai.config;
+
+import senai.com.ava_senai.domain.course.clazz.Class;
+import senai.com.ava_senai.domain.course.clazz.sectionclass.SectionClass;
+import senai.com.ava_senai.domain.course.section.Section;
+import senai.com.ava_senai.domain.user.User;
+import senai.com.ava_senai.domain.user.UserStatus;
+import senai.com.ava_senai.domain.user.userclass.UserClass;
+import senai.com.ava_senai.repository.ClassRepository;
+import senai.com.ava_senai.repository.SectionClassRepository;
+import senai.com.ava_senai.repository.SectionRepository;
+import senai.com.ava_senai.repository.UserClassRepository;
+import senai.com.ava_senai.repository.UserRepository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Grava seções, turmas e alunos direto pelos repositórios, para comparar a quantidade de comandos SQL de um
+ * endpoint com poucos e com muitos registros relacionados. Tudo é criado no curso 1 e na instituição do admin.
+ */
+public class IntegrationFixtures {
+
+    private static final Long COURSE_ID = 1L;
+    private static final Long STUDENT_ROLE_ID = 3L;
+
+    private final SectionRepository sectionRepository;
+    private final ClassRepository classRepository;
+    private final SectionClassRepository sectionClassRepository;
+    private final UserRepository userRepository;
+    private final UserClassRepository userClassRepository;
+
+    private final Long idInstitution;
+
+    public IntegrationFixtures(SectionRepository sectionRepository, ClassRepository classRepository,
+                               SectionClassRepository sectionClassRepository, UserRepository userRepository,
+                               UserClassRepository userClassRepository) {
+
+        this.sectionRepository = sectionRepository;
+        this.classRepository = classRepository;
+        this.sectionClassRepository = sectionClassRepository;
+        this.userRepository = userRepository;
+        this.userClassRepository = userClassRepository;
+        this.idInstitution = userRepository.findByEmail("admin@gmail.com").getIdInstitution();
+
+    }
+
+    public List<Section> sections(int count) {
+
+        List<Section> sections = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+
+            Section section = new Section();
+            section.setName("Seção " + (i + 1));
+            section.setSemester(1);
+            section.setCourseId(COURSE_ID);
+            section.setIdInstitution(idInstitution);
+
+            sections.add(sectionRepository.save(section));
+
+        }
+
+        return sections;
+
+    }
+
+    public Class clazz(List<Section> sections) {
+
+        Class clazz = new Class();
+        clazz.setName("Turma " + uniqueSuffix());
+        clazz.setCode(uniqueSuffix());
+        clazz.setStartDate(LocalDate.of(2023, 1, 1));
+        clazz.setEndDate(LocalDate.of(2023, 12, 31));
+        clazz.setSemester(1);
+        clazz.setCourseId(COURSE_ID);
+        clazz.setIdInstitution(idInstitution);
+
+        clazz = classRepository.save(clazz);
+
+        for (Section section : sections) {
+
+            SectionClass sectionClass = new SectionClass(section, clazz);
+            sectionClass.setIdInstitution(idInstitution);
+
+            sectionClassRepository.save(sectionClass);
+
+        }
+
+        return clazz;
+
+    }
+
+    public User student(List<Class> classes) {
+
+        User user = new User();
+        user.setName("Aluno " + uniqueSuffix());
+        user.setEmail(uniqueSuffix() + "@example.com");
+        user.setPassword("not-a-hash");
+        user.setRoleId(STUDENT_ROLE_ID);
+        user.setUserStatus(UserStatus.ATIVO);
+        user.setTokenVersion(0);
+        user.setIdInstitution(idInstitution);
+
+        user = userRepository.save(user);
+
+        for (Class clazz : classes) {
+            userClassRepository.save(new UserClass(user, clazz));
+        }
+
+        return user;
+
+    }
+
+    private static String uniqueSuffix() {
+        return UUID.randomUUID().toString().substring(0, 12);
+    }
+
+}
@@ -0,0 +1,120 @@
+package senai.com.ava_senai.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Conta os comandos SQL das requisições HTTP a partir de http.server.requests.queries, a métrica gravada pelo
+ * QueryCountFilter, para fixar um limite de consultas por endpoint nos testes de integração:
+ *
+ * <pre>
+ * queryCounter.reset();
+ * given()...get("/{id}", id);
+ * queryCounter.assertQueryCount(4);
+ * </pre>
+ *
+ * O filtro conta só na thread da requisição, então consumidores RabbitMQ, tarefas agendadas e a importação
+ * de usuários, que rodam em paralelo com o teste, ficam fora da contagem. A métrica é gravada antes de a
+ * resposta terminar, então já está atualizada quando o RestAssured devolve o corpo.
+ */
+public class QueryCounter {
+
+    private static final String METRIC = "http.server.requests.queries";
+
+    private final MeterRegistry meterRegistry;
+
+    private Map<String, Double> snapshot = Map.of();
+
+    public QueryCounter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void reset() {
+        snapshot = totalsByEndpoint();
+    }
+
+    public long count() {
+        return Math.round(delta().values().stream().mapToDouble(Double::doubleValue).sum());
+    }
+
+    public void assertQueryCount(long max) {
+
+        long count = count();
+
+        if (count > max) {
+            fail("Esperado no máximo " + max + " comandos SQL, executados " + count + "." + describe());
+        }
+
+    }
+
+    public void assertQueryCount(long max, Runnable action) {
+
+        reset();
+
+        action.run();
+
+        assertQueryCount(max);
+
+    }
+
+    // mesma quantidade de comandos nas duas chamadas, por exemplo uma turma com uma seção e outra com cinco
+    public void assertSameQueryCount(Runnable action, Runnable largerAction) {
+
+        reset();
+        action.run();
+        long count = count();
+        String endpoints = describe();
+
+        reset();
+        largerAction.run();
+
+        assertEquals(count, count(), "A quantidade de comandos SQL cresceu com os dados." + endpoints + describe());
+
+    }
+
+    private Map<String, Double> delta() {
+
+        Map<String, Double> delta = new HashMap<>();
+
+        totalsByEndpoint().forEach((endpoint, total) -> {
+
+            double queries = total - snapshot.getOrDefault(endpoint, 0d);
+
+            if (queries > 0) {
+                delta.put(endpoint, queries);
+            }
+
+        });
+
+        return delta;
+
+    }
+
+    private Map<String, Double> totalsByEndpoint() {
+
+        Map<String, Double> totals = new HashMap<>();
+
+        for (DistributionSummary summary : meterRegistry.find(METRIC).summaries()) {
+            totals.merge(summary.getId().getTag("method") + " " + summary.getId().getTag("uri"), summary.totalAmount(), Double::sum);
+        }
+
+        return totals;
+
+    }
+
+    private String describe() {
+
+        return "\nPor endpoint:" + delta().entrySet().stream()
+                .map(entry -> "\n  " + Math.round(entry.getValue()) + "x " + entry.getKey())
+                .collect(Collectors.joining());
+
+    }
+
+}
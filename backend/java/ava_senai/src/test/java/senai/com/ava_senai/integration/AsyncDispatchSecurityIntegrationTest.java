@@ -0,0 +1,97 @@
+package senai.com.ava_senai.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import senai.com.ava_senai.domain.user.UserLogin;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// respostas em StreamingResponseBody terminam num dispatch ASYNC, que passa pela mesma autorização do dispatch original
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(properties = "api.prefix=/api/v1")
+@AutoConfigureMockMvc
+@Import(AsyncDispatchSecurityIntegrationTest.StreamProbeController.class)
+class AsyncDispatchSecurityIntegrationTest {
+
+    private static final String STREAM_PROBE = "/api/v1/user/stream-probe";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String token;
+
+    @BeforeAll
+    public void setup() throws Exception {
+
+        String response = mockMvc.perform(post("/api/v1/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new UserLogin("admin@gmail.com", "admin"))))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        token = objectMapper.readTree(response).path("data").path("token").asText();
+
+        assertFalse(token.isEmpty());
+
+    }
+
+    @Test
+    @DisplayName("Integration test given no token when call secured streamed endpoint then return unauthorized without starting the stream")
+    void integrationTestGivenNoTokenWhenCallSecuredStreamedEndpointThenReturnUnauthorized() throws Exception {
+
+        mockMvc.perform(get(STREAM_PROBE))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isUnauthorized());
+
+    }
+
+    @Test
+    @DisplayName("Integration test given token when call secured streamed endpoint then the async dispatch keeps the authenticated user")
+    void integrationTestGivenTokenWhenCallSecuredStreamedEndpointThenAsyncDispatchKeepsAuthenticatedUser() throws Exception {
+
+        MvcResult started = mockMvc.perform(get(STREAM_PROBE)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().string("ok"));
+
+    }
+
+    @RestController
+    static class StreamProbeController {
+
+        @GetMapping(STREAM_PROBE)
+        public ResponseEntity<StreamingResponseBody> streamProbe() {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.TEXT_PLAIN)
+                    .body(out -> out.write("ok".getBytes(StandardCharsets.UTF_8)));
+        }
+
+    }
+
+}
@@ -10,12 +10,23 @@ import io.restassured.filter.log.LogDetail;
 import io.restassured.filter.log.ResponseLoggingFilter;
 import io.restassured.http.ContentType;
 import io.restassured.specification.RequestSpecification;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import senai.com.ava_senai.config.IntegrationFixtures;
+import senai.com.ava_senai.config.QueryCounter;
 import senai.com.ava_senai.config.TestConfig;
+import senai.com.ava_senai.domain.course.clazz.Class;
 import senai.com.ava_senai.domain.course.clazz.ClassRegisterDTO;
 import senai.com.ava_senai.domain.course.clazz.ClassResponseDTO;
+import senai.com.ava_senai.domain.course.section.Section;
 import senai.com.ava_senai.domain.user.UserLogin;
+import senai.com.ava_senai.repository.ClassRepository;
+import senai.com.ava_senai.repository.SectionClassRepository;
+import senai.com.ava_senai.repository.SectionRepository;
+import senai.com.ava_senai.repository.UserClassRepository;
+import senai.com.ava_senai.repository.UserRepository;
 import senai.com.ava_senai.response.ApiResponse;
 
 import java.time.LocalDate;
@@ -38,8 +49,39 @@ class ClassIntegrationTest {
     private ClassRegisterDTO classRegisterDTO;
     private ClassResponseDTO classResponseDTO;
 
+    // limites de comandos SQL por endpoint, independentes da quantidade de seções e alunos da turma
+    private static final long CREATE_QUERY_BUDGET = 8;
+    private static final long GET_QUERY_BUDGET = 8;
+    private static final long UPDATE_QUERY_BUDGET = 12;
+    private static final long DELETE_QUERY_BUDGET = 10;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private SectionRepository sectionRepository;
+
+    @Autowired
+    private ClassRepository classRepository;
+
+    @Autowired
+    private SectionClassRepository sectionClassRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserClassRepository userClassRepository;
+
+    private QueryCounter queryCounter;
+
+    private IntegrationFixtures fixtures;
+
     @BeforeAll
     public void setup() {
+        queryCounter = new QueryCounter(meterRegistry);
+        fixtures = new IntegrationFixtures(sectionRepository, classRepository, sectionClassRepository, userRepository, userClassRepository);
+
         mapper = new ObjectMapper();
         mapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
 
@@ -75,6 +117,8 @@ class ClassIntegrationTest {
     @Order(1)
     @DisplayName("Integration test given a ClassRegister when add should return a class response data with right properties")
     void integrationTestGivenClassRegisterWhenAddShouldReturnClassResponseData() throws Throwable {
+        queryCounter.reset();
+
         String response = given()
                 .spec(specification)
                 .header("Authorization", "Bearer " + token)
@@ -88,6 +132,8 @@ class ClassIntegrationTest {
                 .extract()
                 .asString();
 
+        queryCounter.assertQueryCount(CREATE_QUERY_BUDGET);
+
         ApiResponse apiResponse = new Gson().fromJson(response, ApiResponse.class);
         classResponseDTO = mapper.convertValue(apiResponse.getData(), ClassResponseDTO.class);
 
@@ -100,6 +146,8 @@ class ClassIntegrationTest {
     @Order(2)
     @DisplayName("Integration test given ID registered class when call get should return registered class")
     void integrationTestGivenIDRegisteredClassWhenCallGetShouldReturnRegisteredClass() {
+        queryCounter.reset();
+
         String response = given()
                 .spec(specification)
                 .header("Authorization", "Bearer " + token)
@@ -112,6 +160,8 @@ class ClassIntegrationTest {
                 .extract()
                 .asString();
 
+        queryCounter.assertQueryCount(GET_QUERY_BUDGET);
+
         ApiResponse apiResponse = new Gson().fromJson(response, ApiResponse.class);
         ClassResponseDTO retrievedClass = mapper.convertValue(apiResponse.getData(), ClassResponseDTO.class);
 
@@ -126,6 +176,8 @@ class ClassIntegrationTest {
     void integrationTestGivenClassRegisterWhenUpdateShouldReturnClassResponseData() throws Throwable {
         classRegisterDTO = new ClassRegisterDTO("Updated Class",1L, LocalDate.of(2023, 1, 1), LocalDate.of(2023, 12, 31), "updated_image.jpg", "codeup", 2, List.of());
 
+        queryCounter.reset();
+
         String response = given()
                 .spec(specification)
                 .header("Authorization", "Bearer " + token)
@@ -139,6 +191,8 @@ class ClassIntegrationTest {
                 .extract()
                 .asString();
 
+        queryCounter.assertQueryCount(UPDATE_QUERY_BUDGET);
+
         ApiResponse apiResponse = new Gson().fromJson(response, ApiResponse.class);
         classResponseDTO = mapper.convertValue(apiResponse.getData(), ClassResponseDTO.class);
 
@@ -165,6 +219,8 @@ class ClassIntegrationTest {
     @Order(5)
     @DisplayName("Integration test given a class ID when delete should return success message")
     void integrationTestGivenClassIdWhenDeleteShouldReturnSuccessMessage() {
+        queryCounter.reset();
+
         given()
                 .spec(specification)
                 .header("Authorization", "Bearer " + token)
@@ -174,6 +230,38 @@ class ClassIntegrationTest {
                 .then()
                 .statusCode(200)
                 .body("message", equalTo("Turma deletada com sucesso!"));
+
+        queryCounter.assertQueryCount(DELETE_QUERY_BUDGET);
+    }
+
+    @Test
+    @Order(6)
+    @DisplayName("Integration test given classes with one and five sections and students when get should run the same number of queries")
+    void integrationTestGivenClassesWithOneAndFiveSectionsWhenGetShouldRunSameNumberOfQueries() {
+        List<Section> sections = fixtures.sections(5);
+
+        Class smallClass = fixtures.clazz(sections.subList(0, 1));
+        Class largeClass = fixtures.clazz(sections);
+
+        fixtures.student(List.of(smallClass));
+
+        for (int i = 0; i < 5; i++) {
+            fixtures.student(List.of(largeClass));
+        }
+
+        queryCounter.assertSameQueryCount(() -> getClassById(smallClass.getId(), 1), () -> getClassById(largeClass.getId(), 5));
+    }
+
+    private void getClassById(Long classId, int sections) {
+        given()
+                .spec(specification)
+                .header("Authorization", "Bearer " + token)
+                .contentType(ContentType.JSON)
+                .when()
+                .get("/{classId}/class", classId)
+                .then()
+                .statusCode(200)
+                .body("data.sections.size()", equalTo(sections));
     }
 
 }
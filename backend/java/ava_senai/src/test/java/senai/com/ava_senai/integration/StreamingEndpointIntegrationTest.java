@@ -0,0 +1,92 @@
+package senai.com.ava_senai.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import senai.com.ava_senai.domain.user.UserLogin;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// /api/v1/user/** exige autenticação em BackEndConfig, então a resposta em streaming passa pelo dispatch ASYNC autenticado
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(properties = "api.prefix=/api/v1")
+@AutoConfigureMockMvc
+class StreamingEndpointIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String token;
+
+    @BeforeAll
+    public void setup() throws Exception {
+
+        String response = mockMvc.perform(post("/api/v1/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new UserLogin("admin@gmail.com", "admin"))))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        token = objectMapper.readTree(response).path("data").path("token").asText();
+
+        assertFalse(token.isEmpty());
+
+    }
+
+    @Test
+    @DisplayName("Integration test given token when stream users then async dispatch is authorized and writes a JSON array")
+    void integrationTestGivenTokenWhenStreamUsersThenAsyncDispatchIsAuthorizedAndWritesJsonArray() throws Exception {
+
+        MvcResult started = mockMvc.perform(get("/api/v1/user/list-all/stream")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.message").value("Usuários"))
+                .andExpect(jsonPath("$.data").isArray())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        // o corpo inteiro é um único documento JSON, com o array fechado mesmo após vários flushes
+        JsonNode json = objectMapper.readTree(body);
+
+        assertTrue(json.path("data").isArray());
+        assertFalse(json.path("data").isEmpty());
+
+        for (JsonNode user : json.path("data")) {
+            assertTrue(user.hasNonNull("id"));
+            assertTrue(user.path("classes").isArray());
+        }
+
+    }
+
+    @Test
+    @DisplayName("Integration test given no token when stream users then return unauthorized without starting the stream")
+    void integrationTestGivenNoTokenWhenStreamUsersThenReturnUnauthorizedWithoutStartingStream() throws Exception {
+
+        mockMvc.perform(get("/api/v1/user/list-all/stream"))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isUnauthorized());
+
+    }
+
+}
@@ -0,0 +1,127 @@
+package senai.com.ava_senai.integration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.BatchMessageListener;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.DirectExchange;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.SimpleRabbitListenerEndpoint;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import senai.com.ava_senai.config.RabbitMQConfig;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// fila própria do teste com a mesma dead letter exchange e o mesmo container das filas de atribuição de tarefas
+@SpringBootTest(properties = {
+        "rabbitmq.task-assignment.retry.initial-interval-ms=10",
+        "rabbitmq.task-assignment.retry.max-interval-ms=10"
+})
+class TaskAssignmentDeadLetterIntegrationTest {
+
+    private static final String QUEUE = "ava.tasks.dead-letter-probe";
+    private static final String DEAD_LETTER_QUEUE = QUEUE + ".dlq";
+
+    @Autowired
+    @Qualifier(RabbitMQConfig.TASK_ASSIGNMENT_LISTENER_FACTORY)
+    private SimpleRabbitListenerContainerFactory taskAssignmentListenerFactory;
+
+    @Autowired
+    private AmqpAdmin amqpAdmin;
+
+    @Autowired
+    private RabbitTemplate rabbitTemplate;
+
+    private SimpleMessageListenerContainer container;
+
+    @BeforeEach
+    void setUp() {
+
+        amqpAdmin.declareQueue(QueueBuilder.durable(QUEUE)
+                .deadLetterExchange(RabbitMQConfig.EXCHANGE_TASKS_DEAD_LETTER)
+                .deadLetterRoutingKey(DEAD_LETTER_QUEUE)
+                .build());
+
+        Queue deadLetterQueue = QueueBuilder.durable(DEAD_LETTER_QUEUE).build();
+
+        amqpAdmin.declareQueue(deadLetterQueue);
+
+        Binding binding = BindingBuilder.bind(deadLetterQueue)
+                .to(new DirectExchange(RabbitMQConfig.EXCHANGE_TASKS_DEAD_LETTER))
+                .with(DEAD_LETTER_QUEUE);
+
+        amqpAdmin.declareBinding(binding);
+
+    }
+
+    @AfterEach
+    void tearDown() {
+
+        if (container != null) {
+            container.stop();
+        }
+
+        amqpAdmin.deleteQueue(QUEUE);
+        amqpAdmin.deleteQueue(DEAD_LETTER_QUEUE);
+
+    }
+
+    @Test
+    @DisplayName("Integration test given batch failing every attempt when consume then send the whole batch to the DLQ")
+    void integrationTestGivenBatchFailingEveryAttemptWhenConsumeThenSendWholeBatchToDlq() {
+
+        AtomicInteger attempts = new AtomicInteger();
+
+        SimpleRabbitListenerEndpoint endpoint = new SimpleRabbitListenerEndpoint();
+        endpoint.setQueueNames(QUEUE);
+        endpoint.setMessageListener((BatchMessageListener) messages -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("falha simulada");
+        });
+
+        container = taskAssignmentListenerFactory.createListenerContainer(endpoint);
+        container.setConcurrentConsumers(1);
+        container.setMaxConcurrentConsumers(1);
+
+        List<String> sent = List.of("primeira", "segunda", "terceira");
+
+        sent.forEach(body -> rabbitTemplate.send("", QUEUE, MessageBuilder.withBody(body.getBytes(StandardCharsets.UTF_8)).build()));
+
+        container.start();
+
+        List<String> deadLettered = new ArrayList<>();
+
+        for (int i = 0; i < sent.size(); i++) {
+
+            Message message = rabbitTemplate.receive(DEAD_LETTER_QUEUE, 10_000);
+
+            assertNotNull(message, "mensagem não chegou à DLQ");
+
+            deadLettered.add(new String(message.getBody(), StandardCharsets.UTF_8));
+
+        }
+
+        assertEquals(sent.stream().sorted().toList(), deadLettered.stream().sorted().toList());
+        assertTrue(attempts.get() >= 3);
+        assertEquals(0, amqpAdmin.getQueueInfo(QUEUE).getMessageCount());
+
+    }
+
+}
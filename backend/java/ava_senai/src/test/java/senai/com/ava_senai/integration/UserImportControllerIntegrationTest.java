@@ -0,0 +1,87 @@
+package senai.com.ava_senai.integration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import senai.com.ava_senai.domain.user.role.Roles;
+import senai.com.ava_senai.domain.user.userimport.UserImportFormat;
+import senai.com.ava_senai.domain.user.userimport.UserImportJobDTO;
+import senai.com.ava_senai.domain.user.userimport.UserImportStatus;
+import senai.com.ava_senai.handler.requesthandler.security.user.AuthyUserDetails;
+import senai.com.ava_senai.services.user.IUserImportService;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// o serviço de importação é substituído por um mock: aqui só interessa o que o controller repassa a ele
+@SpringBootTest(properties = "api.prefix=/api/v1")
+@AutoConfigureMockMvc
+class UserImportControllerIntegrationTest {
+
+    private static final Long TEACHER_INSTITUTION = 5L;
+
+    private static final String CSV = "name,email,password,cpf\nAna,ana@senai.com,senha,52998224725";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private IUserImportService userImportService;
+
+    private AuthyUserDetails teacher;
+
+    @BeforeEach
+    void setUp() {
+
+        teacher = new AuthyUserDetails();
+        teacher.setId(10L);
+        teacher.setEmail("professor@senai.com");
+        teacher.setIdInstitution(TEACHER_INSTITUTION);
+        teacher.setAuthorities(List.of(new SimpleGrantedAuthority(Roles.TEACHER.name())));
+
+    }
+
+    @Test
+    @DisplayName("Integration test given teacher when import admins then return 403 and not start the import")
+    void integrationTestGivenTeacherWhenImportAdminsThenReturn403AndNotStartImport() throws Exception {
+
+        mockMvc.perform(post("/api/v1/user/import/ADMIN")
+                        .with(user(teacher))
+                        .contentType("text/csv")
+                        .content(CSV))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(userImportService);
+
+    }
+
+    @Test
+    @DisplayName("Integration test given teacher and another institution when import students then use the teacher institution")
+    void integrationTestGivenTeacherAndAnotherInstitutionWhenImportStudentsThenUseTeacherInstitution() throws Exception {
+
+        when(userImportService.startImport(any(), any(), any(), any())).thenReturn(new UserImportJobDTO(1L, UserImportStatus.EM_ANDAMENTO, 1, 0, 0, null, null));
+
+        mockMvc.perform(post("/api/v1/user/import/STUDENT")
+                        .param("idInstitution", "99")
+                        .with(user(teacher))
+                        .contentType("text/csv")
+                        .content(CSV))
+                .andExpect(status().isAccepted());
+
+        verify(userImportService).startImport(eq(Roles.STUDENT), eq(TEACHER_INSTITUTION), eq(UserImportFormat.CSV), any());
+
+    }
+
+}
@@ -8,16 +8,30 @@ import io.restassured.filter.log.LogDetail;
 import io.restassured.filter.log.ResponseLoggingFilter;
 import io.restassured.http.ContentType;
 import io.restassured.specification.RequestSpecification;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import senai.com.ava_senai.config.IntegrationFixtures;
+import senai.com.ava_senai.config.QueryCounter;
 import senai.com.ava_senai.config.TestConfig;
+import senai.com.ava_senai.domain.course.clazz.Class;
+import senai.com.ava_senai.domain.course.section.Section;
+import senai.com.ava_senai.domain.user.User;
 import senai.com.ava_senai.domain.user.UserLogin;
 import senai.com.ava_senai.domain.user.UserRegisterDTO;
 import senai.com.ava_senai.domain.user.UserResponseDTO;
 import senai.com.ava_senai.domain.user.role.Role;
+import senai.com.ava_senai.repository.ClassRepository;
+import senai.com.ava_senai.repository.SectionClassRepository;
+import senai.com.ava_senai.repository.SectionRepository;
+import senai.com.ava_senai.repository.UserClassRepository;
+import senai.com.ava_senai.repository.UserRepository;
 import senai.com.ava_senai.response.ApiResponse;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.Matchers.equalTo;
@@ -34,9 +48,39 @@ class UserIntegrationTest {
 	private UserRegisterDTO userRegisterDTO;
 	private UserResponseDTO userResponseData;
 
+	// limites de comandos SQL por endpoint, independentes da quantidade de turmas do usuário
+	private static final long CREATE_QUERY_BUDGET = 15;
+	private static final long GET_QUERY_BUDGET = 5;
+	private static final long UPDATE_QUERY_BUDGET = 20;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private SectionRepository sectionRepository;
+
+	@Autowired
+	private ClassRepository classRepository;
+
+	@Autowired
+	private SectionClassRepository sectionClassRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private UserClassRepository userClassRepository;
+
+	private QueryCounter queryCounter;
+
+	private IntegrationFixtures fixtures;
+
 	@BeforeAll
 	public void setup() {
 
+		queryCounter = new QueryCounter(meterRegistry);
+		fixtures = new IntegrationFixtures(sectionRepository, classRepository, sectionClassRepository, userRepository, userClassRepository);
+
 		mapper = new ObjectMapper();
 		mapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
 
@@ -82,6 +126,8 @@ class UserIntegrationTest {
 	@DisplayName("Integration test given a UserRegister when add should return a user response data with right properties")
 	void integrationTestGivenUserRegisterWhenAddShouldReturnUserResponseDTO() throws Throwable {
 
+		queryCounter.reset();
+
 		String response = given()
 				.spec(specification)
 				.header("Authorization", "Bearer " + token)
@@ -96,6 +142,8 @@ class UserIntegrationTest {
 				.extract()
 				.asString();
 
+		queryCounter.assertQueryCount(CREATE_QUERY_BUDGET);
+
 		ApiResponse apiResponse = new Gson().fromJson(response, ApiResponse.class);
 
 		userResponseData = mapper.convertValue(apiResponse.getData(), UserResponseDTO.class);
@@ -114,6 +162,8 @@ class UserIntegrationTest {
 	@DisplayName("Integration test given ID registered user when call get should return registered user")
 	void integrationTestGivenIDRegisteredUserWhenCallGetShouldReturnRegisteredUser() {
 
+		queryCounter.reset();
+
 		String response = given()
 				.spec(specification)
 				.header("Authorization", "Bearer " + token)
@@ -126,6 +176,8 @@ class UserIntegrationTest {
 				.extract()
 				.asString();
 
+		queryCounter.assertQueryCount(GET_QUERY_BUDGET);
+
 		ApiResponse apiResponse = new Gson().fromJson(response, ApiResponse.class);
 
 		userResponseData = mapper.convertValue(apiResponse.getData(), UserResponseDTO.class);
@@ -147,6 +199,8 @@ class UserIntegrationTest {
 		userRegisterDTO.setEmail("updateduser@example.com");
 		userRegisterDTO.setPassword("newpassword123");
 
+		queryCounter.reset();
+
 		String response = given()
 				.spec(specification)
 				.header("Authorization", "Bearer " + token)
@@ -161,6 +215,8 @@ class UserIntegrationTest {
 				.extract()
 				.asString();
 
+		queryCounter.assertQueryCount(UPDATE_QUERY_BUDGET);
+
 		ApiResponse apiResponse = new Gson().fromJson(response, ApiResponse.class);
 
 		userResponseData = mapper.convertValue(apiResponse.getData(), UserResponseDTO.class);
@@ -187,4 +243,38 @@ class UserIntegrationTest {
 				.statusCode(200)
 				.body("message", equalTo("Usuários"));
 	}
+
+	@Test
+	@Order(5)
+	@DisplayName("Integration test given users with one and five classes when get should run the same number of queries")
+	void integrationTestGivenUsersWithOneAndFiveClassesWhenGetShouldRunSameNumberOfQueries() {
+
+		List<Section> sections = fixtures.sections(2);
+		List<Class> classes = new ArrayList<>();
+
+		for (int i = 0; i < 5; i++) {
+			classes.add(fixtures.clazz(sections));
+		}
+
+		User oneClass = fixtures.student(classes.subList(0, 1));
+		User fiveClasses = fixtures.student(classes);
+
+		queryCounter.assertSameQueryCount(() -> getUserById(oneClass.getId(), 1), () -> getUserById(fiveClasses.getId(), 5));
+
+	}
+
+	private void getUserById(Long id, int classes) {
+
+		given()
+				.spec(specification)
+				.header("Authorization", "Bearer " + token)
+				.contentType(ContentType.JSON)
+				.when()
+				.get("/{id}", id)
+				.then()
+				.statusCode(200)
+				.body("data.classes.size()", equalTo(classes));
+
+	}
+
 }
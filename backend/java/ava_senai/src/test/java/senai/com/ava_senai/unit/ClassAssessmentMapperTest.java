@@ -0,0 +1,70 @@
+package senai.com.ava_senai.unit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import senai.com.ava_senai.domain.course.clazz.classassessment.ClassAssessmentRowDTO;
+import senai.com.ava_senai.domain.course.clazz.classassessment.TaskUserAssessmentDTO;
+import senai.com.ava_senai.domain.course.clazz.classassessment.UserAssessmentDTO;
+import senai.com.ava_senai.domain.course.clazz.classassessment.UserResponseContentRowDTO;
+import senai.com.ava_senai.domain.task.taskcontent.TaskContentType;
+import senai.com.ava_senai.domain.user.UserResponseDTO;
+import senai.com.ava_senai.domain.user.UserStatus;
+import senai.com.ava_senai.mapper.ClassAssessmentMapper;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClassAssessmentMapperTest {
+
+    private final ClassAssessmentMapper classAssessmentMapper = new ClassAssessmentMapper();
+
+    @Test
+    @DisplayName("Given flat rows ordered by student when map then group tasks, contents and feedback per student")
+    void givenFlatRowsOrderedByStudentWhenMapThenGroupTasksContentsAndFeedbackPerStudent() {
+        UserResponseDTO teacher = new UserResponseDTO(9L, "prof@senai.com", "Professor", UserStatus.ATIVO, null, "SENAI", null, null);
+
+        List<ClassAssessmentRowDTO> rows = List.of(
+                row(1L, 10L, 100L, 1000L, 5000L, 8d, 9L),
+                row(1L, 11L, 101L, null, null, null, null),
+                row(2L, 12L, 100L, 1001L, null, null, null),
+                row(3L, null, null, null, null, null, null));
+
+        List<UserResponseContentRowDTO> contentRows = List.of(
+                new UserResponseContentRowDTO(1000L, TaskContentType.PDF, "a.pdf", "1000/a"),
+                new UserResponseContentRowDTO(1000L, TaskContentType.PNG, "b.png", "1000/b"));
+
+        List<UserAssessmentDTO> users = classAssessmentMapper.mapUserAssessment(rows, contentRows, Map.of(9L, teacher));
+
+        assertEquals(3, users.size());
+
+        UserAssessmentDTO first = users.get(0);
+        assertEquals(2, first.getTasksAssessment().size());
+
+        TaskUserAssessmentDTO answered = first.getTasksAssessment().get(0);
+        assertEquals(100L, answered.getTaskId());
+        assertEquals(2, answered.getUserResponse().getContents().size());
+        assertEquals(8d, answered.getFeedback().grade());
+        assertSame(teacher, answered.getFeedback().teacher());
+        assertEquals(1000L, answered.getFeedback().response().id());
+
+        TaskUserAssessmentDTO pending = first.getTasksAssessment().get(1);
+        assertNull(pending.getUserResponse());
+        assertNull(pending.getFeedback());
+
+        assertTrue(users.get(1).getTasksAssessment().get(0).getUserResponse().getContents().isEmpty());
+        assertSame(first.getRole(), users.get(1).getRole());
+        assertTrue(users.get(2).getTasksAssessment().isEmpty());
+    }
+
+    private ClassAssessmentRowDTO row(Long userId, Long taskUserId, Long taskId, Long userResponseId,
+                                      Long feedbackId, Double grade, Long teacherId) {
+        return new ClassAssessmentRowDTO(userId, "aluno" + userId + "@senai.com", "Aluno " + userId, UserStatus.ATIVO,
+                1L, "STUDENT", "SENAI", null,
+                taskUserId, taskId, taskId != null ? "Tarefa " + taskId : null, null, null, taskId != null ? 1L : null,
+                userResponseId, userResponseId != null ? "Resposta" : null,
+                feedbackId, feedbackId != null ? "Bom" : null, grade, teacherId);
+    }
+
+}
@@ -8,21 +8,36 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
 import senai.com.ava_senai.domain.course.clazz.Class;
 import senai.com.ava_senai.domain.course.clazz.ClassRegisterDTO;
 import senai.com.ava_senai.domain.course.clazz.ClassResponseDTO;
+import senai.com.ava_senai.domain.course.clazz.classassessment.ClassAssessmentFilterDTO;
+import senai.com.ava_senai.domain.course.clazz.classassessment.ClassAssessmentPageDTO;
+import senai.com.ava_senai.domain.course.clazz.classassessment.ClassAssessmentResponseDTO;
+import senai.com.ava_senai.domain.course.clazz.classassessment.ClassAssessmentRowDTO;
 import senai.com.ava_senai.exception.AlreadyExistsException;
 import senai.com.ava_senai.exception.NotFoundException;
 import senai.com.ava_senai.exception.NullListException;
+import senai.com.ava_senai.mapper.ClassAssessmentMapper;
 import senai.com.ava_senai.repository.ClassRepository;
+import senai.com.ava_senai.repository.SectionClassRepository;
+import senai.com.ava_senai.repository.UserRepository;
+import senai.com.ava_senai.repository.UserResponseContentRepository;
 import senai.com.ava_senai.services.clazz.ClassService;
+import senai.com.ava_senai.services.dashboard.IDashBoardService;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,6 +46,21 @@ class ClassServiceTest {
     @Mock
     private ClassRepository classRepository;
 
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserResponseContentRepository userResponseContentRepository;
+
+    @Mock
+    private ClassAssessmentMapper classAssessmentMapper;
+
+    @Mock
+    private SectionClassRepository sectionClassRepository;
+
+    @Mock
+    private IDashBoardService dashBoardService;
+
     @InjectMocks
     private ClassService classService;
 
@@ -96,8 +126,7 @@ class ClassServiceTest {
     @Test
     @DisplayName("Given a valid class ID when getTurmaById then return ClassResponseDTO")
     void givenValidClassIdWhenGetTurmaByIdThenReturnClassResponseDTO() {
-        when(classRepository.existsById(1L)).thenReturn(true);
-        when(classRepository.getReferenceById(1L)).thenReturn(clazz);
+        when(classRepository.findWithSectionsByIdIn(List.of(1L))).thenReturn(List.of(clazz));
 
         ClassResponseDTO response = classService.getTurmaById(1L);
 
@@ -109,7 +138,7 @@ class ClassServiceTest {
     @Test
     @DisplayName("Given an invalid class ID when getTurmaById then throw NotFoundException")
     void givenInvalidClassIdWhenGetTurmaByIdThenThrowNotFoundException() {
-        when(classRepository.existsById(1L)).thenReturn(false);
+        when(classRepository.findWithSectionsByIdIn(List.of(1L))).thenReturn(List.of());
 
         Exception exception = assertThrows(NotFoundException.class, () -> classService.getTurmaById(1L));
 
@@ -168,4 +197,45 @@ class ClassServiceTest {
 
         assertEquals("Turma para deletar não encontrada", exception.getMessage());
     }
+
+    @Test
+    @DisplayName("Given more students than the page size when getClassAssessmentPage then return the page and the next cursor")
+    void givenMoreStudentsThanPageSizeWhenGetClassAssessmentPageThenReturnPageAndNextCursor() {
+        ClassAssessmentFilterDTO filter = new ClassAssessmentFilterDTO(3L, 2, null, true, false);
+        List<ClassAssessmentRowDTO> rows = List.of();
+        ClassAssessmentResponseDTO classAssessment = new ClassAssessmentResponseDTO();
+
+        when(classRepository.findClassAssessment(1L)).thenReturn(clazz);
+        when(userRepository.findClassAssessmentStudentIds(eq(1L), eq(3L), eq(true), isNull(), eq(true), eq(false), any(Pageable.class)))
+                .thenReturn(List.of(5L, 7L, 9L));
+        when(userRepository.findClassAssessmentRowsByUserIds(List.of(5L, 7L), null, true, false)).thenReturn(rows);
+        when(classAssessmentMapper.mapClassAssessment(clazz, rows, List.of(), Map.of())).thenReturn(classAssessment);
+
+        ClassAssessmentPageDTO page = classService.getClassAssessmentPage(1L, filter);
+
+        assertSame(classAssessment, page.classAssessment());
+        assertTrue(page.hasNext());
+        assertEquals(7L, page.nextCursor());
+        verifyNoInteractions(userResponseContentRepository);
+    }
+
+    @Test
+    @DisplayName("Given a nonexistent class when getClassAssessmentPage then throw NotFoundException")
+    void givenNonexistentClassWhenGetClassAssessmentPageThenThrowNotFoundException() {
+        when(classRepository.findClassAssessment(1L)).thenReturn(null);
+
+        assertThrows(NotFoundException.class,
+                () -> classService.getClassAssessmentPage(1L, new ClassAssessmentFilterDTO(null, null, null, false, false)));
+    }
+
+    @Test
+    @DisplayName("Given class with students when updateSections then evict the dashboards of the class students")
+    void givenClassWithStudentsWhenUpdateSectionsThenEvictDashboardsOfClassStudents() {
+        when(sectionClassRepository.findByClassId(1L)).thenReturn(List.of());
+
+        classService.updateSections(clazz, classRegisterDTO);
+
+        verify(dashBoardService).evictByClass(1L);
+    }
+
 }
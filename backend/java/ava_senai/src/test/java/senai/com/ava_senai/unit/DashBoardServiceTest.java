@@ -0,0 +1,120 @@
+package senai.com.ava_senai.unit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import senai.com.ava_senai.domain.dashboard.DashBoardTaskRowDTO;
+import senai.com.ava_senai.domain.dashboard.DashBoardTaskStatus;
+import senai.com.ava_senai.domain.dashboard.DashBoardUserGeneralInfo;
+import senai.com.ava_senai.handler.requesthandler.security.user.AuthyUserDetails;
+import senai.com.ava_senai.repository.DashBoardRepository;
+import senai.com.ava_senai.repository.TaskUserRepository;
+import senai.com.ava_senai.repository.UserClassRepository;
+import senai.com.ava_senai.services.dashboard.DashBoardService;
+import senai.com.ava_senai.services.dashboard.IDashBoardCounterService;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DashBoardServiceTest {
+
+    private static final Long USER_ID = 1L;
+
+    @Mock
+    private DashBoardRepository dashBoardRepository;
+
+    @Mock
+    private TaskUserRepository taskUserRepository;
+
+    @Mock
+    private UserClassRepository userClassRepository;
+
+    @Mock
+    private IDashBoardCounterService dashBoardCounterService;
+
+    private DashBoardService dashBoardService;
+
+    @BeforeEach
+    void setUp() {
+        dashBoardService = new DashBoardService(dashBoardRepository, taskUserRepository, userClassRepository, dashBoardCounterService, 100, 60);
+
+        AuthyUserDetails user = new AuthyUserDetails();
+        user.setId(USER_ID);
+        user.setAuthorities(List.of());
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(user, null, List.of()));
+
+        when(dashBoardRepository.findUserTasksWithStatus(USER_ID))
+                .thenReturn(List.of(new DashBoardTaskRowDTO(10L, "Tarefa", "Descrição", DashBoardTaskStatus.PENDENTE)))
+                .thenReturn(List.of(new DashBoardTaskRowDTO(10L, "Tarefa", "Descrição", DashBoardTaskStatus.AGUARDANDO_FEEDBACK)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Given cached dashboard when get again then do not query the tasks again")
+    void givenCachedDashboardWhenGetAgainThenDoNotQueryTasksAgain() {
+        DashBoardUserGeneralInfo first = dashBoardService.getDashBoardUserGeneralInfo();
+        DashBoardUserGeneralInfo second = dashBoardService.getDashBoardUserGeneralInfo();
+
+        assertSame(first, second);
+        assertEquals(1, second.getPendingTasks().size());
+        verify(dashBoardRepository, times(1)).findUserTasksWithStatus(USER_ID);
+    }
+
+    @Test
+    @DisplayName("Given cached dashboard when the student answers a task then rebuild it with the answer")
+    void givenCachedDashboardWhenStudentAnswersTaskThenRebuildItWithAnswer() {
+        when(taskUserRepository.findUserIdById(20L)).thenReturn(Optional.of(USER_ID));
+
+        dashBoardService.getDashBoardUserGeneralInfo();
+
+        dashBoardService.evictByTaskUser(20L);
+
+        DashBoardUserGeneralInfo dashboard = dashBoardService.getDashBoardUserGeneralInfo();
+
+        assertTrue(dashboard.getPendingTasks().isEmpty());
+        assertEquals(1, dashboard.getWaitingFeedbackTasks().size());
+        verify(dashBoardRepository, times(2)).findUserTasksWithStatus(USER_ID);
+    }
+
+    @Test
+    @DisplayName("Given cached dashboard when the sections of a class of the student change then rebuild it")
+    void givenCachedDashboardWhenSectionsOfStudentClassChangeThenRebuildIt() {
+        when(userClassRepository.findUserIdsByClassId(5L)).thenReturn(List.of(USER_ID, 2L));
+
+        dashBoardService.getDashBoardUserGeneralInfo();
+
+        dashBoardService.evictByClass(5L);
+
+        dashBoardService.getDashBoardUserGeneralInfo();
+
+        verify(dashBoardRepository, times(2)).findUserTasksWithStatus(USER_ID);
+    }
+
+    @Test
+    @DisplayName("Given cached dashboard when another student is evicted then keep serving the cached one")
+    void givenCachedDashboardWhenAnotherStudentIsEvictedThenKeepServingCachedOne() {
+        dashBoardService.getDashBoardUserGeneralInfo();
+
+        dashBoardService.evictUser(2L);
+
+        dashBoardService.getDashBoardUserGeneralInfo();
+
+        verify(dashBoardRepository, times(1)).findUserTasksWithStatus(USER_ID);
+    }
+
+}
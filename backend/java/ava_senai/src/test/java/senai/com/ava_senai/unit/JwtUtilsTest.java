@@ -0,0 +1,78 @@
+package senai.com.ava_senai.unit;
+
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+import senai.com.ava_senai.domain.course.institution.Institution;
+import senai.com.ava_senai.domain.user.User;
+import senai.com.ava_senai.domain.user.UserStatus;
+import senai.com.ava_senai.domain.user.role.Role;
+import senai.com.ava_senai.handler.requesthandler.security.jwt.JwtUtils;
+import senai.com.ava_senai.handler.requesthandler.security.user.AuthyUserDetails;
+
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilsTest {
+
+    private JwtUtils jwtUtils;
+
+    private AuthyUserDetails userDetails;
+
+    @BeforeEach
+    void setUp() {
+
+        jwtUtils = new JwtUtils(null);
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", Base64.getEncoder().encodeToString(new byte[32]));
+        ReflectionTestUtils.setField(jwtUtils, "expirationTime", 60_000);
+        ReflectionTestUtils.invokeMethod(jwtUtils, "init");
+
+        Role role = new Role("TEACHER");
+        role.setId(2L);
+
+        Institution institution = new Institution();
+        institution.setId(5L);
+        institution.setInstitutionName("SENAI");
+
+        User user = new User();
+        user.setId(1L);
+        user.setEmail("teacher@example.com");
+        user.setName("Teacher");
+        user.setUserStatus(UserStatus.ATIVO);
+        user.setRole(role);
+        user.setInstitution(institution);
+        user.setIdInstitution(5L);
+        user.setCpf("95566310036");
+        user.setTokenVersion(3);
+
+        userDetails = AuthyUserDetails.buildUserDetails(user);
+
+    }
+
+    @Test
+    @DisplayName("Given generated token when buildUserDetails should rebuild principal from claims")
+    void givenGeneratedTokenWhenBuildUserDetailsShouldRebuildPrincipalFromClaims() {
+
+        String token = jwtUtils.generateTokenForUser(
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+
+        Claims claims = jwtUtils.parseClaims(token);
+        AuthyUserDetails rebuilt = jwtUtils.buildUserDetails(claims);
+
+        assertEquals(1L, rebuilt.getId());
+        assertEquals("teacher@example.com", rebuilt.getUsername());
+        assertEquals("Teacher", rebuilt.getName());
+        assertEquals(5L, rebuilt.getIdInstitution());
+        assertEquals("SENAI", rebuilt.getInstitution().getInstitutionName());
+        assertEquals(UserStatus.ATIVO, rebuilt.getStatus());
+        assertEquals(2L, rebuilt.getRole().getId());
+        assertEquals("TEACHER", rebuilt.getAuthorities().iterator().next().getAuthority());
+        assertEquals(3, rebuilt.getTokenVersion());
+        assertNull(rebuilt.getPassword());
+    }
+
+}
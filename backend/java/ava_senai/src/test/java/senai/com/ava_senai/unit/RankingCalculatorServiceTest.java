@@ -0,0 +1,118 @@
+package senai.com.ava_senai.unit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import senai.com.ava_senai.domain.ranking.StudentRankingDTO;
+import senai.com.ava_senai.domain.ranking.TaskRankingCalculatorDTO;
+import senai.com.ava_senai.domain.ranking.UserRankingCalculatorDTO;
+import senai.com.ava_senai.services.ranking.RankingCalculatorService;
+import senai.com.ava_senai.services.ranking.calculatorstrategy.GradeScoreCalculator;
+import senai.com.ava_senai.services.ranking.calculatorstrategy.ScoreCalculatorStrategy;
+import senai.com.ava_senai.services.ranking.calculatorstrategy.SinglePassScoreCalculator;
+import senai.com.ava_senai.services.ranking.calculatorstrategy.TimeScoreCalculator;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RankingCalculatorServiceTest {
+
+    private static final long DAY = 86_400_000L;
+
+    private RankingCalculatorService rankingCalculatorService;
+
+    @BeforeEach
+    void setUp() {
+        ScoreCalculatorStrategy strategy = new ScoreCalculatorStrategy(List.of(
+                new GradeScoreCalculator(), new TimeScoreCalculator(), new SinglePassScoreCalculator()));
+        rankingCalculatorService = new RankingCalculatorService(strategy);
+    }
+
+    @Test
+    @DisplayName("Given reviewed tasks when single pass calculate then return the same points as grade and time calculators")
+    void givenReviewedTasksWhenSinglePassCalculateThenReturnSamePointsAsGradeAndTimeCalculators() {
+        List<TaskRankingCalculatorDTO> tasksReviewed = List.of(
+                task(0, 10, 2, 8d),
+                task(0, 10, 9, 6d),
+                task(5, 15, 7, 10d));
+
+        double expected = new GradeScoreCalculator().calculate(tasksReviewed) + new TimeScoreCalculator().calculate(tasksReviewed);
+
+        assertEquals(expected, new SinglePassScoreCalculator().calculate(tasksReviewed), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Given reviewed tasks without due date when calculate then give no time points in both calculators")
+    void givenReviewedTasksWithoutDueDateWhenCalculateThenGiveNoTimePointsInBothCalculators() {
+        List<TaskRankingCalculatorDTO> tasksReviewed = List.of(
+                new TaskRankingCalculatorDTO(new Date(0), null, new Date(2 * DAY), 8d, true),
+                new TaskRankingCalculatorDTO(new Date(0), null, new Date(9 * DAY), 6d, true));
+
+        double gradePoints = new GradeScoreCalculator().calculate(tasksReviewed);
+
+        assertEquals(0d, new TimeScoreCalculator().calculate(tasksReviewed));
+        assertEquals(gradePoints, new SinglePassScoreCalculator().calculate(tasksReviewed), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Given reviewed tasks with and without due date when single pass calculate then average time only over tasks with due date")
+    void givenReviewedTasksWithAndWithoutDueDateWhenSinglePassCalculateThenAverageTimeOnlyOverTasksWithDueDate() {
+        List<TaskRankingCalculatorDTO> tasksReviewed = List.of(
+                task(0, 10, 9, 8d),
+                new TaskRankingCalculatorDTO(new Date(0), null, new Date(1 * DAY), 6d, true));
+
+        double expected = new GradeScoreCalculator().calculate(tasksReviewed) + new TimeScoreCalculator().calculate(tasksReviewed);
+
+        assertEquals(10d, new TimeScoreCalculator().calculate(tasksReviewed));
+        assertEquals(expected, new SinglePassScoreCalculator().calculate(tasksReviewed), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Given students with sent and pending tasks when calculate then return metrics ordered by points")
+    void givenStudentsWithSentAndPendingTasksWhenCalculateThenReturnMetricsOrderedByPoints() {
+        UserRankingCalculatorDTO lateStudent = new UserRankingCalculatorDTO(1L, "Atrasado");
+        lateStudent.getTasks().add(task(0, 10, 10, 5d));
+        lateStudent.getTasks().add(new TaskRankingCalculatorDTO(new Date(0), new Date(10 * DAY), null, null, false));
+
+        UserRankingCalculatorDTO earlyStudent = new UserRankingCalculatorDTO(2L, "Adiantado");
+        earlyStudent.getTasks().add(task(0, 10, 1, 9d));
+        earlyStudent.getTasks().add(new TaskRankingCalculatorDTO(new Date(0), new Date(10 * DAY), new Date(3 * DAY), null, false));
+
+        List<StudentRankingDTO> ranking = rankingCalculatorService.calculate(List.of(lateStudent, earlyStudent));
+
+        StudentRankingDTO first = ranking.get(0);
+        assertEquals("Adiantado", first.getName());
+        assertEquals(1, first.getPlace());
+        assertEquals(2, first.getTasksSent());
+        assertEquals(1, first.getTasksReviewed());
+        assertEquals(100d, first.getConclusionPercent());
+        assertEquals(9d, first.getMediumGrade());
+        assertEquals(new Date(3 * DAY), first.getLastResponseDate());
+
+        StudentRankingDTO second = ranking.get(1);
+        assertEquals("Atrasado", second.getName());
+        assertEquals(2, second.getPlace());
+        assertEquals(50d, second.getConclusionPercent());
+        assertTrue(first.getPointsEarned() > second.getPointsEarned());
+    }
+
+    @Test
+    @DisplayName("Given student without reviews when calculate then return no grade and zero points")
+    void givenStudentWithoutReviewsWhenCalculateThenReturnNoGradeAndZeroPoints() {
+        UserRankingCalculatorDTO student = new UserRankingCalculatorDTO(1L, "Sem avaliação");
+        student.getTasks().add(new TaskRankingCalculatorDTO(new Date(0), new Date(10 * DAY), null, null, false));
+
+        StudentRankingDTO studentRanking = rankingCalculatorService.calculateInfos(student);
+
+        assertNull(studentRanking.getMediumGrade());
+        assertNull(studentRanking.getLastResponseDate());
+        assertEquals(0d, studentRanking.getPointsEarned());
+    }
+
+    private TaskRankingCalculatorDTO task(int createdDay, int dueDay, int responseDay, Double grade) {
+        return new TaskRankingCalculatorDTO(new Date(createdDay * DAY), new Date(dueDay * DAY), new Date(responseDay * DAY), grade, true);
+    }
+
+}
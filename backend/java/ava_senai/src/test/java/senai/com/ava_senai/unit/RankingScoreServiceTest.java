@@ -0,0 +1,197 @@
+package senai.com.ava_senai.unit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import senai.com.ava_senai.domain.ranking.StudentRankingDTO;
+import senai.com.ava_senai.domain.ranking.UserRankingCalculatorDTO;
+import senai.com.ava_senai.domain.task.Task;
+import senai.com.ava_senai.domain.task.knowledgetrail.KnowledgeTrail;
+import senai.com.ava_senai.domain.task.taskuser.TaskUser;
+import senai.com.ava_senai.repository.ClassRepository;
+import senai.com.ava_senai.repository.KnowledgeTrailRepository;
+import senai.com.ava_senai.repository.RankingScoreRepository;
+import senai.com.ava_senai.repository.TaskUserRepository;
+import senai.com.ava_senai.services.ranking.IRankingBuilderService;
+import senai.com.ava_senai.services.ranking.IRankingCalculatorService;
+import senai.com.ava_senai.services.ranking.RankingScoreService;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RankingScoreServiceTest {
+
+    private static final Long CLASS_ID = 7L;
+    private static final Long KNOWLEDGE_TRAIL_ID = 3L;
+
+    @Mock
+    private RankingScoreRepository rankingScoreRepository;
+
+    @Mock
+    private TaskUserRepository taskUserRepository;
+
+    @Mock
+    private KnowledgeTrailRepository knowledgeTrailRepository;
+
+    @Mock
+    private ClassRepository classRepository;
+
+    @Mock
+    private IRankingBuilderService rankingBuilderService;
+
+    @Mock
+    private IRankingCalculatorService rankingCalculatorService;
+
+    @InjectMocks
+    private RankingScoreService rankingScoreService;
+
+    @Test
+    @DisplayName("Given answered or reviewed task user when refresh by task user then upsert the student score in each class")
+    void givenAnsweredTaskUserWhenRefreshByTaskUserThenUpsertStudentScoreInEachClass() {
+        Date lastResponse = new Date(1_000L);
+        UserRankingCalculatorDTO student = new UserRankingCalculatorDTO(5L, "Ana");
+
+        when(taskUserRepository.findById(10L)).thenReturn(Optional.of(taskUser(5L)));
+        when(knowledgeTrailRepository.findById(KNOWLEDGE_TRAIL_ID)).thenReturn(Optional.of(knowledgeTrail(true)));
+        when(classRepository.findClassIdsByUserIdAndKnowledgeTrailId(5L, KNOWLEDGE_TRAIL_ID)).thenReturn(List.of(CLASS_ID));
+        when(rankingBuilderService.buildUserRankingCalculator(CLASS_ID, KNOWLEDGE_TRAIL_ID, 5L)).thenReturn(List.of(student));
+        when(rankingCalculatorService.calculateInfos(student)).thenReturn(studentRanking("Ana", 42d, lastResponse));
+
+        rankingScoreService.refreshByTaskUser(10L);
+
+        verify(rankingScoreRepository).upsertScore(eq(CLASS_ID), eq(KNOWLEDGE_TRAIL_ID), eq(5L), eq("Ana"), eq(50d),
+                eq(1), eq(1), eq(2), eq(8d), eq(lastResponse), eq(42d));
+        verify(rankingScoreRepository, never()).deleteUserScore(anyLong(), anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Given student without tasks in the class when refresh user score then delete the student score")
+    void givenStudentWithoutTasksInClassWhenRefreshUserScoreThenDeleteStudentScore() {
+        when(knowledgeTrailRepository.findById(KNOWLEDGE_TRAIL_ID)).thenReturn(Optional.of(knowledgeTrail(true)));
+        when(classRepository.findClassIdsByUserIdAndKnowledgeTrailId(5L, KNOWLEDGE_TRAIL_ID)).thenReturn(List.of(CLASS_ID));
+        when(rankingBuilderService.buildUserRankingCalculator(CLASS_ID, KNOWLEDGE_TRAIL_ID, 5L)).thenReturn(List.of());
+
+        rankingScoreService.refreshUserScore(5L, KNOWLEDGE_TRAIL_ID);
+
+        verify(rankingScoreRepository).deleteUserScore(CLASS_ID, KNOWLEDGE_TRAIL_ID, 5L);
+        verifyNoMoreInteractions(rankingScoreRepository);
+    }
+
+    @Test
+    @DisplayName("Given changed due date when refresh knowledge trail scores then upsert students before removing the ones that left")
+    void givenChangedDueDateWhenRefreshKnowledgeTrailScoresThenUpsertBeforeRemovingStudentsThatLeft() {
+        UserRankingCalculatorDTO bruno = new UserRankingCalculatorDTO(9L, "Bruno");
+        UserRankingCalculatorDTO ana = new UserRankingCalculatorDTO(5L, "Ana");
+
+        when(knowledgeTrailRepository.findById(KNOWLEDGE_TRAIL_ID)).thenReturn(Optional.of(knowledgeTrail(true)));
+        when(classRepository.findClassIdsByKnowledgeTrailId(KNOWLEDGE_TRAIL_ID)).thenReturn(List.of(CLASS_ID));
+        when(rankingBuilderService.buildUsersRankingCalculator(CLASS_ID, List.of(KNOWLEDGE_TRAIL_ID)))
+                .thenReturn(Map.of(KNOWLEDGE_TRAIL_ID, List.of(bruno, ana)));
+        when(rankingCalculatorService.calculateInfos(bruno)).thenReturn(studentRanking("Bruno", 10d, null));
+        when(rankingCalculatorService.calculateInfos(ana)).thenReturn(studentRanking("Ana", 20d, null));
+
+        rankingScoreService.refreshKnowledgeTrailScores(KNOWLEDGE_TRAIL_ID);
+
+        // as linhas são gravadas na ordem do aluno e nada é apagado antes delas
+        InOrder inOrder = inOrder(rankingScoreRepository);
+        inOrder.verify(rankingScoreRepository).upsertScore(eq(CLASS_ID), eq(KNOWLEDGE_TRAIL_ID), eq(5L), eq("Ana"), any(), any(), any(), any(), any(), any(), eq(20d));
+        inOrder.verify(rankingScoreRepository).upsertScore(eq(CLASS_ID), eq(KNOWLEDGE_TRAIL_ID), eq(9L), eq("Bruno"), any(), any(), any(), any(), any(), any(), eq(10d));
+        inOrder.verify(rankingScoreRepository).deleteClassScoresExcept(CLASS_ID, KNOWLEDGE_TRAIL_ID, List.of(5L, 9L));
+        inOrder.verify(rankingScoreRepository).deleteKnowledgeTrailScoresOutsideClasses(KNOWLEDGE_TRAIL_ID, List.of(CLASS_ID));
+        verify(rankingScoreRepository, never()).deleteKnowledgeTrailScores(anyLong());
+    }
+
+    @Test
+    @DisplayName("Given class without students when refresh knowledge trail scores then delete the class scores")
+    void givenClassWithoutStudentsWhenRefreshKnowledgeTrailScoresThenDeleteClassScores() {
+        when(knowledgeTrailRepository.findById(KNOWLEDGE_TRAIL_ID)).thenReturn(Optional.of(knowledgeTrail(true)));
+        when(classRepository.findClassIdsByKnowledgeTrailId(KNOWLEDGE_TRAIL_ID)).thenReturn(List.of(CLASS_ID));
+        when(rankingBuilderService.buildUsersRankingCalculator(CLASS_ID, List.of(KNOWLEDGE_TRAIL_ID))).thenReturn(Map.of());
+
+        rankingScoreService.refreshKnowledgeTrailScores(KNOWLEDGE_TRAIL_ID);
+
+        verify(rankingScoreRepository).deleteClassScores(CLASS_ID, KNOWLEDGE_TRAIL_ID);
+        verify(rankingScoreRepository).deleteKnowledgeTrailScoresOutsideClasses(KNOWLEDGE_TRAIL_ID, List.of(CLASS_ID));
+        verifyNoMoreInteractions(rankingScoreRepository);
+    }
+
+    @Test
+    @DisplayName("Given trail no longer ranked when refresh knowledge trail scores then delete every score of the trail")
+    void givenTrailNoLongerRankedWhenRefreshKnowledgeTrailScoresThenDeleteEveryScoreOfTrail() {
+        when(knowledgeTrailRepository.findById(KNOWLEDGE_TRAIL_ID)).thenReturn(Optional.of(knowledgeTrail(false)));
+
+        rankingScoreService.refreshKnowledgeTrailScores(KNOWLEDGE_TRAIL_ID);
+
+        verify(rankingScoreRepository).deleteKnowledgeTrailScores(KNOWLEDGE_TRAIL_ID);
+        verifyNoMoreInteractions(rankingScoreRepository);
+        verifyNoInteractions(classRepository, rankingBuilderService);
+    }
+
+    @Test
+    @DisplayName("Given tied students when calculate class scores then rank ties by user id without writing")
+    void givenTiedStudentsWhenCalculateClassScoresThenRankTiesByUserIdWithoutWriting() {
+        UserRankingCalculatorDTO carla = new UserRankingCalculatorDTO(12L, "Carla");
+        UserRankingCalculatorDTO bruno = new UserRankingCalculatorDTO(9L, "Bruno");
+        UserRankingCalculatorDTO ana = new UserRankingCalculatorDTO(5L, "Ana");
+
+        when(rankingBuilderService.buildUsersRankingCalculator(CLASS_ID, List.of(KNOWLEDGE_TRAIL_ID)))
+                .thenReturn(Map.of(KNOWLEDGE_TRAIL_ID, List.of(carla, bruno, ana)));
+        when(rankingCalculatorService.calculateInfos(carla)).thenReturn(studentRanking("Carla", 30d, null));
+        when(rankingCalculatorService.calculateInfos(bruno)).thenReturn(studentRanking("Bruno", 10d, null));
+        when(rankingCalculatorService.calculateInfos(ana)).thenReturn(studentRanking("Ana", 30d, null));
+
+        Map<Long, List<StudentRankingDTO>> rankings = rankingScoreService.calculateClassScores(CLASS_ID, List.of(KNOWLEDGE_TRAIL_ID));
+
+        List<StudentRankingDTO> ranking = rankings.get(KNOWLEDGE_TRAIL_ID);
+        assertEquals(List.of("Ana", "Carla", "Bruno"), ranking.stream().map(StudentRankingDTO::getName).toList());
+        assertEquals(List.of(1, 2, 3), ranking.stream().map(StudentRankingDTO::getPlace).toList());
+
+        verifyNoInteractions(rankingScoreRepository);
+    }
+
+    private TaskUser taskUser(Long userId) {
+        Task task = new Task();
+        task.setKnowledgeTrailId(KNOWLEDGE_TRAIL_ID);
+
+        TaskUser taskUser = new TaskUser();
+        taskUser.setUserId(userId);
+        taskUser.setTask(task);
+
+        return taskUser;
+    }
+
+    private KnowledgeTrail knowledgeTrail(boolean ranked) {
+        KnowledgeTrail knowledgeTrail = new KnowledgeTrail();
+        knowledgeTrail.setId(KNOWLEDGE_TRAIL_ID);
+        knowledgeTrail.setRanked(ranked);
+
+        return knowledgeTrail;
+    }
+
+    private StudentRankingDTO studentRanking(String name, Double pointsEarned, Date lastResponseDate) {
+        return StudentRankingDTO.builder()
+                .name(name)
+                .conclusionPercent(50d)
+                .tasksSent(1)
+                .tasksReviewed(1)
+                .totalTasks(2)
+                .mediumGrade(8d)
+                .lastResponseDate(lastResponseDate)
+                .pointsEarned(pointsEarned)
+                .build();
+    }
+
+}
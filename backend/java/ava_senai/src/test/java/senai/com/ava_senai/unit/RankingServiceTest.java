@@ -0,0 +1,99 @@
+package senai.com.ava_senai.unit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import senai.com.ava_senai.domain.ranking.RankingResponseDTO;
+import senai.com.ava_senai.domain.ranking.RankingScore;
+import senai.com.ava_senai.domain.ranking.StudentRankingDTO;
+import senai.com.ava_senai.domain.task.knowledgetrail.KnowledgeTrail;
+import senai.com.ava_senai.repository.KnowledgeTrailRepository;
+import senai.com.ava_senai.repository.RankingScoreRepository;
+import senai.com.ava_senai.services.ranking.IRankingScoreService;
+import senai.com.ava_senai.services.ranking.RankingService;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RankingServiceTest {
+
+    private static final Long CLASS_ID = 7L;
+
+    @Mock
+    private KnowledgeTrailRepository knowledgeTrailRepository;
+
+    @Mock
+    private RankingScoreRepository rankingScoreRepository;
+
+    @Mock
+    private IRankingScoreService rankingScoreService;
+
+    @InjectMocks
+    private RankingService rankingService;
+
+    @Test
+    @DisplayName("Given trail without stored scores when get class rankings then calculate only the missing trail")
+    void givenTrailWithoutStoredScoresWhenGetClassRankingsThenCalculateOnlyMissingTrail() {
+        when(knowledgeTrailRepository.findRankedKnowledgeTrailsByClassIdAndKnowledgeTrailIds(CLASS_ID, List.of(1L, 2L)))
+                .thenReturn(Optional.of(List.of(knowledgeTrail(1L, "Lógica"), knowledgeTrail(2L, "Banco de dados"))));
+        when(rankingScoreRepository.findClassRanking(CLASS_ID, List.of(1L, 2L)))
+                .thenReturn(List.of(score(1L, "Ana", 30d), score(1L, "Bruno", 10d)));
+        when(rankingScoreService.calculateClassScores(CLASS_ID, List.of(2L)))
+                .thenReturn(Map.of(2L, List.of(StudentRankingDTO.builder().name("Carla").pointsEarned(5d).place(1).build())));
+
+        List<RankingResponseDTO> rankings = rankingService.getRankingsClass(CLASS_ID, List.of(1L, 2L));
+
+        assertEquals(2, rankings.size());
+
+        RankingResponseDTO stored = rankings.get(0);
+        assertEquals(1L, stored.getKnowledgeTrailId());
+        assertEquals(List.of("Ana", "Bruno"), stored.getStudentsRanking().stream().map(StudentRankingDTO::getName).toList());
+        assertEquals(List.of(1, 2), stored.getStudentsRanking().stream().map(StudentRankingDTO::getPlace).toList());
+
+        RankingResponseDTO calculated = rankings.get(1);
+        assertEquals(2L, calculated.getKnowledgeTrailId());
+        assertEquals("Carla", calculated.getStudentsRanking().get(0).getName());
+    }
+
+    @Test
+    @DisplayName("Given every trail already stored when get class rankings then not calculate any trail")
+    void givenEveryTrailStoredWhenGetClassRankingsThenNotCalculateAnyTrail() {
+        when(knowledgeTrailRepository.findRankedKnowledgeTrailsByClassIdAndKnowledgeTrailIds(CLASS_ID, List.of(1L)))
+                .thenReturn(Optional.of(List.of(knowledgeTrail(1L, "Lógica"))));
+        when(rankingScoreRepository.findClassRanking(CLASS_ID, List.of(1L)))
+                .thenReturn(List.of(score(1L, "Ana", 30d)));
+
+        List<RankingResponseDTO> rankings = rankingService.getRankingsClass(CLASS_ID, List.of(1L));
+
+        assertEquals(1, rankings.get(0).getStudentsRanking().size());
+        verify(rankingScoreService, never()).calculateClassScores(anyLong(), any());
+    }
+
+    private KnowledgeTrail knowledgeTrail(Long id, String name) {
+        KnowledgeTrail knowledgeTrail = new KnowledgeTrail();
+        knowledgeTrail.setId(id);
+        knowledgeTrail.setName(name);
+        knowledgeTrail.setRanked(true);
+
+        return knowledgeTrail;
+    }
+
+    private RankingScore score(Long knowledgeTrailId, String userName, Double pointsEarned) {
+        RankingScore score = new RankingScore(CLASS_ID, knowledgeTrailId, (long) userName.hashCode());
+        score.setUserName(userName);
+        score.setPointsEarned(pointsEarned);
+
+        return score;
+    }
+
+}
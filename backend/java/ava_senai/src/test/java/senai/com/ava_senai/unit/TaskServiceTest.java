@@ -0,0 +1,160 @@
+package senai.com.ava_senai.unit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import senai.com.ava_senai.domain.task.CourseUsersTaskMessage;
+import senai.com.ava_senai.domain.task.Dificuldade;
+import senai.com.ava_senai.domain.task.Task;
+import senai.com.ava_senai.domain.task.TaskRegisterDTO;
+import senai.com.ava_senai.domain.task.knowledgetrail.KnowledgeTrail;
+import senai.com.ava_senai.repository.*;
+import senai.com.ava_senai.services.course.CourseContentCache;
+import senai.com.ava_senai.services.dashboard.IDashBoardCounterService;
+import senai.com.ava_senai.services.dashboard.IDashBoardService;
+import senai.com.ava_senai.services.messaging.RabbitMQSender;
+import senai.com.ava_senai.services.ranking.IRankingScoreService;
+import senai.com.ava_senai.services.task.TaskService;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskServiceTest {
+
+    private static final Long COURSE_ID = 1L;
+    private static final Long KNOWLEDGE_TRAIL_ID = 3L;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private RabbitMQSender rabbitMQSender;
+
+    @Mock
+    private TaskUserRepository taskUserRepository;
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private ClassRepository classRepository;
+
+    @Mock
+    private KnowledgeTrailRepository knowledgeTrailRepository;
+
+    @Mock
+    private IRankingScoreService rankingScoreService;
+
+    @Mock
+    private IDashBoardService dashBoardService;
+
+    @Mock
+    private IDashBoardCounterService dashBoardCounterService;
+
+    @Mock
+    private CourseContentCache courseContentCache;
+
+    @InjectMocks
+    private TaskService taskService;
+
+    @Test
+    @DisplayName("Given new course tasks for some users when save course tasks for users then refresh only those users scores")
+    void givenNewCourseTasksForSomeUsersWhenSaveCourseTasksForUsersThenRefreshOnlyThoseUsersScores() {
+        CourseUsersTaskMessage message = new CourseUsersTaskMessage(COURSE_ID, List.of(5L, 9L));
+
+        when(taskUserRepository.insertMissingCourseTasksForUsers(COURSE_ID, List.of(5L, 9L))).thenReturn(4);
+        when(knowledgeTrailRepository.findRankedKnowledgeTrailIdsByCourseId(COURSE_ID)).thenReturn(List.of(KNOWLEDGE_TRAIL_ID));
+
+        assertEquals(4, taskService.saveCourseTasksForUsers(message));
+
+        verify(rankingScoreService).refreshUserScore(5L, KNOWLEDGE_TRAIL_ID);
+        verify(rankingScoreService).refreshUserScore(9L, KNOWLEDGE_TRAIL_ID);
+        verify(rankingScoreService, never()).refreshKnowledgeTrailScores(anyLong());
+        verify(dashBoardService).evictUsers(List.of(5L, 9L));
+    }
+
+    @Test
+    @DisplayName("Given no task assigned when save course tasks for users then not refresh the ranking")
+    void givenNoTaskAssignedWhenSaveCourseTasksForUsersThenNotRefreshRanking() {
+        when(taskUserRepository.insertMissingCourseTasksForUsers(COURSE_ID, List.of(5L))).thenReturn(0);
+
+        assertEquals(0, taskService.saveCourseTasksForUsers(new CourseUsersTaskMessage(COURSE_ID, List.of(5L))));
+
+        verifyNoInteractions(rankingScoreService, dashBoardService);
+    }
+
+    @Test
+    @DisplayName("Given new task for a course when save task users for course then refresh only the classes of that course")
+    void givenNewTaskForCourseWhenSaveTaskUsersForCourseThenRefreshOnlyClassesOfThatCourse() {
+        when(taskUserRepository.insertMissingTaskUsersForCourse(COURSE_ID, List.of(20L))).thenReturn(2);
+        when(taskRepository.findAllById(List.of(20L))).thenReturn(List.of(task(20L, null)));
+        when(classRepository.findClassIdsByCourseIdAndKnowledgeTrailId(COURSE_ID, KNOWLEDGE_TRAIL_ID)).thenReturn(List.of(7L, 8L));
+
+        assertEquals(2, taskService.saveTaskUsersForCourse(COURSE_ID, List.of(20L)));
+
+        verify(rankingScoreService).refreshClassScores(7L, KNOWLEDGE_TRAIL_ID);
+        verify(rankingScoreService).refreshClassScores(8L, KNOWLEDGE_TRAIL_ID);
+        verify(rankingScoreService, never()).refreshKnowledgeTrailScores(anyLong());
+    }
+
+    @Test
+    @DisplayName("Given changed due date when update task then refresh the knowledge trail scores")
+    void givenChangedDueDateWhenUpdateTaskThenRefreshKnowledgeTrailScores() {
+        Task task = task(20L, new Date(1_000L));
+        TaskRegisterDTO taskRegister = new TaskRegisterDTO(COURSE_ID, KNOWLEDGE_TRAIL_ID, "Tarefa", "Descrição",
+                Dificuldade.values()[0], new Date(2_000L), 1);
+
+        when(taskRepository.findById(20L)).thenReturn(Optional.of(task));
+        when(courseRepository.existsById(COURSE_ID)).thenReturn(true);
+        when(knowledgeTrailRepository.findById(KNOWLEDGE_TRAIL_ID)).thenReturn(Optional.of(rankedKnowledgeTrail()));
+        when(taskRepository.save(task)).thenReturn(task);
+
+        taskService.updateTask(20L, taskRegister);
+
+        verify(rankingScoreService).refreshKnowledgeTrailScores(KNOWLEDGE_TRAIL_ID);
+    }
+
+    @Test
+    @DisplayName("Given same due date when update task then not refresh the ranking")
+    void givenSameDueDateWhenUpdateTaskThenNotRefreshRanking() {
+        Task task = task(20L, new Date(1_000L));
+        TaskRegisterDTO taskRegister = new TaskRegisterDTO(COURSE_ID, KNOWLEDGE_TRAIL_ID, "Tarefa", "Descrição",
+                Dificuldade.values()[0], new Date(1_000L), 1);
+
+        when(taskRepository.findById(20L)).thenReturn(Optional.of(task));
+        when(courseRepository.existsById(COURSE_ID)).thenReturn(true);
+        when(knowledgeTrailRepository.findById(KNOWLEDGE_TRAIL_ID)).thenReturn(Optional.of(rankedKnowledgeTrail()));
+        when(taskRepository.save(task)).thenReturn(task);
+
+        taskService.updateTask(20L, taskRegister);
+
+        verifyNoInteractions(rankingScoreService);
+    }
+
+    private Task task(Long id, Date dueDate) {
+        Task task = new Task();
+        task.setId(id);
+        task.setKnowledgeTrailId(KNOWLEDGE_TRAIL_ID);
+        task.setDueDate(dueDate);
+
+        return task;
+    }
+
+    private KnowledgeTrail rankedKnowledgeTrail() {
+        KnowledgeTrail knowledgeTrail = new KnowledgeTrail();
+        knowledgeTrail.setId(KNOWLEDGE_TRAIL_ID);
+        knowledgeTrail.setRanked(true);
+
+        return knowledgeTrail;
+    }
+
+}
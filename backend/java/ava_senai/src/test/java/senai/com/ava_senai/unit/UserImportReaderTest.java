@@ -0,0 +1,124 @@
+package senai.com.ava_senai.unit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import senai.com.ava_senai.domain.user.userimport.UserImportFormat;
+import senai.com.ava_senai.domain.user.userimport.UserImportRowDTO;
+import senai.com.ava_senai.exception.Validation;
+import senai.com.ava_senai.services.user.UserImportReader;
+import senai.com.ava_senai.services.user.UserImportReport;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserImportReaderTest {
+
+    private final UserImportReader userImportReader = new UserImportReader(new ObjectMapper());
+
+    @Test
+    @DisplayName("Given CSV with quoted fields when read then keep commas and escaped quotes inside the value")
+    void givenCsvWithQuotedFieldsWhenReadThenKeepCommasAndEscapedQuotes() throws IOException {
+        List<UserImportRowDTO> rows = read(UserImportFormat.CSV,
+                "name,email,password,cpf,classesId",
+                "\"Silva, Ana\",ana@senai.com,\"se\"\"nha\",52998224725,1;2");
+
+        assertEquals(1, rows.size());
+
+        UserImportRowDTO row = rows.get(0);
+        assertEquals(2, row.line());
+        assertEquals("Silva, Ana", row.name());
+        assertEquals("ana@senai.com", row.email());
+        assertEquals("se\"nha", row.password());
+        assertEquals("52998224725", row.cpf());
+        assertEquals(List.of(1L, 2L), row.classesId());
+    }
+
+    @Test
+    @DisplayName("Given CSV with BOM, blank lines and reordered columns when read then skip blank lines and keep file line numbers")
+    void givenCsvWithBomBlankLinesAndReorderedColumnsWhenReadThenSkipBlankLinesAndKeepLineNumbers() throws IOException {
+        List<UserImportRowDTO> rows = read(UserImportFormat.CSV,
+                "\uFEFFEmail,Name,Password",
+                "ana@senai.com,Ana,senha",
+                "",
+                "   ",
+                "bruno@senai.com,Bruno,senha");
+
+        assertEquals(2, rows.size());
+        assertEquals(2, rows.get(0).line());
+        assertEquals("Ana", rows.get(0).name());
+        assertEquals(5, rows.get(1).line());
+        assertEquals("bruno@senai.com", rows.get(1).email());
+        assertNull(rows.get(1).cpf());
+        assertTrue(rows.get(1).classesId().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Given CSV bad row when read then return empty values and invalid class ids as null for the validation")
+    void givenCsvBadRowWhenReadThenReturnEmptyValuesAndInvalidClassIdsAsNull() throws IOException {
+        List<UserImportRowDTO> rows = read(UserImportFormat.CSV,
+                "name,email,password,cpf,classesId",
+                "Ana,,  ,,1;abc",
+                "Bruno");
+
+        assertEquals(2, rows.size());
+        assertNull(rows.get(0).email());
+        assertNull(rows.get(0).password());
+        assertEquals(Arrays.asList(1L, null), rows.get(0).classesId());
+        assertEquals("Bruno", rows.get(1).name());
+        assertNull(rows.get(1).email());
+    }
+
+    @Test
+    @DisplayName("Given CSV without email column when read then throw validation")
+    void givenCsvWithoutEmailColumnWhenReadThenThrowValidation() {
+        assertThrows(Validation.class, () -> read(UserImportFormat.CSV, "name,password", "Ana,senha"));
+    }
+
+    @Test
+    @DisplayName("Given JSON array when read then number the rows by position")
+    void givenJsonArrayWhenReadThenNumberRowsByPosition() throws IOException {
+        List<UserImportRowDTO> rows = read(UserImportFormat.JSON,
+                "[{\"name\":\"Ana\",\"email\":\"ana@senai.com\",\"password\":\"senha\",\"classesId\":[3]},",
+                " {\"name\":\"Bruno\",\"email\":\"bruno@senai.com\",\"password\":\"senha\"}]");
+
+        assertEquals(2, rows.size());
+        assertEquals(1, rows.get(0).line());
+        assertEquals(List.of(3L), rows.get(0).classesId());
+        assertEquals(2, rows.get(1).line());
+        assertTrue(rows.get(1).classesId().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Given JSON object instead of array when read then throw validation")
+    void givenJsonObjectInsteadOfArrayWhenReadThenThrowValidation() {
+        assertThrows(Validation.class, () -> read(UserImportFormat.JSON, "{\"email\":\"ana@senai.com\"}"));
+    }
+
+    @Test
+    @DisplayName("Given errors with commas and quotes when build report then escape them as CSV")
+    void givenErrorsWithCommasAndQuotesWhenBuildReportThenEscapeThemAsCsv() {
+        UserImportReport report = new UserImportReport();
+
+        report.add(new UserImportRowDTO(4, "Ana", "ana,silva@senai.com", "senha", null, null), "Email \"inválido\"");
+        report.addJobError("falha");
+
+        assertEquals(1, report.size());
+        assertEquals(UserImportReport.HEADER
+                + "4,\"ana,silva@senai.com\",\"Email \"\"inválido\"\"\"\n"
+                + ",,Importação interrompida: falha\n", report.toCsv());
+    }
+
+    private List<UserImportRowDTO> read(UserImportFormat format, String... lines) throws IOException {
+        InputStream content = new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+
+        return userImportReader.read(content, format);
+    }
+
+}
@@ -0,0 +1,230 @@
+package senai.com.ava_senai.unit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.PlatformTransactionManager;
+import senai.com.ava_senai.domain.user.userimport.ImportedUserDTO;
+import senai.com.ava_senai.domain.user.userimport.UserImportFormat;
+import senai.com.ava_senai.domain.user.userimport.UserImportJob;
+import senai.com.ava_senai.domain.user.userimport.UserImportJobDTO;
+import senai.com.ava_senai.domain.user.userimport.UserImportStatus;
+import senai.com.ava_senai.domain.user.role.Role;
+import senai.com.ava_senai.domain.user.role.Roles;
+import senai.com.ava_senai.handler.requesthandler.security.password.BoundedPasswordEncoder;
+import senai.com.ava_senai.repository.ClassRepository;
+import senai.com.ava_senai.repository.RolesRepository;
+import senai.com.ava_senai.repository.UserClassRepository;
+import senai.com.ava_senai.repository.UserImportJobRepository;
+import senai.com.ava_senai.repository.UserRepository;
+import senai.com.ava_senai.services.dashboard.IDashBoardCounterService;
+import senai.com.ava_senai.services.task.TaskService;
+import senai.com.ava_senai.services.user.UserImportService;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class UserImportServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserClassRepository userClassRepository;
+
+    @Mock
+    private UserImportJobRepository userImportJobRepository;
+
+    @Mock
+    private ClassRepository classRepository;
+
+    @Mock
+    private RolesRepository rolesRepository;
+
+    @Mock
+    private BoundedPasswordEncoder passwordEncoder;
+
+    @Mock
+    private TaskService taskService;
+
+    @Mock
+    private IDashBoardCounterService dashBoardCounterService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private UserImportService userImportService;
+
+    private final CountDownLatch finished = new CountDownLatch(1);
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        userImportService = new UserImportService(userRepository, userClassRepository, userImportJobRepository, classRepository,
+                rolesRepository, passwordEncoder, taskService, dashBoardCounterService, transactionManager, new ObjectMapper(),
+                2, 2, 4, 5000, 300_000L);
+
+        Role role = new Role("STUDENT");
+        role.setId(Roles.STUDENT.getValue());
+
+        when(rolesRepository.findById(Roles.STUDENT.getValue())).thenReturn(Optional.of(role));
+
+        when(userImportJobRepository.save(any(UserImportJob.class))).thenAnswer(invocation -> {
+            UserImportJob job = invocation.getArgument(0);
+
+            if (job.getId() == null) {
+                job.setId(1L);
+            }
+
+            if (job.getFinishedAt() != null) {
+                finished.countDown();
+            }
+
+            return job;
+        });
+
+        when(passwordEncoder.encodeInBackground(any())).thenAnswer(invocation -> "hash:" + invocation.getArgument(0));
+
+        when(userRepository.findExistingEmails(any())).thenAnswer(invocation -> ((Collection<String>) invocation.getArgument(0)).stream()
+                .filter("existente@senai.com"::equals)
+                .toList());
+
+        when(userRepository.insertUsers(any(), any(), any(), any(), anyLong(), anyInt(), any()))
+                .thenAnswer(invocation -> Arrays.asList((String[]) invocation.getArgument(1)));
+
+        AtomicLong nextUserId = new AtomicLong(100);
+
+        when(userRepository.findImportedUsers(any())).thenAnswer(invocation -> ((Collection<String>) invocation.getArgument(0)).stream()
+                .map(email -> new ImportedUserDTO(nextUserId.incrementAndGet(), email))
+                .toList());
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        userImportService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Given CSV with valid, bad and repeated rows when import then create the valid rows in chunks and report the others")
+    void givenCsvWithValidBadAndRepeatedRowsWhenImportThenCreateValidRowsInChunksAndReportOthers() throws Exception {
+        String csv = String.join("\n",
+                "name,email,password,cpf,classesId",
+                "\"Silva, Ana\",ana@senai.com,\"se\"\"nha\",52998224725,",
+                "",
+                "Bruno,,senha,11144477735,",
+                "Carla,ana@senai.com,senha,39053344705,",
+                "Davi,davi@senai.com,senha,123,",
+                "Eva,existente@senai.com,senha,11144477735,",
+                "Fabio,fabio@senai.com,senha,11144477735,99",
+                "Gil,gil@senai.com,senha,39053344705,");
+
+        UserImportJobDTO started = userImportService.startImport(Roles.STUDENT, 1L, UserImportFormat.CSV,
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertNotNull(started);
+        assertTrue(finished.await(10, TimeUnit.SECONDS));
+
+        UserImportJob job = lastSavedJob();
+
+        assertEquals(UserImportStatus.CONCLUIDA, job.getStatus());
+        assertEquals(7, job.getTotalRows());
+        assertEquals(2, job.getCreatedRows());
+        assertEquals(5, job.getFailedRows());
+
+        String report = job.getReport();
+        assertTrue(report.contains("4,,Informe o email\n"));
+        assertTrue(report.contains("5,ana@senai.com,Email repetido no arquivo\n"));
+        assertTrue(report.contains("6,davi@senai.com,Informe um CPF válido\n"));
+        assertTrue(report.contains("7,existente@senai.com,Já existe um usuário com este email\n"));
+        assertTrue(report.contains("8,fabio@senai.com,A classe com ID 99 não existe\n"));
+        assertFalse(report.contains("gil@senai.com"));
+
+        // um insert por lote com linhas novas: [Ana, Bruno] e [Gil]; os lotes [Carla, Davi] e [Eva, Fabio] não gravam nada
+        verify(userRepository).insertUsers(any(), aryEq(new String[]{"ana@senai.com"}), aryEq(new String[]{"hash:se\"nha"}), any(), eq(Roles.STUDENT.getValue()), anyInt(), eq(1L));
+        verify(userRepository).insertUsers(any(), aryEq(new String[]{"gil@senai.com"}), any(), any(), anyLong(), anyInt(), any());
+        verify(userRepository, times(2)).insertUsers(any(), any(), any(), any(), anyLong(), anyInt(), any());
+        verifyNoInteractions(userClassRepository, taskService);
+    }
+
+    @Test
+    @DisplayName("Given email created by another request during the chunk when import then report only that row and keep the others")
+    void givenEmailCreatedDuringChunkWhenImportThenReportOnlyThatRowAndKeepOthers() throws Exception {
+        when(userRepository.insertUsers(any(), any(), any(), any(), anyLong(), anyInt(), any()))
+                .thenAnswer(invocation -> Arrays.stream((String[]) invocation.getArgument(1))
+                        .filter(email -> !email.equals("ana@senai.com"))
+                        .toList());
+
+        String csv = String.join("\n",
+                "name,email,password,cpf",
+                "Ana,ana@senai.com,senha,52998224725",
+                "Bruno,bruno@senai.com,senha,11144477735",
+                "Carla,carla@senai.com,senha,39053344705");
+
+        userImportService.startImport(Roles.STUDENT, 1L, UserImportFormat.CSV, new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertTrue(finished.await(10, TimeUnit.SECONDS));
+
+        UserImportJob job = lastSavedJob();
+
+        assertEquals(UserImportStatus.CONCLUIDA, job.getStatus());
+        assertEquals(2, job.getCreatedRows());
+        assertEquals(1, job.getFailedRows());
+        assertTrue(job.getReport().contains("2,ana@senai.com,Já existe um usuário com este email\n"));
+        assertFalse(job.getReport().contains("bruno@senai.com"));
+        verify(userRepository).findImportedUsers(List.of("bruno@senai.com"));
+    }
+
+    @Test
+    @DisplayName("Given job without heartbeat when recover orphaned imports then mark it as failed")
+    void givenJobWithoutHeartbeatWhenRecoverOrphanedImportsThenMarkItAsFailed() {
+        UserImportJob orphaned = new UserImportJob();
+        orphaned.setId(7L);
+        orphaned.setStatus(UserImportStatus.EM_ANDAMENTO);
+        orphaned.setHeartbeatAt(new Date(0));
+
+        when(userImportJobRepository.findStaleJobs(eq(UserImportStatus.EM_ANDAMENTO), any())).thenReturn(List.of(orphaned));
+
+        userImportService.recoverOrphanedImports();
+
+        assertEquals(UserImportStatus.FALHOU, orphaned.getStatus());
+        assertNotNull(orphaned.getFinishedAt());
+        assertTrue(orphaned.getReport().contains("Importação interrompida"));
+        verify(userImportJobRepository).save(orphaned);
+        verify(userImportJobRepository, never()).touchJobs(any(), any());
+    }
+
+    private UserImportJob lastSavedJob() {
+        List<UserImportJob> saved = mockingDetails(userImportJobRepository).getInvocations().stream()
+                .filter(invocation -> invocation.getMethod().getName().equals("save"))
+                .map(invocation -> (UserImportJob) invocation.getArgument(0))
+                .toList();
+
+        return saved.get(saved.size() - 1);
+    }
+
+}
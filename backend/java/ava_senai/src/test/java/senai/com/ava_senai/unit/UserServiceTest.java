@@ -8,22 +8,36 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import senai.com.ava_senai.domain.course.clazz.Class;
 import senai.com.ava_senai.domain.user.User;
 import senai.com.ava_senai.domain.user.UserFinderDTO;
 import senai.com.ava_senai.domain.user.UserRegisterDTO;
 import senai.com.ava_senai.domain.user.UserResponseDTO;
 import senai.com.ava_senai.domain.user.role.Role;
+import senai.com.ava_senai.domain.user.userclass.UserClass;
 import senai.com.ava_senai.exception.NullListException;
 import senai.com.ava_senai.exception.UserAlreadyExistsException;
 import senai.com.ava_senai.exception.UserNotFoundException;
+import senai.com.ava_senai.handler.requesthandler.security.jwt.TokenVersionRegistry;
+import senai.com.ava_senai.handler.requesthandler.security.user.AuthyUserDetailsService;
+import senai.com.ava_senai.repository.ClassRepository;
+import senai.com.ava_senai.repository.UserClassRepository;
 import senai.com.ava_senai.repository.UserRepository;
+import senai.com.ava_senai.services.dashboard.IDashBoardCounterService;
+import senai.com.ava_senai.services.dashboard.IDashBoardService;
+import senai.com.ava_senai.services.task.TaskService;
 import senai.com.ava_senai.services.user.UserService;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,6 +49,27 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private AuthyUserDetailsService authyUserDetailsService;
+
+    @Mock
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    @Mock
+    private IDashBoardCounterService dashBoardCounterService;
+
+    @Mock
+    private UserClassRepository userClassRepository;
+
+    @Mock
+    private ClassRepository classRepository;
+
+    @Mock
+    private IDashBoardService dashBoardService;
+
+    @Mock
+    private TaskService taskService;
+
     @InjectMocks
     private UserService userService;
 
@@ -166,4 +201,68 @@ class UserServiceTest {
 
     }
 
+    @Test
+    @DisplayName("Given user with classes when updateRelationedClasses then remove the old classes and evict the user dashboard")
+    void givenUserWithClassesWhenUpdateRelationedClassesThenRemoveOldClassesAndEvictUserDashboard() {
+        UserClass userClass = new UserClass();
+        userClass.setId(5L);
+        user.setUserClasses(new ArrayList<>(List.of(userClass)));
+
+        when(userClassRepository.findUserClassByUserId(1L)).thenReturn(List.of(userClass));
+
+        userService.updateRelationedClasses(userRegisterDTO, user);
+
+        verify(userClassRepository).deleteById(5L);
+        verify(dashBoardService).evictUser(1L);
+        assertTrue(user.getUserClasses().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Given classes ids when saveClasses then link the classes, assign the course tasks and evict the user dashboard")
+    void givenClassesIdsWhenSaveClassesThenLinkClassesAssignCourseTasksAndEvictUserDashboard() {
+        Class clazz = new Class();
+        clazz.setId(2L);
+        clazz.setCourseId(7L);
+
+        userRegisterDTO.setClassesId(List.of(2L));
+
+        when(classRepository.findById(2L)).thenReturn(Optional.of(clazz));
+        when(userClassRepository.save(any(UserClass.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        userService.saveClasses(userRegisterDTO, user);
+
+        verify(taskService).sendMessageAssignCourseTasks(7L, List.of(1L));
+        verify(dashBoardService).evictUser(1L);
+        assertEquals(1, user.getUserClasses().size());
+    }
+
+    @Test
+    @DisplayName("Given classes ids inside a transaction when saveClasses then assign the course tasks only after the commit")
+    void givenClassesIdsInsideTransactionWhenSaveClassesThenAssignCourseTasksOnlyAfterCommit() {
+        Class clazz = new Class();
+        clazz.setId(2L);
+        clazz.setCourseId(7L);
+
+        userRegisterDTO.setClassesId(List.of(2L));
+
+        when(classRepository.findById(2L)).thenReturn(Optional.of(clazz));
+        when(userClassRepository.save(any(UserClass.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        TransactionSynchronizationManager.initSynchronization();
+
+        try {
+
+            userService.saveClasses(userRegisterDTO, user);
+
+            verify(taskService, never()).sendMessageAssignCourseTasks(any(), any());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(taskService).sendMessageAssignCourseTasks(7L, List.of(1L));
+    }
+
 }